@@ -0,0 +1,83 @@
+package com.restlet.sqlimport.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * SQL dumps used by the benchmarks : the SQL files of the tests and synthetic schemas.
+ */
+public final class BenchmarkCorpus {
+
+	/**
+	 * Minimal size of the SQL content of a benchmark, so that a measure reads enough queries.
+	 */
+	public static final int MIN_SIZE = 1024 * 1024;
+
+	private BenchmarkCorpus() {
+	}
+
+	/**
+	 * Prefix of the synthetic schemas : it is followed by the number of tables.
+	 */
+	public static final String SYNTHETIC = "synthetic-";
+
+	/**
+	 * Read a SQL file from the classpath, repeated to reach {@link #MIN_SIZE} characters.
+	 * @param resource SQL file name in the classpath
+	 * @return SQL content
+	 * @throws IOException Error while reading the file
+	 */
+	public static String read(final String resource) throws IOException {
+		final String file = readFile(resource);
+
+		final StringBuilder content = new StringBuilder(MIN_SIZE + file.length());
+		while(content.length() < MIN_SIZE) {
+			content.append(file);
+		}
+		return content.toString();
+	}
+
+	/**
+	 * Read a SQL file from the classpath, or generate a synthetic schema if the name is
+	 * {@link #SYNTHETIC} followed by the number of tables.
+	 * @param resource SQL file name in the classpath
+	 * @return SQL content
+	 * @throws IOException Error while reading the file
+	 */
+	public static String readFile(final String resource) throws IOException {
+		if(resource.startsWith(SYNTHETIC)) {
+			return synthetic(Integer.parseInt(resource.substring(SYNTHETIC.length())));
+		}
+		final InputStream in = BenchmarkCorpus.class.getResourceAsStream("/" + resource);
+		if(in == null) {
+			throw new IOException("SQL file not found : " + resource);
+		}
+		final StringBuilder file = new StringBuilder();
+		final Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+		try {
+			final char[] buffer = new char[8192];
+			int nb;
+			while((nb = reader.read(buffer)) != -1) {
+				file.append(buffer, 0, nb);
+			}
+		} finally {
+			reader.close();
+		}
+		// the last query of a file may not be ended by ";"
+		file.append(";\n");
+		return file.toString();
+	}
+
+	/**
+	 * Generate a schema in standard SQL with the seed of the benchmarks.
+	 * @param nbTables Number of tables
+	 * @return SQL content
+	 */
+	public static String synthetic(final int nbTables) {
+		return SyntheticDump.generate(SyntheticDump.Style.STANDARD, nbTables, SyntheticDump.DEFAULT_SEED);
+	}
+
+}
@@ -0,0 +1,74 @@
+package com.restlet.sqlimport.benchmark;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.restlet.sqlimport.model.sql.Database;
+import com.restlet.sqlimport.parser.GetSqlQuery;
+import com.restlet.sqlimport.parser.SqlGrammar;
+import com.restlet.sqlimport.parser.SqlImport;
+import com.restlet.sqlimport.report.Report;
+
+/**
+ * Number of SQL dumps parsed per second with the full grammar and with the DDL grammar : the
+ * memory allocated by each parsing is measured with the gc profiler of JMH (-prof gc).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GrammarBenchmark {
+
+	@Param({"FULL", "DDL"})
+	public SqlGrammar grammar;
+
+	@Param({"mysql_mysqldump.sql", "postgres_pg_dump.sql", "oracle_sqldeveloper.sql", "standard.sql",
+		BenchmarkCorpus.SYNTHETIC + "1000"})
+	public String file;
+
+	/**
+	 * Queries to parse, linked to the report lines of {@link #report}.
+	 */
+	private final List<CharSequence> querys = new ArrayList<CharSequence>();
+
+	private Report report;
+
+	@Setup
+	public void setUp() throws IOException {
+		report = new Report();
+		final Iterator<CharSequence> iterator = new GetSqlQuery(report).getSqlQueryIterator(new StringReader(BenchmarkCorpus.readFile(file)));
+		while(iterator.hasNext()) {
+			querys.add(iterator.next());
+		}
+	}
+
+	@Benchmark
+	public Database parse() {
+		final Database database = new Database();
+		final SqlImport sqlImport = new SqlImport(report);
+		sqlImport.setGrammar(grammar);
+		for(final CharSequence query : querys) {
+			sqlImport.readOneQuery(database, query);
+		}
+		return database;
+	}
+
+}
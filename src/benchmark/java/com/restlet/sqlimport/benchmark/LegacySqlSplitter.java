@@ -0,0 +1,162 @@
+package com.restlet.sqlimport.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Copy of the SQL queries splitter before the single-pass state machine : it runs one scanner
+ * to find the beginning of each query and another one to find its end.<br/>
+ * Only used as the reference of the benchmarks.
+ */
+public class LegacySqlSplitter {
+
+	/**
+	 * Return the SQL queries.
+	 * @param content SQL file content
+	 * @return SQL queries
+	 */
+	public List<String> split(final String content) {
+		final List<String> querys = new ArrayList<String>();
+
+		int posStart = getPosStartQuery(content, 0);
+		int posEnd = getPosEndQuery(content, posStart);
+		while((posStart != -1) && (posStart < content.length()) && (posEnd < content.length())) {
+
+			querys.add(content.substring(posStart, posEnd));
+
+			if((posEnd + 1) >= content.length()) {
+				posStart = -1;
+			} else {
+				posStart = getPosStartQuery(content,posEnd+1);
+				posEnd = getPosEndQuery(content, posStart);
+			}
+		}
+
+		return querys;
+	}
+
+	/**
+	 * Return the position of the beginning character of the next SQL query.
+	 * @param content SQL content
+	 * @param pos Current position in the SQL content
+	 * @return Position of the beginning character of the next SQL query
+	 */
+	private int getPosStartQuery(final String content, int pos) {
+
+		boolean inLineComment = false;
+		boolean inMultiLineComment = false;
+		boolean inStringValue = false;
+
+		while(pos < content.length()) {
+			final char character = content.charAt(pos);
+			if(character == '/') {
+				if(!inStringValue && !inLineComment && !inMultiLineComment) {
+					if(((pos+1) < content.length()) && (content.charAt(pos+1) == '*')) {
+						inMultiLineComment = true;
+						pos = pos+2;
+						continue;
+					}
+				}
+			}
+			if(character == '*') {
+				if(!inStringValue && !inLineComment && inMultiLineComment) {
+					if(((pos+1) < content.length()) && (content.charAt(pos+1) == '/')) {
+						inMultiLineComment = false;
+						pos = pos+2;
+						continue;
+					}
+				}
+			}
+			if(character == '"') {
+				if(!inLineComment && !inMultiLineComment) {
+					inStringValue = !inStringValue;
+				}
+			}
+			if(character == '-') {
+				if(!inStringValue && !inLineComment && !inMultiLineComment) {
+					if(((pos+1) < content.length()) && (content.charAt(pos+1) == '-')) {
+						inLineComment = true;
+						pos = pos + 2;
+						continue;
+					}
+				}
+			}
+			if((character == '\n') || (character == '\r') ) {
+				if(inLineComment) {
+					inLineComment = false;
+				}
+			}
+			if(((character >= 'a') && (character <= 'z')) ||((character >= 'A') && (character <= 'Z'))) {
+				if(!inStringValue && !inLineComment && !inMultiLineComment) {
+					break;
+				}
+			}
+			pos++;
+		}
+
+		return pos;
+	}
+
+	/**
+	 * Return the position of the end of the current SQL query.
+	 * @param content SQL content
+	 * @param pos Current position in the SQL content
+	 * @return Position of the end of the current SQL query
+	 */
+	private int getPosEndQuery(final String content, int pos) {
+
+		boolean inLineComment = false;
+		boolean inMultiLineComment = false;
+		boolean inStringValue = false;
+
+		while(pos < content.length()) {
+			final char character = content.charAt(pos);
+			if(character == '/') {
+				if(!inStringValue && !inLineComment && !inMultiLineComment) {
+					if(((pos+1) < content.length()) && (content.charAt(pos+1) == '*')) {
+						inMultiLineComment = true;
+						pos = pos+2;
+						continue;
+					}
+				}
+			}
+			if(character == '*') {
+				if(!inStringValue && !inLineComment && inMultiLineComment) {
+					if(((pos+1) < content.length()) && (content.charAt(pos+1) == '/')) {
+						inMultiLineComment = false;
+						pos = pos+2;
+						continue;
+					}
+				}
+			}
+			if(character == '"') {
+				if(!inLineComment && !inMultiLineComment) {
+					inStringValue = !inStringValue;
+				}
+			}
+			if(character == '-') {
+				if(!inStringValue && !inLineComment && !inMultiLineComment) {
+					if(((pos+1) < content.length()) && (content.charAt(pos+1) == '-')) {
+						inLineComment = true;
+						pos = pos + 2;
+						continue;
+					}
+				}
+			}
+			if((character == '\n') || (character == '\r') ) {
+				if(inLineComment) {
+					inLineComment = false;
+				}
+			}
+			if(character == ';') {
+				if(!inStringValue && !inLineComment && !inMultiLineComment) {
+					break;
+				}
+			}
+			pos++;
+		}
+
+		return pos;
+	}
+
+}
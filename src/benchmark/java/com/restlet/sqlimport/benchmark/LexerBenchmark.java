@@ -0,0 +1,75 @@
+package com.restlet.sqlimport.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.restlet.sqlimport.parser.CharSequenceCharStream;
+import com.restlet.sqlimport.parser.FastSqlLexer;
+import com.restlet.sqlimport.parser.SqlLexer;
+
+/**
+ * Time to read all the tokens of a SQL dump with the ANTLR lexer and with the hand-written
+ * lexer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LexerBenchmark {
+
+	@Param({"mysql_mysqldump.sql", "postgres_pg_dump.sql", "oracle_sqldeveloper.sql", BenchmarkCorpus.SYNTHETIC + "1000"})
+	public String file;
+
+	private String content;
+
+	private final SqlLexer sqlLexer = new SqlLexer(null);
+
+	private final FastSqlLexer fastSqlLexer = new FastSqlLexer(null);
+
+	@Setup
+	public void setUp() throws IOException {
+		content = BenchmarkCorpus.readFile(file);
+	}
+
+	@Benchmark
+	public int sqlLexer() {
+		sqlLexer.setInputStream(new CharSequenceCharStream(content));
+		return countTokens(sqlLexer);
+	}
+
+	@Benchmark
+	public int fastSqlLexer() {
+		fastSqlLexer.setInputStream(new CharSequenceCharStream(content));
+		return countTokens(fastSqlLexer);
+	}
+
+	/**
+	 * Read all the tokens.
+	 * @param lexer Lexer
+	 * @return Number of tokens
+	 */
+	private static int countTokens(final TokenSource lexer) {
+		int nbTokens = 0;
+		while(lexer.nextToken().getType() != Token.EOF) {
+			nbTokens++;
+		}
+		return nbTokens;
+	}
+
+}
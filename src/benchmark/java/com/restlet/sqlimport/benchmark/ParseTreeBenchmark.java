@@ -0,0 +1,101 @@
+package com.restlet.sqlimport.benchmark;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.restlet.sqlimport.model.sql.Database;
+import com.restlet.sqlimport.parser.GetSqlQuery;
+import com.restlet.sqlimport.parser.SqlImport;
+import com.restlet.sqlimport.report.Report;
+
+/**
+ * Time to parse a SQL dump with and without the parse tree of the CREATE TABLE queries : the
+ * memory allocated by each parsing is measured with the gc profiler of JMH (-prof gc).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseTreeBenchmark {
+
+	/**
+	 * Schema of wide tables, with long CHECK expressions and default values.
+	 */
+	static final String WIDE_TABLES = "wide-tables";
+
+	@Param({"true", "false"})
+	public boolean buildParseTree;
+
+	@Param({"mysql_mysqldump.sql", BenchmarkCorpus.SYNTHETIC + "1000", WIDE_TABLES})
+	public String file;
+
+	/**
+	 * Queries to parse, linked to the report lines of {@link #report}.
+	 */
+	private final List<CharSequence> querys = new ArrayList<CharSequence>();
+
+	private Report report;
+
+	@Setup
+	public void setUp() throws IOException {
+		final String content = WIDE_TABLES.equals(file) ? wideTables(50, 40) : BenchmarkCorpus.readFile(file);
+		report = new Report();
+		final Iterator<CharSequence> iterator = new GetSqlQuery(report).getSqlQueryIterator(new StringReader(content));
+		while(iterator.hasNext()) {
+			querys.add(iterator.next());
+		}
+	}
+
+	@Benchmark
+	public Database parse() {
+		final Database database = new Database();
+		final SqlImport sqlImport = new SqlImport(report);
+		sqlImport.setBuildParseTree(buildParseTree);
+		for(final CharSequence query : querys) {
+			sqlImport.readOneQuery(database, query);
+		}
+		return database;
+	}
+
+	/**
+	 * Generate tables whose columns have a default value and a long CHECK expression : without
+	 * BETWEEN nor function calls, which make the SLL prediction fail and read the whole query.
+	 * @param nbTables Number of tables
+	 * @param nbColumns Number of columns of each table
+	 * @return SQL content
+	 */
+	static String wideTables(final int nbTables, final int nbColumns) {
+		final StringBuilder content = new StringBuilder();
+		for(int i = 0; i < nbTables; i++) {
+			content.append("CREATE TABLE wide").append(i).append(" (\n  id INTEGER PRIMARY KEY");
+			for(int j = 0; j < nbColumns; j++) {
+				final String column = "c" + j;
+				content.append(",\n  ").append(column).append(" NUMERIC(10,2) DEFAULT -").append(j)
+					.append(" NOT NULL CHECK (").append(column).append(" >= -1000 AND ").append(column).append(" < 1000")
+					.append(" AND (").append(column).append(" * 2 + 1) % 3 <> 0 OR ").append(column)
+					.append(" IN (1, 2, 3, 5, 8, 13) OR ").append(column).append(" || 'x' <> 'y')");
+			}
+			content.append("\n);\n");
+		}
+		return content.toString();
+	}
+
+}
@@ -0,0 +1,140 @@
+package com.restlet.sqlimport.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.restlet.sqlimport.MainProcess;
+import com.restlet.sqlimport.export.DatabaseToResdef;
+import com.restlet.sqlimport.export.ResdefToJson;
+import com.restlet.sqlimport.export.ResdefToJson.Format;
+import com.restlet.sqlimport.model.resdef.Resdef;
+import com.restlet.sqlimport.model.sql.Database;
+import com.restlet.sqlimport.parser.GetSqlQuery;
+import com.restlet.sqlimport.parser.SqlImport;
+import com.restlet.sqlimport.report.Report;
+import com.restlet.sqlimport.type.TypeConverter;
+import com.restlet.sqlimport.validation.DatabaseValidator;
+
+/**
+ * Time of each stage of the import of a SQL dump, and of the whole import : each stage
+ * starts from the result of the previous stages, computed once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PipelineBenchmark {
+
+	/**
+	 * Output stream which ignores the bytes.
+	 */
+	private static final OutputStream NULL_OUTPUT_STREAM = new OutputStream() {
+		@Override
+		public void write(final int b) {
+		}
+		@Override
+		public void write(final byte[] b, final int off, final int len) {
+		}
+	};
+
+	@Param({"mysql_mysqldump.sql", "postgres_pg_dump.sql", "oracle_sqldeveloper.sql", "standard.sql",
+		BenchmarkCorpus.SYNTHETIC + "100", BenchmarkCorpus.SYNTHETIC + "1000"})
+	public String file;
+
+	private String content;
+
+	/**
+	 * Queries to parse, linked to the report lines of {@link #report}.
+	 */
+	private final List<CharSequence> querys = new ArrayList<CharSequence>();
+
+	private Report report;
+
+	private Database database;
+
+	private Resdef resdef;
+
+	@Setup
+	public void setUp() throws IOException {
+		content = BenchmarkCorpus.readFile(file);
+
+		report = new Report();
+		final Iterator<CharSequence> iterator = new GetSqlQuery(report).getSqlQueryIterator(new StringReader(content));
+		while(iterator.hasNext()) {
+			querys.add(iterator.next());
+		}
+
+		database = new SqlImport(report).read(querys.iterator());
+		new TypeConverter(new Report()).convertTypeFromSQLToEntityStore(database);
+		resdef = new DatabaseToResdef().databaseToResdef(database);
+	}
+
+	@Benchmark
+	public List<String> getSqlQuerys() {
+		return new GetSqlQuery(new Report()).getSqlQuerys(content);
+	}
+
+	@Benchmark
+	public Database readOneQuery() {
+		final Database queryDatabase = new Database();
+		final SqlImport sqlImport = new SqlImport(report);
+		for(final CharSequence query : querys) {
+			sqlImport.readOneQuery(queryDatabase, query);
+		}
+		return queryDatabase;
+	}
+
+	@Benchmark
+	public Database typeConverter() {
+		new TypeConverter(new Report()).convertTypeFromSQLToEntityStore(database);
+		return database;
+	}
+
+	@Benchmark
+	public Report databaseValidator() {
+		final Report validationReport = new Report();
+		new DatabaseValidator(validationReport).validateDatabase(database);
+		return validationReport;
+	}
+
+	@Benchmark
+	public Resdef databaseToResdef() {
+		return new DatabaseToResdef().databaseToResdef(database);
+	}
+
+	@Benchmark
+	public String resdefToJson() {
+		return new ResdefToJson().resdefToJson(resdef);
+	}
+
+	@Benchmark
+	public void resdefToJsonStream() {
+		new ResdefToJson().write(resdef, NULL_OUTPUT_STREAM, Format.JSON);
+	}
+
+	@Benchmark
+	public void process(final Blackhole blackhole) {
+		blackhole.consume(new MainProcess().process(content));
+	}
+
+}
@@ -0,0 +1,127 @@
+package com.restlet.sqlimport.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.restlet.sqlimport.MainProcess;
+import com.restlet.sqlimport.benchmark.SyntheticDump.Style;
+import com.restlet.sqlimport.report.Report;
+import com.restlet.sqlimport.report.ReportLineStatus;
+
+/**
+ * Time and peak heap of the import of synthetic dumps by {@link MainProcess}, by number of
+ * tables : the measures of growing schemas show the parts of the import which do not scale
+ * linearly.<br/>
+ * Usage : java -cp target/benchmarks.jar com.restlet.sqlimport.benchmark.ScalabilitySuite [tables,...] [style,...] [seed]
+ */
+public final class ScalabilitySuite {
+
+	/**
+	 * Default numbers of tables.
+	 */
+	private static final String DEFAULT_SIZES = "1000,10000,100000";
+
+	/**
+	 * Output stream which ignores the bytes.
+	 */
+	private static final OutputStream NULL_OUTPUT_STREAM = new OutputStream() {
+		@Override
+		public void write(final int b) {
+		}
+		@Override
+		public void write(final byte[] b, final int off, final int len) {
+		}
+	};
+
+	private ScalabilitySuite() {
+	}
+
+	public static void main(final String[] args) throws IOException {
+		final String[] sizes = ((args.length > 0) ? args[0] : DEFAULT_SIZES).split(",");
+		final List<Style> styles = new ArrayList<Style>();
+		if(args.length > 1) {
+			for(final String style : args[1].split(",")) {
+				styles.add(Style.valueOf(style.toUpperCase(Locale.ROOT)));
+			}
+		} else {
+			for(final Style style : Style.values()) {
+				styles.add(style);
+			}
+		}
+		final long seed = (args.length > 2) ? Long.parseLong(args[2]) : SyntheticDump.DEFAULT_SEED;
+
+		// JIT compilation of the import before the measures
+		for(final Style style : styles) {
+			measure(style, 200, seed);
+		}
+
+		System.out.println(String.format(Locale.ROOT, "%-10s %8s %10s %10s %12s %10s %8s %8s",
+				"style", "tables", "size (KB)", "time (ms)", "us / table", "heap (MB)", "entities", "errors"));
+		for(final String size : sizes) {
+			for(final Style style : styles) {
+				System.out.println(measure(style, Integer.parseInt(size.trim()), seed));
+			}
+		}
+	}
+
+	/**
+	 * Import a synthetic dump and return the measures.
+	 * @param style Style of the dump
+	 * @param nbTables Number of tables
+	 * @param seed Seed of the dump
+	 * @return Measures
+	 * @throws IOException Error while writing the dump
+	 */
+	private static String measure(final Style style, final int nbTables, final long seed) throws IOException {
+		final Path path = Files.createTempFile("synthetic-" + style.name().toLowerCase(Locale.ROOT) + "-" + nbTables + "-", ".sql");
+		try {
+			final Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+			try {
+				new SyntheticDump(style, nbTables, seed).write(writer);
+			} finally {
+				writer.close();
+			}
+
+			final List<MemoryPoolMXBean> heapPools = new ArrayList<MemoryPoolMXBean>();
+			for(final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+				if(pool.getType() == MemoryType.HEAP) {
+					heapPools.add(pool);
+				}
+			}
+			System.gc();
+			for(final MemoryPoolMXBean pool : heapPools) {
+				pool.resetPeakUsage();
+			}
+
+			final MainProcess mainProcess = new MainProcess();
+			final long start = System.nanoTime();
+			mainProcess.processFile(path, NULL_OUTPUT_STREAM);
+			final long time = System.nanoTime() - start;
+
+			// sum of the peaks of the pools : an upper bound of the peak of the heap
+			long peakHeap = 0;
+			for(final MemoryPoolMXBean pool : heapPools) {
+				peakHeap += pool.getPeakUsage().getUsed();
+			}
+
+			final Report report = mainProcess.getReport();
+			return String.format(Locale.ROOT, "%-10s %8d %10d %10d %12.1f %10d %8d %8d",
+					style.name().toLowerCase(Locale.ROOT), nbTables, Files.size(path) / 1024, time / 1000000,
+					time / 1000.0 / nbTables, peakHeap / (1024 * 1024), report.getNbCreatedEntity(),
+					report.getReportLinesForStatus(ReportLineStatus.PARSING_ERROR).size());
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+}
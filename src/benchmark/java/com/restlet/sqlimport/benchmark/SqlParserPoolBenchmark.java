@@ -0,0 +1,72 @@
+package com.restlet.sqlimport.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.antlr.v4.runtime.BaseErrorListener;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.restlet.sqlimport.parser.CharSequenceCharStream;
+import com.restlet.sqlimport.parser.SqlLexer;
+import com.restlet.sqlimport.parser.SqlParser;
+import com.restlet.sqlimport.parser.SqlParserPool;
+
+/**
+ * Time to parse a small CREATE TABLE query with a new lexer and parser for each query, or
+ * with the lexer and parser of the thread.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OperationsPerInvocation(SqlParserPoolBenchmark.NB_TABLES)
+public class SqlParserPoolBenchmark {
+
+	/**
+	 * Number of tables of the schema.
+	 */
+	static final int NB_TABLES = 1000;
+
+	private final String[] querys = new String[NB_TABLES];
+
+	private final BaseErrorListener errorListener = new BaseErrorListener();
+
+	@Setup
+	public void setUp() {
+		for(int i = 0; i < NB_TABLES; i++) {
+			querys[i] = "CREATE TABLE table" + i + " (id INTEGER PRIMARY KEY, name VARCHAR(20) NOT NULL)";
+		}
+	}
+
+	@Benchmark
+	public void newParser(final Blackhole blackhole) {
+		for(final String query : querys) {
+			final SqlLexer l = new SqlLexer(new CharSequenceCharStream(query));
+			final SqlParser p = new SqlParser(new CommonTokenStream(l));
+			p.addErrorListener(errorListener);
+			blackhole.consume(p.parse());
+		}
+	}
+
+	@Benchmark
+	public void pooledParser(final Blackhole blackhole) {
+		for(final String query : querys) {
+			final SqlParser p = SqlParserPool.getParser(new CharSequenceCharStream(query), errorListener);
+			blackhole.consume(p.parse());
+		}
+	}
+
+}
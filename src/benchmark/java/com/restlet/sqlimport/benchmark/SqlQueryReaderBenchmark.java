@@ -0,0 +1,59 @@
+package com.restlet.sqlimport.benchmark;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.restlet.sqlimport.parser.SqlQueryReader;
+
+/**
+ * Throughput of the SQL queries splitter compared to the legacy splitter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SqlQueryReaderBenchmark {
+
+	@Param({"mysql_mysqldump.sql", "postgres_pg_dump.sql", "oracle_sqldeveloper.sql", "standard.sql"})
+	public String file;
+
+	private String content;
+
+	@Setup
+	public void setUp() throws IOException {
+		content = BenchmarkCorpus.read(file);
+	}
+
+	@Benchmark
+	public void legacySplitter(final Blackhole blackhole) {
+		for(final String query : new LegacySqlSplitter().split(content)) {
+			blackhole.consume(query);
+		}
+	}
+
+	@Benchmark
+	public void sqlQueryReader(final Blackhole blackhole) throws IOException {
+		final SqlQueryReader sqlQueryReader = new SqlQueryReader(new StringReader(content));
+		CharSequence query;
+		while((query = sqlQueryReader.readQuery()) != null) {
+			blackhole.consume(query);
+		}
+	}
+
+}
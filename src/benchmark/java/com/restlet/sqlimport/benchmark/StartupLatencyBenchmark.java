@@ -0,0 +1,61 @@
+package com.restlet.sqlimport.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.restlet.sqlimport.model.sql.Database;
+import com.restlet.sqlimport.parser.SqlImport;
+import com.restlet.sqlimport.parser.SqlParserWarmUp;
+import com.restlet.sqlimport.report.Report;
+
+/**
+ * Time to the first parsed query in a new JVM : without warm up, after the initialization of
+ * the grammar, or after the replay of the warm up queries. Each fork measures one query.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class StartupLatencyBenchmark {
+
+	/**
+	 * First query of the imported file : it is not in the warm up queries.
+	 */
+	private static final String QUERY = "CREATE TABLE customer (id INTEGER NOT NULL, "
+			+ "name VARCHAR(50) DEFAULT 'none', created DATE, "
+			+ "PRIMARY KEY (id), FOREIGN KEY (id) REFERENCES person (id));";
+
+	/**
+	 * none : no warm up, grammar : initialization of the grammar, corpus : replay of the warm up queries.
+	 */
+	@Param({"none", "grammar", "corpus"})
+	public String warmUp;
+
+	@Setup
+	public void setUp() {
+		if("grammar".equals(warmUp)) {
+			SqlParserWarmUp.warmUp(false);
+		} else if("corpus".equals(warmUp)) {
+			SqlParserWarmUp.warmUp(true);
+		}
+	}
+
+	@Benchmark
+	public Database firstQuery() {
+		return new SqlImport(new Report()).getDatabase(QUERY);
+	}
+
+}
@@ -0,0 +1,692 @@
+package com.restlet.sqlimport.benchmark;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Generator of SQL dumps of large schemas, in the style of a database tool : the same seed
+ * always generates the same dump.<br/>
+ * The tables have various column types, primary keys of one or two columns, foreign keys to
+ * the previous tables of one or two columns, declared in the column, in the table or by
+ * ALTER TABLE, comments and INSERT data.
+ */
+public final class SyntheticDump {
+
+	/**
+	 * Style of the dump.
+	 */
+	public enum Style {
+		/**
+		 * MySQL mysqldump : foreign keys in the tables, data between LOCK TABLES.
+		 */
+		MYSQLDUMP,
+		/**
+		 * PostgreSQL pg_dump with --inserts : keys added by ALTER TABLE ONLY after the tables.
+		 */
+		PG_DUMP,
+		/**
+		 * Oracle SQL Developer : quoted upper case names, keys added by ALTER TABLE after the data.
+		 */
+		ORACLE,
+		/**
+		 * Standard SQL : foreign keys in the columns, in the tables or by ALTER TABLE.
+		 */
+		STANDARD
+	}
+
+	/**
+	 * Seed of the dumps of the benchmarks.
+	 */
+	public static final long DEFAULT_SEED = 20141029L;
+
+	/**
+	 * Words of the table and column names.
+	 */
+	private static final String[] WORDS = {"customer", "order", "product", "invoice", "address", "company",
+		"contact", "payment", "shipment", "category", "supplier", "stock", "price", "account", "event"};
+
+	/**
+	 * Text values : some contain the query separator or quotes.
+	 */
+	private static final String[] TEXTS = {"lorem", "ipsum dolor", "O''Brien", "a;b;c", "-- not a comment",
+		"/* not a comment */", "line\\nbreak", ""};
+
+	/**
+	 * Kind of column.
+	 */
+	private enum Kind {
+		INTEGER, BIGINT, VARCHAR, TEXT, DATE, TIMESTAMP, DECIMAL, BOOLEAN, DOUBLE
+	}
+
+	/**
+	 * Column of a generated table.
+	 */
+	private static final class Column {
+		private final String name;
+		private final Kind kind;
+		private final int size;
+		private final boolean notNull;
+		private final boolean hasDefault;
+		private Column(final String name, final Kind kind, final int size, final boolean notNull, final boolean hasDefault) {
+			this.name = name;
+			this.kind = kind;
+			this.size = size;
+			this.notNull = notNull;
+			this.hasDefault = hasDefault;
+		}
+	}
+
+	/**
+	 * Foreign key of a generated table.
+	 */
+	private static final class ForeignKey {
+		private final String name;
+		private final List<Column> columns = new ArrayList<Column>();
+		private final Table target;
+		/**
+		 * Declaration of the foreign key of a standard dump : 0 in the column, 1 in the table, 2 by ALTER TABLE.
+		 */
+		private final int declaration;
+		private ForeignKey(final String name, final Table target, final int declaration) {
+			this.name = name;
+			this.target = target;
+			this.declaration = declaration;
+		}
+	}
+
+	/**
+	 * Generated table.
+	 */
+	private static final class Table {
+		private final String name;
+		private final List<Column> columns = new ArrayList<Column>();
+		private final List<Column> primaryKey = new ArrayList<Column>();
+		private final List<ForeignKey> foreignKeys = new ArrayList<ForeignKey>();
+		private int nbRows;
+		private Table(final String name) {
+			this.name = name;
+		}
+	}
+
+	private final Style style;
+
+	private final int nbTables;
+
+	private final Random random;
+
+	/**
+	 * Constructor.
+	 * @param style Style of the dump
+	 * @param nbTables Number of tables
+	 * @param seed Seed of the random generator
+	 */
+	public SyntheticDump(final Style style, final int nbTables, final long seed) {
+		this.style = style;
+		this.nbTables = nbTables;
+		this.random = new Random(seed);
+	}
+
+	/**
+	 * Generate the dump.
+	 * @param style Style of the dump
+	 * @param nbTables Number of tables
+	 * @param seed Seed of the random generator
+	 * @return SQL content
+	 */
+	public static String generate(final Style style, final int nbTables, final long seed) {
+		final StringWriter out = new StringWriter(nbTables * 1024);
+		try {
+			new SyntheticDump(style, nbTables, seed).write(out);
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return out.toString();
+	}
+
+	/**
+	 * Write the dump.
+	 * @param out Writer (the caller is responsible for closing it)
+	 * @throws IOException Error while writing
+	 */
+	public void write(final Writer out) throws IOException {
+		final List<Table> tables = new ArrayList<Table>(nbTables);
+		for(int i = 0; i < nbTables; i++) {
+			tables.add(newTable(tables, i));
+		}
+
+		final StringBuilder sql = new StringBuilder(4096);
+		appendHeader(sql);
+		out.append(sql);
+		for(final Table table : tables) {
+			sql.setLength(0);
+			appendTable(sql, table);
+			appendData(sql, table);
+			out.append(sql);
+		}
+		for(final Table table : tables) {
+			sql.setLength(0);
+			appendConstraints(sql, table);
+			out.append(sql);
+		}
+		sql.setLength(0);
+		appendFooter(sql);
+		out.append(sql);
+	}
+
+	/**
+	 * Generate a table with foreign keys to the previous tables.
+	 * @param tables Previous tables
+	 * @param index Index of the table
+	 * @return Table
+	 */
+	private Table newTable(final List<Table> tables, final int index) {
+		final Table table = new Table(name(WORDS[random.nextInt(WORDS.length)] + "_" + index));
+
+		final Column id = new Column(name("id"), Kind.INTEGER, 0, true, false);
+		table.columns.add(id);
+		table.primaryKey.add(id);
+		if(random.nextInt(10) == 0) {
+			// composite primary key
+			final Column version = new Column(name("version"), Kind.INTEGER, 0, true, false);
+			table.columns.add(version);
+			table.primaryKey.add(version);
+		}
+
+		final int nbColumns = 2 + random.nextInt(10);
+		for(int i = 0; i < nbColumns; i++) {
+			final Kind kind = Kind.values()[random.nextInt(Kind.values().length)];
+			final int size = (kind == Kind.VARCHAR) ? (1 + random.nextInt(255)) : 0;
+			table.columns.add(new Column(name(WORDS[random.nextInt(WORDS.length)] + "_" + i), kind, size,
+					random.nextInt(4) == 0, random.nextInt(5) == 0));
+		}
+
+		final int nbForeignKeys = tables.isEmpty() ? 0 : random.nextInt(3);
+		for(int i = 0; i < nbForeignKeys; i++) {
+			final Table target = tables.get(tables.size() - 1 - random.nextInt(Math.min(tables.size(), 100)));
+			final ForeignKey foreignKey = new ForeignKey(name("fk_" + index + "_" + i), target, random.nextInt(3));
+			for(final Column targetColumn : target.primaryKey) {
+				final Column column = new Column(name(target.name.toLowerCase(Locale.ROOT) + "_" + i + "_" + targetColumn.name.toLowerCase(Locale.ROOT)),
+						targetColumn.kind, 0, false, false);
+				table.columns.add(column);
+				foreignKey.columns.add(column);
+			}
+			table.foreignKeys.add(foreignKey);
+		}
+
+		table.nbRows = random.nextInt(4);
+		return table;
+	}
+
+	/**
+	 * Return a name in the case of the style.
+	 * @param name Name in lower case
+	 * @return Name
+	 */
+	private String name(final String name) {
+		return (style == Style.ORACLE) ? name.toUpperCase(Locale.ROOT) : name;
+	}
+
+	/**
+	 * Return the quoted name of a table or column.
+	 * @param name Name
+	 * @return Quoted name
+	 */
+	private String quote(final String name) {
+		switch(style) {
+		case MYSQLDUMP:
+			return "`" + name + "`";
+		case ORACLE:
+			return "\"" + name + "\"";
+		default:
+			return name;
+		}
+	}
+
+	/**
+	 * Return the qualified and quoted name of a table.
+	 * @param table Table
+	 * @return Name
+	 */
+	private String tableName(final Table table) {
+		if(style == Style.ORACLE) {
+			return "\"SYSTEM\"." + quote(table.name);
+		}
+		return quote(table.name);
+	}
+
+	/**
+	 * Return the SQL type of a column.
+	 * @param column Column
+	 * @return SQL type
+	 */
+	private String type(final Column column) {
+		switch(style) {
+		case MYSQLDUMP:
+			switch(column.kind) {
+			case INTEGER: return "int(11)";
+			case BIGINT: return "bigint(20)";
+			case VARCHAR: return "varchar(" + column.size + ")";
+			case TEXT: return "text";
+			case DATE: return "date";
+			case TIMESTAMP: return "datetime";
+			case DECIMAL: return "decimal(10,2)";
+			case BOOLEAN: return "tinyint(1)";
+			default: return "double";
+			}
+		case PG_DUMP:
+			switch(column.kind) {
+			case INTEGER: return "integer";
+			case BIGINT: return "bigint";
+			case VARCHAR: return "character varying(" + column.size + ")";
+			case TEXT: return "text";
+			case DATE: return "date";
+			case TIMESTAMP: return "timestamp without time zone";
+			case DECIMAL: return "numeric(10,2)";
+			case BOOLEAN: return "boolean";
+			default: return "double precision";
+			}
+		case ORACLE:
+			switch(column.kind) {
+			case INTEGER: return "NUMBER(*,0)";
+			case BIGINT: return "NUMBER(19,0)";
+			case VARCHAR: return "VARCHAR2(" + column.size + " BYTE)";
+			case TEXT: return "CLOB";
+			case DATE: return "DATE";
+			case TIMESTAMP: return "TIMESTAMP (6)";
+			case DECIMAL: return "NUMBER(10,2)";
+			case BOOLEAN: return "NUMBER(1,0)";
+			default: return "FLOAT(126)";
+			}
+		default:
+			switch(column.kind) {
+			case INTEGER: return "INTEGER";
+			case BIGINT: return "BIGINT";
+			case VARCHAR: return "VARCHAR(" + column.size + ")";
+			case TEXT: return "TEXT";
+			case DATE: return "DATE";
+			case TIMESTAMP: return "TIMESTAMP";
+			case DECIMAL: return "DECIMAL(10,2)";
+			case BOOLEAN: return "BOOLEAN";
+			default: return "DOUBLE PRECISION";
+			}
+		}
+	}
+
+	/**
+	 * Return a value of a column.
+	 * @param column Column
+	 * @param row Index of the row
+	 * @return SQL value
+	 */
+	private String value(final Column column, final int row) {
+		if(!column.notNull && (random.nextInt(5) == 0)) {
+			return "NULL";
+		}
+		switch(column.kind) {
+		case INTEGER:
+		case BIGINT:
+			return Integer.toString(row + 1);
+		case VARCHAR:
+		case TEXT:
+			return "'" + TEXTS[random.nextInt(TEXTS.length)] + "'";
+		case DATE:
+			return (style == Style.ORACLE) ? "to_date('2014-09-29','YYYY-MM-DD')" : "'2014-09-29'";
+		case TIMESTAMP:
+			return (style == Style.ORACLE) ? "to_timestamp('2014-09-29 10:00:00','YYYY-MM-DD HH24:MI:SS')" : "'2014-09-29 10:00:00'";
+		case DECIMAL:
+			return random.nextInt(100000) + "." + random.nextInt(100);
+		case BOOLEAN:
+			return (style == Style.PG_DUMP) ? (random.nextBoolean() ? "true" : "false") : Integer.toString(random.nextInt(2));
+		default:
+			return Double.toString(random.nextDouble());
+		}
+	}
+
+	/**
+	 * Return the default value of a column.
+	 * @param column Column
+	 * @return SQL value
+	 */
+	private String defaultValue(final Column column) {
+		switch(column.kind) {
+		case VARCHAR:
+		case TEXT:
+			return (style == Style.PG_DUMP) ? "'none'::character varying" : "'none'";
+		case DATE:
+		case TIMESTAMP:
+			return "NULL";
+		default:
+			return "0";
+		}
+	}
+
+	/**
+	 * Append a list of column names.
+	 * @param sql SQL content
+	 * @param columns Columns
+	 * @param separator Separator of the names
+	 */
+	private void appendColumnNames(final StringBuilder sql, final List<Column> columns, final String separator) {
+		for(int i = 0; i < columns.size(); i++) {
+			if(i > 0) {
+				sql.append(separator);
+			}
+			sql.append(quote(columns.get(i).name));
+		}
+	}
+
+	/**
+	 * Append the header of the dump.
+	 * @param sql SQL content
+	 */
+	private void appendHeader(final StringBuilder sql) {
+		switch(style) {
+		case MYSQLDUMP:
+			sql.append("-- MySQL dump 10.13  Distrib 5.6.12, for Win64 (x86_64)\n--\n-- Host: localhost    Database: synthetic\n")
+				.append("-- ------------------------------------------------------\n-- Server version\t5.6.12-log\n\n")
+				.append("/*!40101 SET @OLD_CHARACTER_SET_CLIENT=@@CHARACTER_SET_CLIENT */;\n")
+				.append("/*!40101 SET NAMES utf8 */;\n")
+				.append("/*!40014 SET @OLD_FOREIGN_KEY_CHECKS=@@FOREIGN_KEY_CHECKS, FOREIGN_KEY_CHECKS=0 */;\n\n");
+			break;
+		case PG_DUMP:
+			sql.append("--\n-- PostgreSQL database dump\n--\n\n")
+				.append("SET statement_timeout = 0;\nSET client_encoding = 'UTF8';\nSET standard_conforming_strings = on;\n\n")
+				.append("SET search_path = public, pg_catalog;\n\nSET default_tablespace = '';\n\n");
+			break;
+		case ORACLE:
+			sql.append("--------------------------------------------------------\n")
+				.append("--  File created - Wednesday-October-29-2014   \n")
+				.append("--------------------------------------------------------\n");
+			break;
+		default:
+			sql.append("/*\n * Synthetic schema of ").append(nbTables).append(" tables\n */\n\n");
+			break;
+		}
+	}
+
+	/**
+	 * Append the footer of the dump.
+	 * @param sql SQL content
+	 */
+	private void appendFooter(final StringBuilder sql) {
+		switch(style) {
+		case MYSQLDUMP:
+			sql.append("/*!40014 SET FOREIGN_KEY_CHECKS=@OLD_FOREIGN_KEY_CHECKS */;\n\n-- Dump completed\n");
+			break;
+		case PG_DUMP:
+			sql.append("--\n-- PostgreSQL database dump complete\n--\n\n");
+			break;
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * Append the CREATE TABLE of a table.
+	 * @param sql SQL content
+	 * @param table Table
+	 */
+	private void appendTable(final StringBuilder sql, final Table table) {
+		switch(style) {
+		case MYSQLDUMP:
+			sql.append("--\n-- Table structure for table `").append(table.name).append("`\n--\n\n")
+				.append("DROP TABLE IF EXISTS `").append(table.name).append("`;\n")
+				.append("/*!40101 SET @saved_cs_client     = @@character_set_client */;\n")
+				.append("/*!40101 SET character_set_client = utf8 */;\n");
+			break;
+		case PG_DUMP:
+			sql.append("--\n-- Name: ").append(table.name).append("; Type: TABLE; Schema: public; Owner: postgres; Tablespace: \n--\n\n");
+			break;
+		case ORACLE:
+			sql.append("--------------------------------------------------------\n")
+				.append("--  DDL for Table ").append(table.name).append("\n")
+				.append("--------------------------------------------------------\n\n");
+			break;
+		default:
+			sql.append("-- Table ").append(table.name).append("\n");
+			break;
+		}
+
+		sql.append((style == Style.ORACLE) ? "  CREATE TABLE " : "CREATE TABLE ").append(tableName(table))
+			.append((style == Style.ORACLE) ? " \n   (" : " (\n");
+		for(int i = 0; i < table.columns.size(); i++) {
+			final Column column = table.columns.get(i);
+			if(i > 0) {
+				sql.append((style == Style.ORACLE) ? ", \n\t" : ",\n");
+			}
+			if(style != Style.ORACLE) {
+				sql.append((style == Style.PG_DUMP) ? "    " : "  ");
+			}
+			sql.append(quote(column.name)).append(' ').append(type(column));
+			if(column.notNull && (style != Style.ORACLE)) {
+				sql.append(" NOT NULL");
+			}
+			if(column.hasDefault) {
+				sql.append(" DEFAULT ").append(defaultValue(column));
+			} else if(!column.notNull && (style == Style.MYSQLDUMP)) {
+				sql.append(" DEFAULT NULL");
+			}
+			if(style == Style.STANDARD) {
+				final ForeignKey foreignKey = getForeignKeyOfColumn(table, column);
+				if((foreignKey != null) && (foreignKey.declaration == 0) && (foreignKey.columns.size() == 1)) {
+					sql.append(" REFERENCES ").append(foreignKey.target.name)
+						.append('(').append(foreignKey.target.primaryKey.get(0).name).append(')');
+				}
+			}
+		}
+		if((style == Style.MYSQLDUMP) || (style == Style.STANDARD)) {
+			sql.append(",\n  PRIMARY KEY (");
+			appendColumnNames(sql, table.primaryKey, ",");
+			sql.append(')');
+		}
+		for(final ForeignKey foreignKey : table.foreignKeys) {
+			if(style == Style.MYSQLDUMP) {
+				sql.append(",\n  KEY `").append(foreignKey.name).append("` (");
+				appendColumnNames(sql, foreignKey.columns, ",");
+				sql.append(')');
+			}
+		}
+		for(final ForeignKey foreignKey : table.foreignKeys) {
+			if(style == Style.MYSQLDUMP) {
+				sql.append(",\n  CONSTRAINT `").append(foreignKey.name).append("` FOREIGN KEY (");
+				appendColumnNames(sql, foreignKey.columns, ", ");
+				sql.append(") REFERENCES ").append(quote(foreignKey.target.name)).append(" (");
+				appendColumnNames(sql, foreignKey.target.primaryKey, ", ");
+				sql.append(')');
+			} else if((style == Style.STANDARD)
+					&& ((foreignKey.declaration == 1) || ((foreignKey.declaration == 0) && (foreignKey.columns.size() > 1)))) {
+				sql.append(",\n  FOREIGN KEY (");
+				appendColumnNames(sql, foreignKey.columns, ", ");
+				sql.append(")\n    REFERENCES ").append(foreignKey.target.name).append('(');
+				appendColumnNames(sql, foreignKey.target.primaryKey, ", ");
+				sql.append(")");
+				if(random.nextBoolean()) {
+					sql.append(" ON DELETE CASCADE");
+				}
+			}
+		}
+
+		switch(style) {
+		case MYSQLDUMP:
+			sql.append("\n) ENGINE=InnoDB DEFAULT CHARSET=latin1;\n")
+				.append("/*!40101 SET character_set_client = @saved_cs_client */;\n\n");
+			break;
+		case PG_DUMP:
+			sql.append("\n);\n\n\nALTER TABLE public.").append(table.name).append(" OWNER TO postgres;\n\n");
+			if(random.nextInt(4) == 0) {
+				sql.append("--\n-- Name: TABLE ").append(table.name).append("; Type: COMMENT; Schema: public; Owner: postgres\n--\n\n")
+					.append("COMMENT ON TABLE ").append(table.name).append(" IS 'Table ").append(table.name).append(";';\n\n");
+			}
+			break;
+		case ORACLE:
+			sql.append("\n   ) PCTFREE 10 PCTUSED 40 INITRANS 1 MAXTRANS 255 NOCOMPRESS LOGGING\n")
+				.append("  STORAGE(INITIAL 65536 NEXT 1048576 MINEXTENTS 1 MAXEXTENTS 2147483645\n")
+				.append("  PCTINCREASE 0 FREELISTS 1 FREELIST GROUPS 1 BUFFER_POOL DEFAULT FLASH_CACHE DEFAULT CELL_FLASH_CACHE DEFAULT)\n")
+				.append("  TABLESPACE \"SYSTEM\" ;\n");
+			break;
+		default:
+			sql.append("\n);\n\n");
+			break;
+		}
+	}
+
+	/**
+	 * Return the foreign key of which the column is the first column.
+	 * @param table Table
+	 * @param column Column
+	 * @return Foreign key (null if none)
+	 */
+	private ForeignKey getForeignKeyOfColumn(final Table table, final Column column) {
+		for(final ForeignKey foreignKey : table.foreignKeys) {
+			if(foreignKey.columns.get(0) == column) {
+				return foreignKey;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Append the data of a table.
+	 * @param sql SQL content
+	 * @param table Table
+	 */
+	private void appendData(final StringBuilder sql, final Table table) {
+		switch(style) {
+		case MYSQLDUMP:
+			sql.append("--\n-- Dumping data for table `").append(table.name).append("`\n--\n\n")
+				.append("LOCK TABLES `").append(table.name).append("` WRITE;\n")
+				.append("/*!40000 ALTER TABLE `").append(table.name).append("` DISABLE KEYS */;\n");
+			if(table.nbRows > 0) {
+				sql.append("INSERT INTO `").append(table.name).append("` VALUES ");
+				for(int row = 0; row < table.nbRows; row++) {
+					if(row > 0) {
+						sql.append(',');
+					}
+					appendValues(sql, table, row);
+				}
+				sql.append(";\n");
+			}
+			sql.append("/*!40000 ALTER TABLE `").append(table.name).append("` ENABLE KEYS */;\n")
+				.append("UNLOCK TABLES;\n\n");
+			break;
+		case PG_DUMP:
+			if(table.nbRows > 0) {
+				sql.append("--\n-- Data for Name: ").append(table.name).append("; Type: TABLE DATA; Schema: public; Owner: postgres\n--\n\n");
+				for(int row = 0; row < table.nbRows; row++) {
+					sql.append("INSERT INTO ").append(table.name).append(" VALUES ");
+					appendValues(sql, table, row);
+					sql.append(";\n");
+				}
+				sql.append("\n\n");
+			}
+			break;
+		case ORACLE:
+			sql.append("REM INSERTING into SYSTEM.").append(table.name).append("\nSET DEFINE OFF;\n");
+			for(int row = 0; row < table.nbRows; row++) {
+				sql.append("Insert into SYSTEM.").append(table.name).append(" (");
+				appendColumnNames(sql, table.columns, ",");
+				sql.append(") values ");
+				appendValues(sql, table, row);
+				sql.append(";\n");
+			}
+			break;
+		default:
+			for(int row = 0; row < table.nbRows; row++) {
+				sql.append("INSERT INTO ").append(table.name).append(" (");
+				appendColumnNames(sql, table.columns, ", ");
+				sql.append(")\nVALUES ");
+				appendValues(sql, table, row);
+				sql.append(";\n");
+			}
+			sql.append('\n');
+			break;
+		}
+	}
+
+	/**
+	 * Append the values of a row.
+	 * @param sql SQL content
+	 * @param table Table
+	 * @param row Index of the row
+	 */
+	private void appendValues(final StringBuilder sql, final Table table, final int row) {
+		sql.append('(');
+		for(int i = 0; i < table.columns.size(); i++) {
+			if(i > 0) {
+				sql.append(',');
+			}
+			sql.append(value(table.columns.get(i), row));
+		}
+		sql.append(')');
+	}
+
+	/**
+	 * Append the constraints of a table declared after the tables.
+	 * @param sql SQL content
+	 * @param table Table
+	 */
+	private void appendConstraints(final StringBuilder sql, final Table table) {
+		switch(style) {
+		case PG_DUMP:
+			sql.append("--\n-- Name: ").append(table.name).append("_pkey; Type: CONSTRAINT; Schema: public; Owner: postgres; Tablespace: \n--\n\n")
+				.append("ALTER TABLE ONLY ").append(table.name).append("\n    ADD CONSTRAINT ").append(table.name).append("_pkey PRIMARY KEY (");
+			appendColumnNames(sql, table.primaryKey, ", ");
+			sql.append(");\n\n\n");
+			for(final ForeignKey foreignKey : table.foreignKeys) {
+				sql.append("--\n-- Name: ").append(foreignKey.name).append("; Type: FK CONSTRAINT; Schema: public; Owner: postgres\n--\n\n")
+					.append("ALTER TABLE ONLY ").append(table.name).append("\n    ADD CONSTRAINT ").append(foreignKey.name).append(" FOREIGN KEY (");
+				appendColumnNames(sql, foreignKey.columns, ", ");
+				sql.append(") REFERENCES ").append(foreignKey.target.name).append('(');
+				appendColumnNames(sql, foreignKey.target.primaryKey, ", ");
+				sql.append(");\n\n\n");
+			}
+			break;
+		case ORACLE:
+			sql.append("--------------------------------------------------------\n")
+				.append("--  Constraints for Table ").append(table.name).append("\n")
+				.append("--------------------------------------------------------\n\n")
+				.append("  ALTER TABLE ").append(tableName(table)).append(" ADD PRIMARY KEY (");
+			appendColumnNames(sql, table.primaryKey, ", ");
+			sql.append(")\n  USING INDEX PCTFREE 10 INITRANS 2 MAXTRANS 255 \n")
+				.append("  TABLESPACE \"SYSTEM\"  ENABLE;\n");
+			for(final Column column : table.columns) {
+				if(column.notNull) {
+					sql.append("  ALTER TABLE ").append(tableName(table)).append(" MODIFY (").append(quote(column.name)).append(" NOT NULL ENABLE);\n");
+				}
+			}
+			if(!table.foreignKeys.isEmpty()) {
+				sql.append("--------------------------------------------------------\n")
+					.append("--  Ref Constraints for Table ").append(table.name).append("\n")
+					.append("--------------------------------------------------------\n\n");
+				for(final ForeignKey foreignKey : table.foreignKeys) {
+					sql.append("  ALTER TABLE ").append(tableName(table)).append(" ADD CONSTRAINT ").append(quote(foreignKey.name)).append(" FOREIGN KEY (");
+					appendColumnNames(sql, foreignKey.columns, ", ");
+					sql.append(")\n\t  REFERENCES ").append(tableName(foreignKey.target)).append(" (");
+					appendColumnNames(sql, foreignKey.target.primaryKey, ", ");
+					sql.append(") ENABLE;\n");
+				}
+			}
+			break;
+		case STANDARD:
+			for(final ForeignKey foreignKey : table.foreignKeys) {
+				if(foreignKey.declaration == 2) {
+					sql.append("ALTER TABLE ").append(table.name).append("\nADD CONSTRAINT ").append(foreignKey.name).append("\nFOREIGN KEY (");
+					appendColumnNames(sql, foreignKey.columns, ", ");
+					sql.append(")\nREFERENCES ").append(foreignKey.target.name).append('(');
+					appendColumnNames(sql, foreignKey.target.primaryKey, ", ");
+					sql.append(");\n\n");
+				}
+			}
+			break;
+		default:
+			break;
+		}
+	}
+
+}
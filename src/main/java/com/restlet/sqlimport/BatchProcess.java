@@ -0,0 +1,468 @@
+package com.restlet.sqlimport;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
+
+import com.restlet.sqlimport.export.ResdefToJson.Format;
+import com.restlet.sqlimport.log.Logger;
+import com.restlet.sqlimport.report.Report;
+import com.restlet.sqlimport.report.ReportManager;
+
+/**
+ * Batch of SQL files processed on a bounded pool of threads : each file has its own output
+ * file and its own report in the output directory, and an error on a file does not stop the
+ * batch.<br/>
+ * The threads of the pool keep their lexer and parser between the files, and the grammar
+ * is shared by all the threads, so only the first files are parsed with a cold parser.
+ */
+public class BatchProcess {
+
+	/**
+	 * Logger.
+	 */
+	private static final Logger LOG = Logger.getLogger(BatchProcess.class);
+
+	/**
+	 * Result of the processing of a file.
+	 */
+	public static class FileResult {
+
+		private final Path input;
+		private final Path output;
+		private final Report report;
+		private final Throwable error;
+		private final long wallTime;
+
+		/**
+		 * Constructor.
+		 * @param input SQL file
+		 * @param output JSON file
+		 * @param report Report of the file
+		 * @param error Error which stopped the processing of the file (null if there is no error)
+		 * @param wallTime Time of the processing, in nanoseconds
+		 */
+		private FileResult(final Path input, final Path output, final Report report, final Throwable error, final long wallTime) {
+			this.input = input;
+			this.output = output;
+			this.report = report;
+			this.error = error;
+			this.wallTime = wallTime;
+		}
+
+		public Path getInput() {
+			return input;
+		}
+
+		public Path getOutput() {
+			return output;
+		}
+
+		public Report getReport() {
+			return report;
+		}
+
+		/**
+		 * Get error which stopped the processing of the file.
+		 * @return error (null if there is no error)
+		 */
+		public Throwable getError() {
+			return error;
+		}
+
+		public boolean isFailed() {
+			return error != null;
+		}
+
+		/**
+		 * Get time of the processing.
+		 * @return time in nanoseconds
+		 */
+		public long getWallTime() {
+			return wallTime;
+		}
+	}
+
+	/**
+	 * Summary of a batch.
+	 */
+	public static class Summary {
+
+		private final List<FileResult> fileResults;
+		private final long wallTime;
+
+		/**
+		 * Constructor.
+		 * @param fileResults Results of the files, in the order of the files
+		 * @param wallTime Time of the batch, in nanoseconds
+		 */
+		private Summary(final List<FileResult> fileResults, final long wallTime) {
+			this.fileResults = Collections.unmodifiableList(fileResults);
+			this.wallTime = wallTime;
+		}
+
+		public List<FileResult> getFileResults() {
+			return fileResults;
+		}
+
+		/**
+		 * Get time of the batch.
+		 * @return time in nanoseconds
+		 */
+		public long getWallTime() {
+			return wallTime;
+		}
+
+		public int getNbFiles() {
+			return fileResults.size();
+		}
+
+		public int getNbFailures() {
+			int nbFailures = 0;
+			for(final FileResult fileResult : fileResults) {
+				if(fileResult.isFailed()) {
+					nbFailures++;
+				}
+			}
+			return nbFailures;
+		}
+
+		public long getNbBytesRead() {
+			long nbBytesRead = 0;
+			for(final FileResult fileResult : fileResults) {
+				nbBytesRead += fileResult.getReport().getMetrics().getNbBytesRead();
+			}
+			return nbBytesRead;
+		}
+
+		public double getFilesPerSecond() {
+			return (wallTime == 0) ? 0 : (fileResults.size() * 1e9 / wallTime);
+		}
+
+		public double getMegabytesPerSecond() {
+			return (wallTime == 0) ? 0 : (getNbBytesRead() * 1e9 / wallTime / (1024 * 1024));
+		}
+
+		/**
+		 * Summary of the batch, then the files with an error.
+		 */
+		@Override
+		public String toString() {
+			final StringBuilder out = new StringBuilder();
+			out.append(String.format(Locale.ROOT, "Batch : %d files, %d failures, %.1f MB read in %.3f s : %.1f files/s, %.1f MB/s%n",
+					getNbFiles(), getNbFailures(), getNbBytesRead() / (1024.0 * 1024), wallTime / 1e9,
+					getFilesPerSecond(), getMegabytesPerSecond()));
+			for(final FileResult fileResult : fileResults) {
+				if(fileResult.isFailed()) {
+					out.append(" - ").append(fileResult.getInput()).append(" : ").append(getMessage(fileResult.getError()))
+						.append(String.format("%n"));
+				}
+			}
+			return out.toString();
+		}
+	}
+
+	/**
+	 * Options of the files : each file is processed by a copy of this main process.
+	 */
+	private final MainProcess mainProcess;
+
+	/**
+	 * Number of threads of the pool.
+	 */
+	private int nbThreads = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * true to map the SQL files in memory instead of reading them.
+	 */
+	private boolean mmap;
+
+	/**
+	 * true to compress the JSON files with gzip.
+	 */
+	private boolean gzip;
+
+	/**
+	 * true to write the metrics of each file in JSON, next to its report.
+	 */
+	private boolean metrics;
+
+	/**
+	 * Constructor.
+	 * @param mainProcess Options of the files
+	 */
+	public BatchProcess(final MainProcess mainProcess) {
+		this.mainProcess = mainProcess;
+	}
+
+	/**
+	 * Return the SQL files of a directory (*.sql), or the files matching a glob pattern on the
+	 * file name (for example dumps/*.dump).
+	 * @param input Directory or glob pattern
+	 * @return SQL files, sorted by name
+	 * @throws IOException Error while listing the directory
+	 */
+	public static List<Path> listInputs(final String input) throws IOException {
+		final Path path = Paths.get(input);
+		final Path dir;
+		final String glob;
+		if(Files.isDirectory(path)) {
+			dir = path;
+			glob = "*.sql";
+		} else {
+			dir = (path.getParent() == null) ? Paths.get(".") : path.getParent();
+			glob = path.getFileName().toString();
+		}
+
+		final List<Path> inputs = new ArrayList<Path>();
+		final DirectoryStream<Path> files = Files.newDirectoryStream(dir, glob);
+		try {
+			for(final Path file : files) {
+				if(Files.isRegularFile(file)) {
+					inputs.add(file);
+				}
+			}
+		} finally {
+			files.close();
+		}
+		Collections.sort(inputs);
+		return inputs;
+	}
+
+	/**
+	 * Process the SQL files : the JSON file and the report of each SQL file are written to
+	 * the output directory, named after the SQL file without its extension, or with it when
+	 * several SQL files have the same name without extension. The SQL files with the same
+	 * file name fail, their output files would overwrite each other.
+	 * @param inputs SQL files
+	 * @param outputDir Output directory, created if it does not exist
+	 * @return Summary of the batch
+	 */
+	public Summary process(final List<Path> inputs, final Path outputDir) {
+		try {
+			Files.createDirectories(outputDir);
+		} catch (final IOException e) {
+			throw new RuntimeException(e);
+		}
+
+		final long start = System.nanoTime();
+		final Map<Path, String> names = getNames(inputs);
+		final ExecutorService workers = Executors.newFixedThreadPool(nbThreads);
+		try {
+			final List<Future<FileResult>> futures = new ArrayList<Future<FileResult>>();
+			for(final Path input : inputs) {
+				final String name = names.get(input);
+				futures.add(workers.submit(new Callable<FileResult>() {
+					@Override
+					public FileResult call() {
+						return processFile(input, name, outputDir);
+					}
+				}));
+			}
+
+			final List<FileResult> fileResults = new ArrayList<FileResult>();
+			for(int i = 0; i < futures.size(); i++) {
+				try {
+					fileResults.add(futures.get(i).get());
+				} catch (final ExecutionException e) {
+					// the error of a file does not stop the batch
+					LOG.error("Error on file {} : {}", inputs.get(i), getMessage(e.getCause()));
+					fileResults.add(new FileResult(inputs.get(i), null, new Report(), e.getCause(), 0));
+				}
+			}
+			return new Summary(fileResults, System.nanoTime() - start);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} finally {
+			workers.shutdownNow();
+		}
+	}
+
+	/**
+	 * Process a SQL file : the errors are kept in the result of the file, and the JSON file
+	 * is deleted if it is not complete.
+	 * @param input SQL file
+	 * @param name Name of the output files (null if another SQL file has the same file name)
+	 * @param outputDir Output directory
+	 * @return Result of the file
+	 */
+	private FileResult processFile(final Path input, final String name, final Path outputDir) {
+		final long start = System.nanoTime();
+		final MainProcess fileProcess = mainProcess.copy();
+		if(name == null) {
+			final Throwable error = new FileAlreadyExistsException(input.toString(), null, "another SQL file has the same name");
+			LOG.error("Error on file {} : {}", input, error.getMessage());
+			return new FileResult(input, null, fileProcess.getReport(), error, System.nanoTime() - start);
+		}
+		final Path output = outputDir.resolve(name + ((fileProcess.getFormat() == Format.NDJSON) ? ".ndjson" : ".json") + (gzip ? ".gz" : ""));
+
+		Throwable error = null;
+		try {
+			OutputStream out = Files.newOutputStream(output);
+			try {
+				if(gzip) {
+					out = new GZIPOutputStream(out, 65536);
+				}
+				if(mmap) {
+					fileProcess.processMappedFile(input, out);
+				} else {
+					fileProcess.processFile(input, out);
+				}
+			} finally {
+				out.close();
+			}
+		} catch (final Throwable e) {
+			// an Error such as StackOverflowError on a deeply nested query only fails this file
+			LOG.error("Error on file {} : {}", input, getMessage(e));
+			error = e;
+			try {
+				Files.deleteIfExists(output);
+			} catch (final IOException e2) {
+				LOG.error("Error while deleting file {} : {}", output, e2.getMessage());
+			}
+		}
+
+		// report of the file, with its error
+		try {
+			final ReportManager reportManager = new ReportManager();
+			final StringBuilder content = new StringBuilder();
+			content.append(reportManager.toString(fileProcess.getReport()));
+			if(fileProcess.getReport().getResdef() != null) {
+				content.append("\n\n==========================\n\n");
+				content.append(reportManager.toStringSchema(fileProcess.getReport()));
+			}
+			if(error != null) {
+				content.append("\n\nError : ").append(getMessage(error)).append("\n");
+			}
+			Files.write(outputDir.resolve(name + ".report.txt"), content.toString().getBytes(StandardCharsets.UTF_8));
+			if(metrics) {
+				Files.write(outputDir.resolve(name + ".metrics.json"), reportManager.toJson(fileProcess.getReport()).getBytes(StandardCharsets.UTF_8));
+			}
+		} catch (final Exception e) {
+			LOG.error("Error while writing the report of file {} : {}", input, e.getMessage());
+			if(error == null) {
+				error = e;
+			}
+		}
+
+		return new FileResult(input, (error == null) ? output : null, fileProcess.getReport(), error, System.nanoTime() - start);
+	}
+
+	/**
+	 * Return the message of an error, or its class if it has no message.
+	 * @param error Error
+	 * @return Message
+	 */
+	private static String getMessage(final Throwable error) {
+		return (error.getMessage() == null) ? error.toString() : error.getMessage();
+	}
+
+	/**
+	 * Return the names of the output files of the SQL files : the name of the SQL file
+	 * without its extension if it is unique, else the file name with its extension.
+	 * @param inputs SQL files
+	 * @return Names by SQL file, null for the SQL files with the same file name
+	 */
+	private Map<Path, String> getNames(final List<Path> inputs) {
+		final Map<String, Integer> nbBaseNames = new HashMap<String, Integer>();
+		final Map<String, Integer> nbFileNames = new HashMap<String, Integer>();
+		for(final Path input : inputs) {
+			increment(nbBaseNames, getBaseName(input));
+			increment(nbFileNames, input.getFileName().toString());
+		}
+
+		final Map<Path, String> names = new HashMap<Path, String>();
+		for(final Path input : inputs) {
+			final String fileName = input.getFileName().toString();
+			if(nbFileNames.get(fileName) > 1) {
+				names.put(input, null);
+			} else if(nbBaseNames.get(getBaseName(input)) > 1) {
+				names.put(input, fileName);
+			} else {
+				names.put(input, getBaseName(input));
+			}
+		}
+		return names;
+	}
+
+	/**
+	 * Increment the counter of a name.
+	 * @param counters Counters by name
+	 * @param name Name
+	 */
+	private void increment(final Map<String, Integer> counters, final String name) {
+		final Integer counter = counters.get(name);
+		counters.put(name, (counter == null) ? 1 : (counter + 1));
+	}
+
+	/**
+	 * Return the name of the SQL file without its extension.
+	 * @param input SQL file
+	 * @return Name
+	 */
+	private String getBaseName(final Path input) {
+		final String fileName = input.getFileName().toString();
+		final int index = fileName.lastIndexOf('.');
+		return (index > 0) ? fileName.substring(0, index) : fileName;
+	}
+
+	public int getNbThreads() {
+		return nbThreads;
+	}
+
+	/**
+	 * Set number of threads of the pool : as many files are processed at the same time.
+	 * @param nbThreads number of threads (at least 1)
+	 */
+	public void setNbThreads(final int nbThreads) {
+		this.nbThreads = nbThreads;
+	}
+
+	public boolean isMmap() {
+		return mmap;
+	}
+
+	public void setMmap(final boolean mmap) {
+		this.mmap = mmap;
+	}
+
+	public boolean isGzip() {
+		return gzip;
+	}
+
+	public void setGzip(final boolean gzip) {
+		this.gzip = gzip;
+	}
+
+	public boolean isMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Write the times of the phases and the counters of each file in JSON, to a file named
+	 * after the SQL file ([name].metrics.json).
+	 * @param metrics true to write the metrics
+	 */
+	public void setMetrics(final boolean metrics) {
+		this.metrics = metrics;
+	}
+
+}
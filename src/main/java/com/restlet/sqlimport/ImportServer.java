@@ -0,0 +1,363 @@
+package com.restlet.sqlimport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import com.restlet.sqlimport.export.ResdefToJson.Format;
+import com.restlet.sqlimport.log.Logger;
+import com.restlet.sqlimport.model.sql.Database;
+import com.restlet.sqlimport.parser.ErrorBudgetExceededException;
+import com.restlet.sqlimport.parser.SqlParserWarmUp;
+import com.restlet.sqlimport.report.Report;
+import com.restlet.sqlimport.report.ReportManager;
+import com.restlet.sqlimport.util.CountingOutputStream;
+import com.restlet.sqlimport.util.LimitedInputStream;
+import com.restlet.sqlimport.util.SizeLimitExceededException;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * HTTP service of the SQL import, on the HTTP server of the JDK : the parser stays warm
+ * from one request to the next.<br/>
+ * POST /import : the body is the SQL content encoded in UTF-8, compressed with gzip if the
+ * Content-Encoding header is gzip. The response is the JSON object with the entities and
+ * the report of the import : {"entities": [...], "report": {...}}, the entities being
+ * streamed as they are exported.<br/>
+ * GET /health : 200 while the server is running.<br/>
+ * The requests are processed by a fixed number of threads, with a bounded queue : when the
+ * queue is full, the request gets the 503 status with a Retry-After header at once, so the
+ * thread of the server which reads the connections is never blocked.
+ */
+public class ImportServer {
+
+	/**
+	 * Logger.
+	 */
+	private static final Logger LOG = Logger.getLogger(ImportServer.class);
+
+	/**
+	 * Factory of the JSON generators.
+	 */
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+	/**
+	 * Status of a request with an error budget exceeded.
+	 */
+	private static final int HTTP_UNPROCESSABLE_ENTITY = 422;
+
+	/**
+	 * Delay before retrying a request rejected because the queue is full, in seconds.
+	 */
+	private static final String RETRY_AFTER = "1";
+
+	/**
+	 * Options of the imports : each request is processed by a copy of this main process.
+	 */
+	private final MainProcess mainProcess;
+
+	/**
+	 * Port of the server (0 for any free port).
+	 */
+	private int port = 8080;
+
+	/**
+	 * Number of threads which process the requests.
+	 */
+	private int nbThreads = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * Number of requests waiting for a thread.
+	 */
+	private int queueSize = 4 * Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * Maximum size of the body of a request, and of the SQL content once uncompressed.
+	 */
+	private long maxRequestSize = 64L * 1024 * 1024;
+
+	/**
+	 * true to parse representative queries when the server starts.
+	 */
+	private boolean warmUp = true;
+
+	private HttpServer server;
+	private ThreadPoolExecutor executor;
+
+	/**
+	 * Constructor.
+	 * @param mainProcess Options of the imports
+	 */
+	public ImportServer(final MainProcess mainProcess) {
+		this.mainProcess = mainProcess;
+	}
+
+	/**
+	 * Start the server.
+	 * @throws IOException Error while opening the port
+	 */
+	public void start() throws IOException {
+		// the grammar is loaded while the server starts
+		SqlParserWarmUp.start(warmUp, mainProcess.getGrammar());
+
+		executor = new ThreadPoolExecutor(nbThreads, nbThreads, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<Runnable>(queueSize));
+
+		// the handlers are called by the thread of the server : the imports are submitted to the executor
+		server = HttpServer.create(new InetSocketAddress(port), 0);
+		server.createContext("/import", new HttpHandler() {
+			@Override
+			public void handle(final HttpExchange exchange) throws IOException {
+				submitImport(exchange);
+			}
+		});
+		server.createContext("/health", new HttpHandler() {
+			@Override
+			public void handle(final HttpExchange exchange) throws IOException {
+				sendText(exchange, HttpURLConnection.HTTP_OK, "OK");
+			}
+		});
+		server.start();
+	}
+
+	/**
+	 * Stop the server : the requests being processed are completed, then the threads which
+	 * process them are stopped.
+	 * @param delay Maximum time to wait for the requests, in seconds
+	 */
+	public void stop(final int delay) {
+		final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(delay);
+		server.stop(delay);
+		executor.shutdown();
+		try {
+			executor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Get port of the server.
+	 * @return port, the port opened once the server is started
+	 */
+	public int getPort() {
+		return (server == null) ? port : server.getAddress().getPort();
+	}
+
+	/**
+	 * Submit the import of the request to the executor, or reject it at once if the queue is full.
+	 * @param exchange Request and response
+	 * @throws IOException Error while writing the response
+	 */
+	private void submitImport(final HttpExchange exchange) throws IOException {
+		try {
+			executor.execute(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						handleImport(exchange);
+					} catch (final IOException e) {
+						LOG.error("Error on request {} : {}", exchange.getRequestURI(), e.getMessage());
+					}
+				}
+			});
+		} catch (final RejectedExecutionException e) {
+			// backpressure : the client retries later
+			exchange.getResponseHeaders().set("Retry-After", RETRY_AFTER);
+			sendText(exchange, HttpURLConnection.HTTP_UNAVAILABLE, "Server busy");
+		}
+	}
+
+	/**
+	 * Import the SQL content of the request.
+	 * @param exchange Request and response
+	 * @throws IOException Error while writing the response
+	 */
+	private void handleImport(final HttpExchange exchange) throws IOException {
+		try {
+			if(!"POST".equals(exchange.getRequestMethod())) {
+				exchange.getResponseHeaders().set("Allow", "POST");
+				sendText(exchange, HttpURLConnection.HTTP_BAD_METHOD, "Method not allowed");
+				return;
+			}
+			final long contentLength;
+			try {
+				final String contentLengthHeader = exchange.getRequestHeaders().getFirst("Content-Length");
+				contentLength = (contentLengthHeader == null) ? -1 : Long.parseLong(contentLengthHeader.trim());
+			} catch (final NumberFormatException e) {
+				sendText(exchange, HttpURLConnection.HTTP_BAD_REQUEST, "Invalid Content-Length");
+				return;
+			}
+			if(contentLength > maxRequestSize) {
+				sendText(exchange, HttpURLConnection.HTTP_ENTITY_TOO_LARGE, "Content bigger than " + maxRequestSize + " bytes");
+				return;
+			}
+
+			final MainProcess requestProcess = mainProcess.copy();
+			requestProcess.setFormat(Format.JSON);
+
+			// the whole SQL content is imported before the response starts
+			final Database database;
+			try {
+				InputStream in = new LimitedInputStream(exchange.getRequestBody(), maxRequestSize);
+				if("gzip".equalsIgnoreCase(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+					in = new LimitedInputStream(new GZIPInputStream(in, 65536), maxRequestSize);
+				}
+				database = requestProcess.readStream(in);
+			} catch (final Exception e) {
+				sendError(exchange, getStatus(e), e, requestProcess.getReport());
+				return;
+			}
+
+			exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+			exchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, 0);
+			final OutputStream out = exchange.getResponseBody();
+			out.write("{\"entities\":".getBytes(StandardCharsets.UTF_8));
+			final CountingOutputStream countingOut = new CountingOutputStream(out);
+			requestProcess.exportDatabase(database, countingOut);
+			if(countingOut.getCount() == 0) {
+				// no table
+				out.write("[]".getBytes(StandardCharsets.UTF_8));
+			}
+			out.write(",\"report\":".getBytes(StandardCharsets.UTF_8));
+			out.write(new ReportManager().toJson(requestProcess.getReport()).getBytes(StandardCharsets.UTF_8));
+			out.write('}');
+		} catch (final RuntimeException e) {
+			// the response has started : the client gets an incomplete JSON content
+			LOG.error("Error on request {} : {}", exchange.getRequestURI(), e.getMessage());
+		} finally {
+			exchange.close();
+		}
+	}
+
+	/**
+	 * Return the HTTP status of an error.
+	 * @param e Error
+	 * @return HTTP status
+	 */
+	private int getStatus(final Throwable e) {
+		for(Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if(cause instanceof SizeLimitExceededException) {
+				return HttpURLConnection.HTTP_ENTITY_TOO_LARGE;
+			}
+			if(cause instanceof ErrorBudgetExceededException) {
+				return HTTP_UNPROCESSABLE_ENTITY;
+			}
+			if(cause instanceof IOException) {
+				// content not readable, for example not compressed with gzip
+				return HttpURLConnection.HTTP_BAD_REQUEST;
+			}
+		}
+		return HttpURLConnection.HTTP_INTERNAL_ERROR;
+	}
+
+	/**
+	 * Send the error and the report of the request, in JSON.
+	 * @param exchange Request and response
+	 * @param status HTTP status
+	 * @param e Error
+	 * @param report Report of the request
+	 * @throws IOException Error while writing the response
+	 */
+	private void sendError(final HttpExchange exchange, final int status, final Throwable e, final Report report) throws IOException {
+		if(status == HttpURLConnection.HTTP_INTERNAL_ERROR) {
+			LOG.error("Error on request {} : {}", exchange.getRequestURI(), e.getMessage());
+		}
+		exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+		exchange.sendResponseHeaders(status, 0);
+		final OutputStream out = exchange.getResponseBody();
+		final JsonGenerator generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8);
+		generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		generator.writeStartObject();
+		generator.writeStringField("error", (e.getMessage() == null) ? e.toString() : e.getMessage());
+		generator.writeFieldName("report");
+		generator.writeRawValue(new ReportManager().toJson(report));
+		generator.writeEndObject();
+		generator.close();
+	}
+
+	/**
+	 * Send a text response.
+	 * @param exchange Request and response
+	 * @param status HTTP status
+	 * @param text Text
+	 * @throws IOException Error while writing the response
+	 */
+	private void sendText(final HttpExchange exchange, final int status, final String text) throws IOException {
+		final byte[] content = text.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+		exchange.sendResponseHeaders(status, content.length);
+		exchange.getResponseBody().write(content);
+		exchange.close();
+	}
+
+	public void setPort(final int port) {
+		this.port = port;
+	}
+
+	public int getNbThreads() {
+		return nbThreads;
+	}
+
+	/**
+	 * Set number of threads which process the requests : as many SQL contents are imported
+	 * at the same time.
+	 * @param nbThreads number of threads (at least 1)
+	 */
+	public void setNbThreads(final int nbThreads) {
+		this.nbThreads = nbThreads;
+	}
+
+	public int getQueueSize() {
+		return queueSize;
+	}
+
+	/**
+	 * Set number of requests waiting for a thread : beyond, the requests get the 503 status.
+	 * @param queueSize number of requests (at least 1)
+	 */
+	public void setQueueSize(final int queueSize) {
+		this.queueSize = queueSize;
+	}
+
+	public long getMaxRequestSize() {
+		return maxRequestSize;
+	}
+
+	/**
+	 * Set maximum size of the body of a request, and of the SQL content once uncompressed :
+	 * a bigger request gets the 413 status.
+	 * @param maxRequestSize size in bytes
+	 */
+	public void setMaxRequestSize(final long maxRequestSize) {
+		this.maxRequestSize = maxRequestSize;
+	}
+
+	public boolean isWarmUp() {
+		return warmUp;
+	}
+
+	/**
+	 * Parse representative queries on a background thread when the server starts, to
+	 * reduce the time of the first requests.
+	 * @param warmUp true to warm up the parser
+	 */
+	public void setWarmUp(final boolean warmUp) {
+		this.warmUp = warmUp;
+	}
+
+}
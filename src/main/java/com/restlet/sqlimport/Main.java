@@ -4,9 +4,26 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.GZIPOutputStream;
 
+import com.restlet.sqlimport.cache.ResultCache;
+import com.restlet.sqlimport.export.ResdefToJson.Format;
+import com.restlet.sqlimport.log.AsyncLogSink;
+import com.restlet.sqlimport.log.ConsoleLogSink;
+import com.restlet.sqlimport.log.Level;
+import com.restlet.sqlimport.log.Logger;
+import com.restlet.sqlimport.parser.ErrorBudget;
+import com.restlet.sqlimport.parser.GrammarProfile;
+import com.restlet.sqlimport.parser.SqlDialect;
+import com.restlet.sqlimport.parser.SqlGrammar;
+import com.restlet.sqlimport.parser.SqlParserWarmUp;
 import com.restlet.sqlimport.report.Report;
 import com.restlet.sqlimport.report.ReportManager;
+import com.restlet.sqlimport.type.SqlTypeResolver;
 import com.restlet.sqlimport.util.Util;
 
 /**
@@ -16,15 +33,114 @@ public class Main {
 
 	public static void main(final String[] args) throws FileNotFoundException {
 
-		if(args.length != 2) {
+		final List<String> arguments = new ArrayList<String>();
+		boolean mmap = false;
+		boolean parallel = false;
+		boolean warmUp = false;
+		String types = null;
+		boolean ndjson = false;
+		boolean gzip = false;
+		Level logLevel = null;
+		String metrics = null;
+		String profile = null;
+		SqlGrammar grammar = SqlGrammar.FULL;
+		SqlDialect dialect = null;
+		boolean fastLexer = false;
+		boolean parseTree = true;
+		ErrorBudget errorBudget = null;
+		boolean batch = false;
+		int nbThreads = 0;
+		int serverPort = -1;
+		long maxRequestSize = 0;
+		String cacheDir = null;
+		long cacheSize = 256L * 1024 * 1024;
+		for(final String arg : args) {
+			if("--mmap".equals(arg)) {
+				mmap = true;
+			} else if("--parallel".equals(arg)) {
+				parallel = true;
+			} else if("--warm-up".equals(arg)) {
+				warmUp = true;
+			} else if(arg.startsWith("--types=")) {
+				types = arg.substring("--types=".length());
+			} else if("--ndjson".equals(arg)) {
+				ndjson = true;
+			} else if("--gzip".equals(arg)) {
+				gzip = true;
+			} else if(arg.startsWith("--metrics=")) {
+				metrics = arg.substring("--metrics=".length());
+			} else if(arg.startsWith("--profile=")) {
+				profile = arg.substring("--profile=".length());
+			} else if(arg.startsWith("--grammar=")) {
+				grammar = SqlGrammar.valueOf(arg.substring("--grammar=".length()).toUpperCase());
+			} else if(arg.startsWith("--dialect=")) {
+				dialect = SqlDialect.valueOf(arg.substring("--dialect=".length()).toUpperCase());
+			} else if("--fast-lexer".equals(arg)) {
+				fastLexer = true;
+			} else if("--no-parse-tree".equals(arg)) {
+				parseTree = false;
+			} else if(arg.startsWith("--max-errors=")) {
+				errorBudget = ErrorBudget.valueOf(arg.substring("--max-errors=".length()));
+			} else if("--batch".equals(arg)) {
+				batch = true;
+			} else if(arg.startsWith("--threads=")) {
+				nbThreads = Integer.parseInt(arg.substring("--threads=".length()));
+			} else if(arg.startsWith("--server=")) {
+				serverPort = Integer.parseInt(arg.substring("--server=".length()));
+			} else if(arg.startsWith("--max-request-size=")) {
+				maxRequestSize = Long.parseLong(arg.substring("--max-request-size=".length()));
+			} else if(arg.startsWith("--cache=")) {
+				cacheDir = arg.substring("--cache=".length());
+			} else if(arg.startsWith("--cache-size=")) {
+				cacheSize = Long.parseLong(arg.substring("--cache-size=".length()));
+			} else if(arg.startsWith("--log=")) {
+				logLevel = Level.valueOf(arg.substring("--log=".length()).toUpperCase());
+			} else {
+				arguments.add(arg);
+			}
+		}
+
+		if((arguments.size() != 2) && (serverPort < 0)) {
 			System.out.println("Please define these two arguments :");
-			System.out.println(" 1: input file name");
-			System.out.println(" 2: output file name");
+			System.out.println(" 1: input file name (batch: directory or glob pattern such as dumps/*.sql)");
+			System.out.println(" 2: output file name (batch: output directory)");
+			System.out.println("Options :");
+			System.out.println(" --mmap: map the input file in memory instead of reading it");
+			System.out.println(" --parallel: parse the CREATE TABLE queries on all the processors");
+			System.out.println(" --warm-up: parse representative queries while the input file is read");
+			System.out.println(" --types=FILE: SQL types of the dialect converted to the Entity store types, in the properties format");
+			System.out.println(" --ndjson: write one entity per line instead of a JSON array");
+			System.out.println(" --gzip: compress the output file with gzip");
+			System.out.println(" --metrics=FILE: write the times of the phases and the counters of the import to the file, in JSON (batch: to [name].metrics.json for each SQL file)");
+			System.out.println(" --profile=FILE: profile the decisions of the grammar and write them to the file, the slowest first");
+			System.out.println(" --grammar=GRAMMAR: grammar of the parser, FULL (default) or DDL which only parses CREATE TABLE, ALTER TABLE and CREATE INDEX");
+			System.out.println(" --dialect=DIALECT: dialect of the SQL content, STANDARD, MYSQL (backslash escapes) or POSTGRESQL (nested comments), detected from the dump header by default");
+			System.out.println(" --fast-lexer: read the tokens with the hand-written lexer instead of the ANTLR lexer");
+			System.out.println(" --no-parse-tree: parse the CREATE TABLE queries with the parse listeners only, without building their parse tree");
+			System.out.println(" --max-errors=N|X%: stop the import when more than N queries, or more than X% of the parsed queries, have a parsing error");
+			System.out.println(" --batch: process all the SQL files of the input directory or pattern, with one output file and one report per SQL file");
+			System.out.println(" --threads=N: number of SQL files processed at the same time in batch mode (default: number of processors)");
+			System.out.println(" --server=PORT: instead of the files, import the SQL content POSTed to http://host:PORT/import and respond with the entities and the report in JSON");
+			System.out.println(" --max-request-size=N: maximum size in bytes of the SQL content POSTed to the server, compressed or not (default: 64 MB)");
+			System.out.println(" --cache=DIR: read the result of a SQL file already imported with the same options from the cache directory, and add the new results to it");
+			System.out.println(" --cache-size=N: maximum size in bytes of the cache directory, the results least recently used are deleted (default: 256 MB)");
+			System.out.println(" --log=LEVEL: log level (TRACE, DEBUG, INFO, WARN, ERROR or OFF), the logs are written to the error output");
 			System.exit(1);
 		}
 
-		final String input = args[0];
-		final String output = args[1];
+		if(logLevel != null) {
+			Logger.setLevel(logLevel);
+			// the parser does not wait for the console
+			Logger.setSink(new AsyncLogSink(new ConsoleLogSink()));
+		}
+
+		// the grammar is loaded while the input file is opened and read (the server loads it when it starts)
+		if(serverPort < 0) {
+			SqlParserWarmUp.start(warmUp, grammar);
+		}
+
+		final String input = (serverPort < 0) ? arguments.get(0) : null;
+		final String output = (serverPort < 0) ? arguments.get(1) : null;
 
 		final Util util = new Util();
 
@@ -32,14 +148,101 @@ public class Main {
 		OutputStream os = null;
 
 		try {
-			in = util.getInputStream(input);
-			os = util.getOutputStream(output);
-
 			final MainProcess mainProcess = new MainProcess();
+			mainProcess.setGrammar(grammar);
+			mainProcess.setFastLexer(fastLexer);
+			mainProcess.setBuildParseTree(parseTree);
+			mainProcess.setErrorBudget(errorBudget);
+			mainProcess.setDialect(dialect);
+			if(cacheDir != null) {
+				mainProcess.setResultCache(new ResultCache(Paths.get(cacheDir), cacheSize));
+			}
+			if(parallel) {
+				mainProcess.setExecutor(new ForkJoinPool());
+			}
+			if(types != null) {
+				final InputStream typesIn = util.getInputStream(types);
+				try {
+					mainProcess.setTypeResolver(SqlTypeResolver.load(typesIn));
+				} finally {
+					typesIn.close();
+				}
+			}
+
+			if(ndjson) {
+				mainProcess.setFormat(Format.NDJSON);
+			}
+			if(profile != null) {
+				mainProcess.setGrammarProfile(new GrammarProfile(grammar));
+			}
 
-			final String inputContent = util.read(in);
-			final String outputContent = mainProcess.process(inputContent);
-			util.write(outputContent, os);
+			if(serverPort >= 0) {
+				// the server runs until the JVM is stopped
+				final ImportServer importServer = new ImportServer(mainProcess);
+				importServer.setPort(serverPort);
+				if(nbThreads > 0) {
+					importServer.setNbThreads(nbThreads);
+				}
+				if(maxRequestSize > 0) {
+					importServer.setMaxRequestSize(maxRequestSize);
+				}
+				importServer.setWarmUp(warmUp);
+				importServer.start();
+				final String serverProfile = profile;
+				Runtime.getRuntime().addShutdownHook(new Thread() {
+					@Override
+					public void run() {
+						importServer.stop(5);
+						// the profile covers all the requests of the server
+						if(serverProfile != null) {
+							util.write(mainProcess.getGrammarProfile().toString(), util.getOutputStream(serverProfile));
+						}
+						Logger.getSink().close();
+					}
+				});
+				System.out.println("SQL import server listening on port " + importServer.getPort());
+				return;
+			}
+
+			if(batch) {
+				// one output file and one report per SQL file
+				final BatchProcess batchProcess = new BatchProcess(mainProcess);
+				if(nbThreads > 0) {
+					batchProcess.setNbThreads(nbThreads);
+				}
+				batchProcess.setMmap(mmap);
+				batchProcess.setGzip(gzip);
+				// the metrics of each file are written next to its report
+				batchProcess.setMetrics(metrics != null);
+				final BatchProcess.Summary summary = batchProcess.process(BatchProcess.listInputs(input), Paths.get(output));
+				System.out.println(summary);
+
+				if(profile != null) {
+					util.write(mainProcess.getGrammarProfile().toString(), util.getOutputStream(profile));
+				}
+
+				Logger.getSink().close();
+				System.exit((summary.getNbFailures() == 0) ? 0 : 1);
+			}
+
+			os = util.getOutputStream(output);
+			if(gzip) {
+				os = new GZIPOutputStream(os, 65536);
+			}
+
+			// the JSON content is written entity by entity
+			if(mmap) {
+				mainProcess.processMappedFile(Paths.get(input), os);
+			} else if(cacheDir != null) {
+				// the file is hashed before it is read
+				mainProcess.processFile(Paths.get(input), os);
+			} else {
+				in = util.getInputStream(input);
+				mainProcess.processStream(in, os);
+			}
+			// the output file is complete only once closed
+			os.close();
+			os = null;
 
 			final Report report = mainProcess.getReport();
 
@@ -48,11 +251,20 @@ public class Main {
 			System.out.println("\n\n==========================\n\n");
 			System.out.println(reportManager.toStringSchema(report));
 
+			if(metrics != null) {
+				util.write(reportManager.toJson(report), util.getOutputStream(metrics));
+			}
+			if(profile != null) {
+				util.write(mainProcess.getGrammarProfile().toString(), util.getOutputStream(profile));
+			}
+
+			Logger.getSink().close();
 			System.exit(0);
 		}
 		catch (final Exception e) {
 			System.err.println(e.getMessage());
 			System.err.println(e);
+			Logger.getSink().close();
 			System.exit(1);
 		}
 		finally {
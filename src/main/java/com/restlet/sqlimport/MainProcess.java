@@ -1,13 +1,42 @@
 package com.restlet.sqlimport;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.restlet.sqlimport.cache.ResultCache;
 import com.restlet.sqlimport.export.DatabaseToResdef;
 import com.restlet.sqlimport.export.ResdefToJson;
+import com.restlet.sqlimport.export.ResdefToJson.Format;
 import com.restlet.sqlimport.model.resdef.Resdef;
 import com.restlet.sqlimport.model.sql.Database;
+import com.restlet.sqlimport.parser.ErrorBudget;
+import com.restlet.sqlimport.parser.GrammarProfile;
+import com.restlet.sqlimport.parser.SqlDialect;
+import com.restlet.sqlimport.parser.SqlGrammar;
 import com.restlet.sqlimport.parser.SqlImport;
+import com.restlet.sqlimport.report.Phase;
 import com.restlet.sqlimport.report.Report;
+import com.restlet.sqlimport.report.ReportManager;
+import com.restlet.sqlimport.report.ReportMetrics;
 import com.restlet.sqlimport.report.ReportStatus;
+import com.restlet.sqlimport.type.SqlTypeResolver;
 import com.restlet.sqlimport.type.TypeConverter;
+import com.restlet.sqlimport.util.CountingInputStream;
+import com.restlet.sqlimport.util.CountingOutputStream;
+import com.restlet.sqlimport.util.MappedFile;
 import com.restlet.sqlimport.validation.DatabaseValidator;
 
 /**
@@ -15,19 +44,382 @@ import com.restlet.sqlimport.validation.DatabaseValidator;
  */
 public class MainProcess {
 
+	/**
+	 * Reader of the cached reports.
+	 */
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
 	/**
 	 * Report.
 	 */
 	private Report report = new Report();
 
+	/**
+	 * Executor which parses the CREATE TABLE queries in parallel (null to parse the queries
+	 * one after another).
+	 */
+	private ExecutorService executor;
+
+	/**
+	 * Resolver of the SQL types.
+	 */
+	private SqlTypeResolver typeResolver = SqlTypeResolver.getDefault();
+
+	/**
+	 * Format of the JSON content exported as a stream.
+	 */
+	private Format format = Format.JSON;
+
+	/**
+	 * Grammar of the parser.
+	 */
+	private SqlGrammar grammar = SqlGrammar.FULL;
+
+	/**
+	 * true to read the tokens with the hand-written lexer.
+	 */
+	private boolean fastLexer;
+
+	/**
+	 * false to parse the CREATE TABLE queries without building their parse tree.
+	 */
+	private boolean buildParseTree = true;
+
+	/**
+	 * Profile of the decisions of the grammar (null if the parsing is not profiled).
+	 */
+	private GrammarProfile grammarProfile;
+
+	/**
+	 * Error budget of the import (null to parse all the queries whatever the errors).
+	 */
+	private ErrorBudget errorBudget;
+
+	/**
+	 * Dialect of the SQL content (null to detect it from the beginning of the content).
+	 */
+	private SqlDialect dialect;
+
+	/**
+	 * Cache of the import results (null to import the SQL content each time).
+	 */
+	private ResultCache resultCache;
+
 	/**
 	 * Main method
 	 */
 	public String process(final String sqlContent) {
+		final String key = ((resultCache == null) || (sqlContent == null)) ? null : resultCache.getKey(getCacheOptions(Format.JSON), sqlContent);
+		final byte[] cached = getCached(key, (sqlContent == null) ? 0 : utf8Length(sqlContent));
+		if(cached != null) {
+			return (cached.length == 0) ? null : new String(cached, StandardCharsets.UTF_8);
+		}
 
 		// Load SQL file, filter and parse SQL queries
-		final SqlImport sqlImport = new SqlImport(report);
+		final SqlImport sqlImport = newSqlImport();
 		final Database database = sqlImport.getDatabase(sqlContent);
+		if(sqlContent != null) {
+			report.getMetrics().setNbBytesRead(utf8Length(sqlContent));
+		}
+
+		final String json = processDatabase(database);
+		putCached(key, json);
+		return json;
+	}
+
+	/**
+	 * Main method for SQL content read as a stream : only the query being parsed is kept
+	 * in memory.
+	 * @param in SQL content encoded in UTF-8 (the caller is responsible for closing it)
+	 * @return JSON content
+	 */
+	public String processStream(final InputStream in) {
+		return processDatabase(readStream(in));
+	}
+
+	/**
+	 * Main method for SQL content read as a stream, exported as a stream.
+	 * @param in SQL content encoded in UTF-8 (the caller is responsible for closing it)
+	 * @param out JSON content encoded in UTF-8, nothing if there is no table (the caller is responsible for closing it)
+	 */
+	public void processStream(final InputStream in, final OutputStream out) {
+		exportDatabase(readStream(in), out);
+	}
+
+	/**
+	 * Read the SQL content query by query : with {@link #exportDatabase(Database, OutputStream)},
+	 * the caller knows whether the SQL content is imported before the export starts.
+	 * @param in SQL content encoded in UTF-8 (the caller is responsible for closing it)
+	 * @return Database schema
+	 */
+	public Database readStream(final InputStream in) {
+		// Load SQL file, filter and parse SQL queries one by one
+		final SqlImport sqlImport = newSqlImport();
+		final CountingInputStream countingIn = new CountingInputStream(in);
+		final Database database = sqlImport.readDatabase(new InputStreamReader(countingIn, StandardCharsets.UTF_8));
+		report.getMetrics().setNbBytesRead(countingIn.getCount());
+		return database;
+	}
+
+	/**
+	 * Main method for SQL file read as a stream : only the query being parsed is kept
+	 * in memory.
+	 * @param path SQL file encoded in UTF-8
+	 * @return JSON content
+	 * @throws IOException Error while reading the SQL file
+	 */
+	public String processFile(final Path path) throws IOException {
+		final String key = getCacheKey(path, Format.JSON);
+		final byte[] cached = getCached(key, Files.size(path));
+		if(cached != null) {
+			return (cached.length == 0) ? null : new String(cached, StandardCharsets.UTF_8);
+		}
+		final String json = processDatabase(readFile(path));
+		putCached(key, json);
+		return json;
+	}
+
+	/**
+	 * Main method for SQL file read as a stream, exported as a stream.
+	 * @param path SQL file encoded in UTF-8
+	 * @param out JSON content encoded in UTF-8, nothing if there is no table (the caller is responsible for closing it)
+	 * @throws IOException Error while reading the SQL file
+	 */
+	public void processFile(final Path path, final OutputStream out) throws IOException {
+		final String key = getCacheKey(path, format);
+		final byte[] cached = getCached(key, Files.size(path));
+		if(cached != null) {
+			out.write(cached);
+			return;
+		}
+		exportDatabase(readFile(path), out, key);
+	}
+
+	/**
+	 * Read the SQL file query by query.
+	 * @param path SQL file encoded in UTF-8
+	 * @return Database schema
+	 * @throws IOException Error while reading the SQL file
+	 */
+	private Database readFile(final Path path) throws IOException {
+		final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+		try {
+			// Load SQL file, filter and parse SQL queries one by one
+			final SqlImport sqlImport = newSqlImport();
+			final Database database = sqlImport.readDatabase(Channels.newReader(channel, StandardCharsets.UTF_8.newDecoder(), -1));
+			report.getMetrics().setNbBytesRead(channel.size());
+			return database;
+		} finally {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Main method for SQL file mapped in memory : queries are parsed directly from the
+	 * mapped file, so the file may be bigger than the Java heap.
+	 * @param path SQL file encoded in UTF-8
+	 * @return JSON content
+	 * @throws IOException Error while mapping the SQL file
+	 */
+	public String processMappedFile(final Path path) throws IOException {
+		final String key = getCacheKey(path, Format.JSON);
+		final byte[] cached = getCached(key, Files.size(path));
+		if(cached != null) {
+			return (cached.length == 0) ? null : new String(cached, StandardCharsets.UTF_8);
+		}
+		final String json = processDatabase(readMappedFile(path));
+		putCached(key, json);
+		return json;
+	}
+
+	/**
+	 * Main method for SQL file mapped in memory, exported as a stream.
+	 * @param path SQL file encoded in UTF-8
+	 * @param out JSON content encoded in UTF-8, nothing if there is no table (the caller is responsible for closing it)
+	 * @throws IOException Error while mapping the SQL file
+	 */
+	public void processMappedFile(final Path path, final OutputStream out) throws IOException {
+		final String key = getCacheKey(path, format);
+		final byte[] cached = getCached(key, Files.size(path));
+		if(cached != null) {
+			out.write(cached);
+			return;
+		}
+		exportDatabase(readMappedFile(path), out, key);
+	}
+
+	/**
+	 * Read the mapped SQL file query by query.
+	 * @param path SQL file encoded in UTF-8
+	 * @return Database schema
+	 * @throws IOException Error while mapping the SQL file
+	 */
+	private Database readMappedFile(final Path path) throws IOException {
+		final MappedFile mappedFile = new MappedFile(path);
+
+		// Filter and parse SQL queries one by one
+		final SqlImport sqlImport = newSqlImport();
+		final Database database = sqlImport.readDatabase(mappedFile);
+		report.getMetrics().setNbBytesRead(mappedFile.length());
+		return database;
+	}
+
+	/**
+	 * Return the options of the import which change its result, part of the key of the cache.
+	 * @param outputFormat Format of the JSON content written : the methods which return the
+	 * JSON content always write a JSON array
+	 * @return Options
+	 */
+	private String getCacheOptions(final Format outputFormat) {
+		return "grammar=" + grammar + ",dialect=" + dialect + ",format=" + outputFormat + ",errorBudget=" + errorBudget + ",types=" + typeResolver.getTypes();
+	}
+
+	/**
+	 * Return the key of the SQL file in the result cache.
+	 * @param path SQL file
+	 * @param outputFormat Format of the JSON content written
+	 * @return Key (null if there is no result cache)
+	 * @throws IOException Error while reading the SQL file
+	 */
+	private String getCacheKey(final Path path, final Format outputFormat) throws IOException {
+		return (resultCache == null) ? null : resultCache.getKey(getCacheOptions(outputFormat), path);
+	}
+
+	/**
+	 * Return the result of the import from the result cache, and fill the report with the
+	 * cached report.
+	 * @param key Key of the SQL content
+	 * @param nbBytesRead Size of the SQL content
+	 * @return JSON content, empty if there is no table (null if the result is not in the cache)
+	 */
+	private byte[] getCached(final String key, final long nbBytesRead) {
+		if(key == null) {
+			return null;
+		}
+		final ResultCache.Entry entry = resultCache.get(key);
+		if(entry == null) {
+			return null;
+		}
+		final JsonNode cachedReport;
+		try {
+			cachedReport = OBJECT_MAPPER.readTree(entry.getReport());
+		} catch (final IOException e) {
+			throw new RuntimeException(e);
+		}
+		report.setCached(true);
+		report.setDatabase(new Database());
+		report.setReportStatus(ReportStatus.valueOf(cachedReport.get("status").asText()));
+		report.setNbCreatedEntity(cachedReport.get("entities").asInt());
+		report.setNbLlFallbacks(cachedReport.get("llFallbacks").asInt());
+		report.getMetrics().setNbBytesRead(nbBytesRead);
+		report.getMetrics().setNbBytesWritten(entry.getContent().length);
+		return entry.getContent();
+	}
+
+	/**
+	 * Add the result of the import to the result cache.
+	 * @param key Key of the SQL content (null if there is no result cache)
+	 * @param json JSON content (null if there is no table)
+	 */
+	private void putCached(final String key, final String json) {
+		putCached(key, (json == null) ? new byte[0] : json.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Add the result of the import to the result cache.
+	 * @param key Key of the SQL content (null if there is no result cache)
+	 * @param content JSON content encoded in UTF-8, empty if there is no table
+	 */
+	private void putCached(final String key, final byte[] content) {
+		if((key != null) && (report.getReportStatus() != null)) {
+			resultCache.put(key, content, new ReportManager().toJson(report));
+		}
+	}
+
+	/**
+	 * Convert the database schema and export it to JSON, and add the JSON content to the
+	 * result cache : the JSON content is kept in memory to be added.
+	 * @param database Database schema
+	 * @param out JSON content encoded in UTF-8
+	 * @param key Key of the SQL content (null if there is no result cache)
+	 * @throws IOException Error while writing the JSON content
+	 */
+	private void exportDatabase(final Database database, final OutputStream out, final String key) throws IOException {
+		if(key == null) {
+			exportDatabase(database, out);
+			return;
+		}
+		final ByteArrayOutputStream content = new ByteArrayOutputStream();
+		exportDatabase(database, content);
+		content.writeTo(out);
+		putCached(key, content.toByteArray());
+	}
+
+	/**
+	 * Return the SQL importer.
+	 * @return SQL importer
+	 */
+	private SqlImport newSqlImport() {
+		final SqlImport sqlImport = new SqlImport(report);
+		sqlImport.setExecutor(executor);
+		sqlImport.setGrammar(grammar);
+		sqlImport.setFastLexer(fastLexer);
+		sqlImport.setBuildParseTree(buildParseTree);
+		sqlImport.setGrammarProfile(grammarProfile);
+		sqlImport.setErrorBudget(errorBudget);
+		sqlImport.setDialect(dialect);
+		return sqlImport;
+	}
+
+	/**
+	 * Convert the database schema and export it to JSON.
+	 * @param database Database schema
+	 * @return JSON content
+	 */
+	private String processDatabase(final Database database) {
+		final Resdef resdef = convertDatabase(database);
+		if(resdef == null) {
+			return null;
+		}
+
+		// Export to JSON
+		final ReportMetrics.Timer timer = report.getMetrics().start(Phase.SERIALIZE);
+		final ResdefToJson resdefToJson = new ResdefToJson();
+		final String json = resdefToJson.resdefToJson(resdef);
+		timer.stop();
+		report.getMetrics().setNbBytesWritten(utf8Length(json));
+		report.setReportStatus(ReportStatus.SUCCESS);
+
+		return json;
+	}
+
+	/**
+	 * Convert the database schema and export it to JSON, entity by entity.
+	 * @param database Database schema
+	 * @param out JSON content encoded in UTF-8, nothing if there is no table (the caller is responsible for closing it)
+	 */
+	public void exportDatabase(final Database database, final OutputStream out) {
+		final Resdef resdef = convertDatabase(database);
+		if(resdef == null) {
+			return;
+		}
+
+		// Export to JSON
+		final ReportMetrics.Timer timer = report.getMetrics().start(Phase.SERIALIZE);
+		final CountingOutputStream countingOut = new CountingOutputStream(out);
+		final ResdefToJson resdefToJson = new ResdefToJson();
+		resdefToJson.write(resdef, countingOut, format);
+		timer.stop();
+		report.getMetrics().setNbBytesWritten(countingOut.getCount());
+		report.setReportStatus(ReportStatus.SUCCESS);
+	}
+
+	/**
+	 * Convert the database schema.
+	 * @param database Database schema
+	 * @return Resdef (null if there is no table)
+	 */
+	private Resdef convertDatabase(final Database database) {
 
 		if((database == null) || database.getTables().isEmpty()) {
 			// Empty database
@@ -36,27 +428,72 @@ public class MainProcess {
 		}
 
 		// Convert SQL types to Entity store types
-		final TypeConverter typeConverter = new TypeConverter(report);
+		ReportMetrics.Timer timer = report.getMetrics().start(Phase.CONVERT);
+		final TypeConverter typeConverter = new TypeConverter(report, typeResolver);
 		typeConverter.convertTypeFromSQLToEntityStore(database);
+		timer.stop();
 
 		// Database schema validator
+		timer = report.getMetrics().start(Phase.VALIDATE);
 		final DatabaseValidator databaseValidator = new DatabaseValidator(report);
 		databaseValidator.validateDatabase(database);
+		timer.stop();
 
 		// Convert to Resdef bean
+		timer = report.getMetrics().start(Phase.MAP);
 		final DatabaseToResdef databaseToResdef = new DatabaseToResdef();
 		final Resdef resdef = databaseToResdef.databaseToResdef(database);
 		report.setResdef(resdef);
-
-		// Export to JSON
-		final ResdefToJson resdefToJson = new ResdefToJson();
-		final String json = resdefToJson.resdefToJson(resdef);
-		report.setReportStatus(ReportStatus.SUCCESS);
+		timer.stop();
 
 		// Summary
 		report.setNbCreatedEntity(database.getTables().size());
 
-		return json;
+		return resdef;
+	}
+
+	/**
+	 * Return the number of bytes of the content encoded in UTF-8, without encoding it.
+	 * @param content Content
+	 * @return Number of bytes
+	 */
+	private static long utf8Length(final CharSequence content) {
+		long length = 0;
+		for(int i = 0; i < content.length(); i++) {
+			final char c = content.charAt(i);
+			if(c < 0x80) {
+				length++;
+			} else if(c < 0x800) {
+				length += 2;
+			} else if(Character.isHighSurrogate(c)) {
+				// surrogate pair : 4 bytes for the two characters
+				length += 4;
+				i++;
+			} else {
+				length += 3;
+			}
+		}
+		return length;
+	}
+
+	/**
+	 * Return a main process with the same options and a new report : for example to process
+	 * the files of a batch with the options of the batch.
+	 * @return Main process
+	 */
+	public MainProcess copy() {
+		final MainProcess mainProcess = new MainProcess();
+		mainProcess.setExecutor(executor);
+		mainProcess.setTypeResolver(typeResolver);
+		mainProcess.setFormat(format);
+		mainProcess.setGrammar(grammar);
+		mainProcess.setFastLexer(fastLexer);
+		mainProcess.setBuildParseTree(buildParseTree);
+		mainProcess.setGrammarProfile(grammarProfile);
+		mainProcess.setErrorBudget(errorBudget);
+		mainProcess.setDialect(dialect);
+		mainProcess.setResultCache(resultCache);
+		return mainProcess;
 	}
 
 	/**
@@ -71,4 +508,131 @@ public class MainProcess {
 		this.report = report;
 	}
 
+	public ExecutorService getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * Set executor which parses the CREATE TABLE queries in parallel.
+	 * @param executor executor (null to parse the queries one after another)
+	 */
+	public void setExecutor(final ExecutorService executor) {
+		this.executor = executor;
+	}
+
+	public Format getFormat() {
+		return format;
+	}
+
+	/**
+	 * Set format of the JSON content exported as a stream.
+	 * @param format format
+	 */
+	public void setFormat(final Format format) {
+		this.format = format;
+	}
+
+	public SqlGrammar getGrammar() {
+		return grammar;
+	}
+
+	/**
+	 * Set grammar of the parser : the DDL grammar is faster, but it reports the queries which
+	 * are not CREATE TABLE, ALTER TABLE or CREATE INDEX as syntax errors.
+	 * @param grammar grammar (must not be null)
+	 */
+	public void setGrammar(final SqlGrammar grammar) {
+		this.grammar = grammar;
+	}
+
+	public boolean isFastLexer() {
+		return fastLexer;
+	}
+
+	/**
+	 * Read the tokens with the hand-written lexer instead of the ANTLR lexer.
+	 * @param fastLexer true to read the tokens with the hand-written lexer
+	 */
+	public void setFastLexer(final boolean fastLexer) {
+		this.fastLexer = fastLexer;
+	}
+
+	public boolean isBuildParseTree() {
+		return buildParseTree;
+	}
+
+	/**
+	 * Build the parse tree of the CREATE TABLE queries, or fill the database schema only with
+	 * the parse listeners.
+	 * @param buildParseTree false to parse the CREATE TABLE queries without parse tree
+	 */
+	public void setBuildParseTree(final boolean buildParseTree) {
+		this.buildParseTree = buildParseTree;
+	}
+
+	public GrammarProfile getGrammarProfile() {
+		return grammarProfile;
+	}
+
+	/**
+	 * Set profile of the decisions of the grammar, filled by the parsing.
+	 * @param grammarProfile profile (null to parse without profiling)
+	 */
+	public void setGrammarProfile(final GrammarProfile grammarProfile) {
+		this.grammarProfile = grammarProfile;
+	}
+
+	public ErrorBudget getErrorBudget() {
+		return errorBudget;
+	}
+
+	/**
+	 * Set error budget of the import : the import stops as soon as the queries with a parsing
+	 * error exceed the budget.
+	 * @param errorBudget error budget (null to parse all the queries whatever the errors)
+	 */
+	public void setErrorBudget(final ErrorBudget errorBudget) {
+		this.errorBudget = errorBudget;
+	}
+
+	public SqlDialect getDialect() {
+		return dialect;
+	}
+
+	/**
+	 * Set dialect of the SQL content : backslash escapes in the quoted values for MySQL,
+	 * nested comments for PostgreSQL.
+	 * @param dialect dialect (null to detect it from the beginning of the content)
+	 */
+	public void setDialect(final SqlDialect dialect) {
+		this.dialect = dialect;
+	}
+
+	public ResultCache getResultCache() {
+		return resultCache;
+	}
+
+	/**
+	 * Set cache of the import results : a SQL file or content already imported with the same
+	 * options is not imported again, its JSON content and its report are read from the cache.
+	 * The SQL content read as a stream is not cached.
+	 * @param resultCache result cache (null to import the SQL content each time)
+	 */
+	public void setResultCache(final ResultCache resultCache) {
+		this.resultCache = resultCache;
+	}
+
+	public SqlTypeResolver getTypeResolver() {
+		return typeResolver;
+	}
+
+	/**
+	 * Set resolver of the SQL types : for example the SQL types of a dialect loaded with
+	 * {@link SqlTypeResolver#load(InputStream)}.
+	 * @param typeResolver resolver
+	 */
+	public void setTypeResolver(final SqlTypeResolver typeResolver) {
+		this.typeResolver = typeResolver;
+	}
+
 }
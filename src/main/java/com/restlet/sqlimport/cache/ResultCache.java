@@ -0,0 +1,417 @@
+package com.restlet.sqlimport.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.zip.CRC32;
+
+import com.restlet.sqlimport.log.Logger;
+
+/**
+ * Cache of the import results in a local directory, addressed by the SHA-256 hash of the
+ * SQL content, of the version of the importer and of the options of the import.<br/>
+ * An entry is one file : the JSON content, the report, then their sizes and their CRC32.
+ * It is written to a temporary file, synced and moved to its name in one atomic step, so
+ * an entry is complete or absent; an entry which does not match its sizes or its CRC32 is
+ * deleted and read as a miss.<br/>
+ * The entries read are touched : once the cache is bigger than its maximum size, the
+ * entries least recently used are deleted.
+ */
+public class ResultCache {
+
+	/**
+	 * Logger.
+	 */
+	private static final Logger LOG = Logger.getLogger(ResultCache.class);
+
+	/**
+	 * Extension of the entries.
+	 */
+	private static final String ENTRY_EXTENSION = ".entry";
+
+	/**
+	 * Extension of the entries being written.
+	 */
+	private static final String TMP_EXTENSION = ".tmp";
+
+	/**
+	 * Size of the end of an entry : size of the content, size of the report and CRC32.
+	 */
+	private static final int TRAILER_SIZE = 8 + 8 + 8;
+
+	/**
+	 * Age of the temporary files of the imports which stopped before the end of the writing, in milliseconds.
+	 */
+	private static final long TMP_MAX_AGE = 60L * 60 * 1000;
+
+	/**
+	 * Version of the importer : the entries of the other versions are not read.
+	 */
+	private static final String VERSION = loadVersion();
+
+	/**
+	 * Entry of the cache.
+	 */
+	public static class Entry {
+
+		private final byte[] content;
+		private final String report;
+
+		/**
+		 * Constructor.
+		 * @param content JSON content
+		 * @param report Report in JSON
+		 */
+		private Entry(final byte[] content, final String report) {
+			this.content = content;
+			this.report = report;
+		}
+
+		/**
+		 * Get JSON content.
+		 * @return content encoded in UTF-8, empty if there is no table
+		 */
+		public byte[] getContent() {
+			return content;
+		}
+
+		/**
+		 * Get report.
+		 * @return report in JSON
+		 */
+		public String getReport() {
+			return report;
+		}
+	}
+
+	/**
+	 * Directory of the entries.
+	 */
+	private final Path dir;
+
+	/**
+	 * Maximum size of the entries, in bytes.
+	 */
+	private final long maxSize;
+
+	/**
+	 * Constructor.
+	 * @param dir Directory of the entries, created if it does not exist
+	 * @param maxSize Maximum size of the entries, in bytes
+	 */
+	public ResultCache(final Path dir, final long maxSize) {
+		this.dir = dir;
+		this.maxSize = maxSize;
+		try {
+			Files.createDirectories(dir);
+		} catch (final IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Return the version of the importer.
+	 * @return Version
+	 */
+	public static String getVersion() {
+		return VERSION;
+	}
+
+	/**
+	 * Load the version of the importer, written by the build.
+	 * @return Version
+	 */
+	private static String loadVersion() {
+		final Properties properties = new Properties();
+		final InputStream in = ResultCache.class.getResourceAsStream("version.properties");
+		if(in != null) {
+			try {
+				try {
+					properties.load(in);
+				} finally {
+					in.close();
+				}
+			} catch (final IOException e) {
+				throw new RuntimeException(e);
+			}
+		}
+		return properties.getProperty("version", "unknown");
+	}
+
+	/**
+	 * Return the key of a SQL file.
+	 * @param options Options of the import which change its result
+	 * @param path SQL file
+	 * @return Key
+	 * @throws IOException Error while reading the SQL file
+	 */
+	public String getKey(final String options, final Path path) throws IOException {
+		final MessageDigest digest = newDigest(options);
+		final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+		try {
+			final ByteBuffer buffer = ByteBuffer.allocate(65536);
+			while(channel.read(buffer) != -1) {
+				buffer.flip();
+				digest.update(buffer);
+				buffer.clear();
+			}
+		} finally {
+			channel.close();
+		}
+		return toHex(digest.digest());
+	}
+
+	/**
+	 * Return the key of a SQL content.
+	 * @param options Options of the import which change its result
+	 * @param content SQL content
+	 * @return Key
+	 */
+	public String getKey(final String options, final String content) {
+		final MessageDigest digest = newDigest(options);
+		digest.update(content.getBytes(StandardCharsets.UTF_8));
+		return toHex(digest.digest());
+	}
+
+	/**
+	 * Return the digest of the key, with the version and the options.
+	 * @param options Options of the import
+	 * @return Digest
+	 */
+	private MessageDigest newDigest(final String options) {
+		try {
+			final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update((VERSION + "\n" + options + "\n").getBytes(StandardCharsets.UTF_8));
+			return digest;
+		} catch (final NoSuchAlgorithmException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Return the hexadecimal value of the hash.
+	 * @param hash Hash
+	 * @return Hexadecimal value
+	 */
+	private String toHex(final byte[] hash) {
+		final StringBuilder hex = new StringBuilder(hash.length * 2);
+		for(final byte b : hash) {
+			hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+		return hex.toString();
+	}
+
+	/**
+	 * Return the entry of the key.
+	 * @param key Key
+	 * @return Entry (null if there is no valid entry)
+	 */
+	public Entry get(final String key) {
+		final Path path = dir.resolve(key + ENTRY_EXTENSION);
+		final byte[] bytes;
+		try {
+			bytes = Files.readAllBytes(path);
+		} catch (final NoSuchFileException e) {
+			return null;
+		} catch (final IOException e) {
+			LOG.warn("Cache entry {} not readable : {}", path, e.getMessage());
+			return null;
+		}
+
+		final Entry entry = read(bytes);
+		if(entry == null) {
+			LOG.warn("Cache entry {} corrupted : deleted", path);
+			delete(path);
+			return null;
+		}
+
+		// least recently used entries are evicted first
+		try {
+			Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+		} catch (final IOException e) {
+			// evicted meanwhile
+		}
+		return entry;
+	}
+
+	/**
+	 * Read an entry.
+	 * @param bytes Content of the entry file
+	 * @return Entry (null if the entry is corrupted)
+	 */
+	private Entry read(final byte[] bytes) {
+		if(bytes.length < TRAILER_SIZE) {
+			return null;
+		}
+		final ByteBuffer trailer = ByteBuffer.wrap(bytes, bytes.length - TRAILER_SIZE, TRAILER_SIZE);
+		final long contentSize = trailer.getLong();
+		final long reportSize = trailer.getLong();
+		final long crc = trailer.getLong();
+		if((contentSize < 0) || (reportSize < 0) || (contentSize + reportSize + TRAILER_SIZE != bytes.length)) {
+			return null;
+		}
+		final CRC32 crc32 = new CRC32();
+		crc32.update(bytes, 0, bytes.length - TRAILER_SIZE);
+		if(crc32.getValue() != crc) {
+			return null;
+		}
+		final byte[] content = new byte[(int) contentSize];
+		System.arraycopy(bytes, 0, content, 0, content.length);
+		return new Entry(content, new String(bytes, content.length, (int) reportSize, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Add the entry of the key, then evict the entries least recently used if the cache is
+	 * too big. An error is logged, the import does not fail because of its cache.
+	 * @param key Key
+	 * @param content JSON content encoded in UTF-8, empty if there is no table
+	 * @param report Report in JSON
+	 */
+	public void put(final String key, final byte[] content, final String report) {
+		final byte[] reportBytes = report.getBytes(StandardCharsets.UTF_8);
+		final CRC32 crc32 = new CRC32();
+		crc32.update(content);
+		crc32.update(reportBytes);
+		final ByteBuffer trailer = ByteBuffer.allocate(TRAILER_SIZE);
+		trailer.putLong(content.length).putLong(reportBytes.length).putLong(crc32.getValue());
+		trailer.flip();
+
+		Path tmp = null;
+		try {
+			tmp = Files.createTempFile(dir, key, TMP_EXTENSION);
+			final FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE);
+			try {
+				writeFully(channel, ByteBuffer.wrap(content));
+				writeFully(channel, ByteBuffer.wrap(reportBytes));
+				writeFully(channel, trailer);
+				channel.force(true);
+			} finally {
+				channel.close();
+			}
+			final Path path = dir.resolve(key + ENTRY_EXTENSION);
+			try {
+				Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (final AtomicMoveNotSupportedException e) {
+				Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+			}
+			tmp = null;
+		} catch (final IOException e) {
+			LOG.warn("Cache entry {} not written : {}", key, e.getMessage());
+		} finally {
+			if(tmp != null) {
+				delete(tmp);
+			}
+		}
+
+		evict();
+	}
+
+	/**
+	 * Write the whole buffer.
+	 * @param channel File
+	 * @param buffer Buffer
+	 * @throws IOException Error while writing the file
+	 */
+	private void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+		while(buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+	/**
+	 * Delete the entries least recently used until the cache is not bigger than its maximum
+	 * size, and the temporary files of the imports which stopped.
+	 */
+	public synchronized void evict() {
+		final List<Path> entries = new ArrayList<Path>();
+		final Map<Path, BasicFileAttributes> attributes = new HashMap<Path, BasicFileAttributes>();
+		long size = 0;
+		try {
+			final DirectoryStream<Path> files = Files.newDirectoryStream(dir);
+			try {
+				for(final Path file : files) {
+					final BasicFileAttributes fileAttributes;
+					try {
+						fileAttributes = Files.readAttributes(file, BasicFileAttributes.class);
+					} catch (final IOException e) {
+						// deleted meanwhile
+						continue;
+					}
+					final String fileName = file.getFileName().toString();
+					if(fileName.endsWith(ENTRY_EXTENSION)) {
+						entries.add(file);
+						attributes.put(file, fileAttributes);
+						size += fileAttributes.size();
+					} else if(fileName.endsWith(TMP_EXTENSION)
+							&& (fileAttributes.lastModifiedTime().toMillis() < System.currentTimeMillis() - TMP_MAX_AGE)) {
+						delete(file);
+					}
+				}
+			} finally {
+				files.close();
+			}
+		} catch (final IOException e) {
+			LOG.warn("Cache directory {} not readable : {}", dir, e.getMessage());
+			return;
+		}
+		if(size <= maxSize) {
+			return;
+		}
+
+		// the least recently used first
+		Collections.sort(entries, new Comparator<Path>() {
+			@Override
+			public int compare(final Path entry1, final Path entry2) {
+				return attributes.get(entry1).lastModifiedTime().compareTo(attributes.get(entry2).lastModifiedTime());
+			}
+		});
+		for(final Path entry : entries) {
+			if(size <= maxSize) {
+				break;
+			}
+			delete(entry);
+			size -= attributes.get(entry).size();
+		}
+	}
+
+	/**
+	 * Delete a file of the cache.
+	 * @param path File
+	 */
+	private void delete(final Path path) {
+		try {
+			Files.deleteIfExists(path);
+		} catch (final IOException e) {
+			LOG.warn("Cache file {} not deleted : {}", path, e.getMessage());
+		}
+	}
+
+	public Path getDir() {
+		return dir;
+	}
+
+	public long getMaxSize() {
+		return maxSize;
+	}
+
+}
@@ -1,11 +1,15 @@
 package com.restlet.sqlimport.export;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.restlet.sqlimport.model.resdef.Entity;
 import com.restlet.sqlimport.model.resdef.Resdef;
 
 /**
@@ -13,27 +17,74 @@ import com.restlet.sqlimport.model.resdef.Resdef;
  */
 public class ResdefToJson {
 
+	/**
+	 * Output format.
+	 */
+	public enum Format {
+		/**
+		 * JSON array of the entities.
+		 */
+		JSON,
+		/**
+		 * Newline delimited JSON : one entity per line.
+		 */
+		NDJSON
+	}
+
+	/**
+	 * Mapper shared by all the exports : it is thread-safe once configured.
+	 */
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+		// Escape null entries
+		.setSerializationInclusion(Include.NON_NULL);
+
+	/**
+	 * Writer of the entities : the output stream is flushed only at the end of the export.
+	 */
+	private static final ObjectWriter OBJECT_WRITER = OBJECT_MAPPER.writer()
+		.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
 	/**
 	 * Convert Resdef to JSON.
 	 * @param resdef Resdef
 	 * @return Json content
 	 */
 	public String resdefToJson(final Resdef resdef) {
-		final ObjectMapper objectMapper = new ObjectMapper();
-
-		// Indent JSON
-		//objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
-
-		// Escape null entries
-		objectMapper.setSerializationInclusion(Include.NON_NULL);
+		try {
+			return OBJECT_WRITER.writeValueAsString(resdef.getEntities());
+		} catch (final IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
 
-		final OutputStream out = new ByteArrayOutputStream();
+	/**
+	 * Write Resdef as JSON in UTF-8 to the output stream, entity by entity.
+	 * @param resdef Resdef
+	 * @param out Output stream (the caller is responsible for closing it)
+	 * @param format Output format
+	 */
+	public void write(final Resdef resdef, final OutputStream out, final Format format) {
 		try {
-			objectMapper.writeValue(out, resdef.getEntities());
+			final JsonGenerator generator = OBJECT_MAPPER.getFactory().createGenerator(out, JsonEncoding.UTF8);
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			if(format == Format.NDJSON) {
+				// entities are separated by new lines instead of spaces
+				generator.setRootValueSeparator(null);
+				for(final Entity entity : resdef.getEntities()) {
+					OBJECT_WRITER.writeValue(generator, entity);
+					generator.writeRaw('\n');
+				}
+			} else {
+				generator.writeStartArray();
+				for(final Entity entity : resdef.getEntities()) {
+					OBJECT_WRITER.writeValue(generator, entity);
+				}
+				generator.writeEndArray();
+			}
+			generator.close();
 		} catch (final IOException e) {
 			throw new RuntimeException(e);
 		}
-		return out.toString();
 	}
 
 }
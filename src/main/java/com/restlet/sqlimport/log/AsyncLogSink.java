@@ -0,0 +1,144 @@
+package com.restlet.sqlimport.log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Log messages stored in a bounded ring buffer and written to another sink by a background
+ * thread : the threads which log never wait for the console. When the buffer is full, the
+ * messages are dropped and counted.
+ */
+public class AsyncLogSink implements LogSink {
+
+	/**
+	 * Default number of messages of the buffer.
+	 */
+	private static final int DEFAULT_CAPACITY = 8192;
+
+	/**
+	 * Maximum number of messages written to the sink at once.
+	 */
+	private static final int BATCH_SIZE = 256;
+
+	/**
+	 * Log message.
+	 */
+	private static final class Event {
+		private final Level level;
+		private final String loggerName;
+		private final String message;
+
+		private Event(final Level level, final String loggerName, final String message) {
+			this.level = level;
+			this.loggerName = loggerName;
+			this.message = message;
+		}
+	}
+
+	/**
+	 * Sink of the messages.
+	 */
+	private final LogSink sink;
+
+	/**
+	 * Ring buffer of the messages.
+	 */
+	private final BlockingQueue<Event> buffer;
+
+	/**
+	 * Number of messages dropped because the buffer was full.
+	 */
+	private final AtomicLong nbDroppedMessages = new AtomicLong();
+
+	/**
+	 * Thread which writes the messages to the sink.
+	 */
+	private final Thread writer;
+
+	/**
+	 * Indicates if the sink is closed.
+	 */
+	private volatile boolean closed = false;
+
+	/**
+	 * Constructor.
+	 * @param sink Sink of the messages
+	 */
+	public AsyncLogSink(final LogSink sink) {
+		this(sink, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructor.
+	 * @param sink Sink of the messages
+	 * @param capacity Number of messages of the buffer
+	 */
+	public AsyncLogSink(final LogSink sink, final int capacity) {
+		this.sink = sink;
+		this.buffer = new ArrayBlockingQueue<Event>(capacity);
+		this.writer = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				writeEvents();
+			}
+		}, "log-writer");
+		this.writer.setDaemon(true);
+		this.writer.start();
+	}
+
+	@Override
+	public void write(final Level level, final String loggerName, final String message) {
+		if(closed || !buffer.offer(new Event(level, loggerName, message))) {
+			nbDroppedMessages.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Write the messages of the buffer to the sink until the sink is closed.
+	 */
+	private void writeEvents() {
+		final List<Event> events = new ArrayList<Event>(BATCH_SIZE);
+		try {
+			while(!closed || !buffer.isEmpty()) {
+				final Event event = buffer.poll(100, TimeUnit.MILLISECONDS);
+				if(event != null) {
+					events.add(event);
+					buffer.drainTo(events, BATCH_SIZE - 1);
+					for(final Event e : events) {
+						sink.write(e.level, e.loggerName, e.message);
+					}
+					events.clear();
+				}
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+		try {
+			writer.join();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if(nbDroppedMessages.get() > 0) {
+			sink.write(Level.WARN, AsyncLogSink.class.getName(), nbDroppedMessages.get() + " log messages dropped");
+		}
+		sink.close();
+	}
+
+	/**
+	 * Get number of messages dropped because the buffer was full.
+	 * @return number of messages
+	 */
+	public long getNbDroppedMessages() {
+		return nbDroppedMessages.get();
+	}
+
+}
@@ -0,0 +1,40 @@
+package com.restlet.sqlimport.log;
+
+import java.io.PrintStream;
+
+/**
+ * Log messages written to the standard error stream.
+ */
+public class ConsoleLogSink implements LogSink {
+
+	/**
+	 * Stream.
+	 */
+	private final PrintStream out;
+
+	/**
+	 * Constructor : messages are written to the standard error stream.
+	 */
+	public ConsoleLogSink() {
+		this(System.err);
+	}
+
+	/**
+	 * Constructor.
+	 * @param out Stream
+	 */
+	public ConsoleLogSink(final PrintStream out) {
+		this.out = out;
+	}
+
+	@Override
+	public void write(final Level level, final String loggerName, final String message) {
+		out.println(level + " [" + loggerName + "] " + message);
+	}
+
+	@Override
+	public void close() {
+		out.flush();
+	}
+
+}
@@ -0,0 +1,31 @@
+package com.restlet.sqlimport.log;
+
+/**
+ * Log level, from the most detailed to the least detailed.
+ */
+public enum Level {
+	/**
+	 * ANTLR contexts of the parsed tokens.
+	 */
+	TRACE,
+	/**
+	 * Parsed queries.
+	 */
+	DEBUG,
+	/**
+	 * Steps of the import.
+	 */
+	INFO,
+	/**
+	 * Syntax errors of the queries.
+	 */
+	WARN,
+	/**
+	 * Errors which stop the import.
+	 */
+	ERROR,
+	/**
+	 * No log.
+	 */
+	OFF
+}
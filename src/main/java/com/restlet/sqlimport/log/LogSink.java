@@ -0,0 +1,21 @@
+package com.restlet.sqlimport.log;
+
+/**
+ * Destination of the log messages.
+ */
+public interface LogSink {
+
+	/**
+	 * Write a log message : it may be called by several threads.
+	 * @param level Level
+	 * @param loggerName Name of the logger
+	 * @param message Message
+	 */
+	void write(Level level, String loggerName, String message);
+
+	/**
+	 * Write the pending log messages and release the resources of the sink.
+	 */
+	void close();
+
+}
@@ -0,0 +1,135 @@
+package com.restlet.sqlimport.log;
+
+/**
+ * Logger : the level and the sink are shared by all the loggers.<br/>
+ * A message is built only if its level is enabled : the arguments of the message replace its
+ * "{}" when it is written. The calls of the hot paths are guarded by {@link #isEnabled(Level)},
+ * so that nothing is computed when the level is disabled.
+ */
+public final class Logger {
+
+	/**
+	 * Level of the loggers : it is set at startup, so it is not volatile.
+	 */
+	private static Level level = Level.WARN;
+
+	/**
+	 * Sink of the loggers.
+	 */
+	private static volatile LogSink sink = new ConsoleLogSink();
+
+	/**
+	 * Name.
+	 */
+	private final String name;
+
+	/**
+	 * Constructor.
+	 * @param name Name
+	 */
+	private Logger(final String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Return the logger of the class.
+	 * @param type Class
+	 * @return Logger
+	 */
+	public static Logger getLogger(final Class<?> type) {
+		return new Logger(type.getSimpleName());
+	}
+
+	/**
+	 * Indicates if the messages of the level are written.
+	 * @param messageLevel Level of the messages
+	 * @return boolean
+	 */
+	public boolean isEnabled(final Level messageLevel) {
+		return messageLevel.ordinal() >= level.ordinal();
+	}
+
+	public boolean isTraceEnabled() {
+		return isEnabled(Level.TRACE);
+	}
+
+	public boolean isDebugEnabled() {
+		return isEnabled(Level.DEBUG);
+	}
+
+	public void trace(final String message, final Object... args) {
+		if(isEnabled(Level.TRACE)) {
+			write(Level.TRACE, message, args);
+		}
+	}
+
+	public void debug(final String message, final Object... args) {
+		if(isEnabled(Level.DEBUG)) {
+			write(Level.DEBUG, message, args);
+		}
+	}
+
+	public void info(final String message, final Object... args) {
+		if(isEnabled(Level.INFO)) {
+			write(Level.INFO, message, args);
+		}
+	}
+
+	public void warn(final String message, final Object... args) {
+		if(isEnabled(Level.WARN)) {
+			write(Level.WARN, message, args);
+		}
+	}
+
+	public void error(final String message, final Object... args) {
+		if(isEnabled(Level.ERROR)) {
+			write(Level.ERROR, message, args);
+		}
+	}
+
+	/**
+	 * Write the message to the sink.
+	 * @param messageLevel Level of the message
+	 * @param message Message with a "{}" for each argument
+	 * @param args Arguments
+	 */
+	private void write(final Level messageLevel, final String message, final Object... args) {
+		final StringBuilder out = new StringBuilder(message.length() + 64);
+		int start = 0;
+		for(final Object arg : args) {
+			final int index = message.indexOf("{}", start);
+			if(index == -1) {
+				break;
+			}
+			out.append(message, start, index).append(arg);
+			start = index + 2;
+		}
+		out.append(message, start, message.length());
+		sink.write(messageLevel, name, out.toString());
+	}
+
+	public static Level getLevel() {
+		return level;
+	}
+
+	/**
+	 * Set level of the loggers.
+	 * @param level level
+	 */
+	public static void setLevel(final Level level) {
+		Logger.level = level;
+	}
+
+	public static LogSink getSink() {
+		return sink;
+	}
+
+	/**
+	 * Set sink of the loggers : the previous sink is not closed.
+	 * @param sink sink
+	 */
+	public static void setSink(final LogSink sink) {
+		Logger.sink = sink;
+	}
+
+}
@@ -1,25 +1,219 @@
 package com.restlet.sqlimport.model.sql;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * Database
  */
 public class Database {
 
+	/**
+	 * Rule to compare the table names.
+	 */
+	public enum NameCase {
+		/**
+		 * Names are compared ignoring case (as most databases do for unquoted names).
+		 */
+		IGNORE_CASE,
+		/**
+		 * Names are compared exactly (as MySQL does for table names on Linux).
+		 */
+		EXACT
+	}
+
 	/**
 	 * Tables
 	 */
 	private List<Table> tables = new ArrayList<Table>();
 
+	/**
+	 * Rule to compare the table names.
+	 */
+	private NameCase nameCase = NameCase.IGNORE_CASE;
+
+	/**
+	 * Tables by normalized name : by name and by schema-qualified name.
+	 */
+	private final Map<String, Table> tableByNames = new HashMap<String, Table>();
+
+	/**
+	 * Tables list indexed in {@link #tableByNames}.
+	 */
+	private List<Table> indexedTables;
+
+	/**
+	 * Number of tables of the list indexed in {@link #tableByNames} : tables added directly
+	 * to the list are indexed at the next search.
+	 */
+	private int nbIndexedTables = 0;
+
+	/**
+	 * Add a table.
+	 * @param table Table (its name must be defined)
+	 */
+	public void addTable(final Table table) {
+		syncIndex();
+		tables.add(table);
+		index(table);
+		nbIndexedTables++;
+	}
+
+	/**
+	 * Return the table for the name, in constant time.<br/>
+	 * The name may be qualified by the schema (SYSTEM.TABLE1) and quoted ("SYSTEM"."TABLE1"
+	 * or `users`). A name which is not qualified matches the first table with this name,
+	 * whatever its schema. A qualified name which matches no table matches the table with the
+	 * same name and no schema.
+	 * @param tableName Table name
+	 * @return Table (null if not found)
+	 */
 	public Table getTableForName(final String tableName) {
-		for(final Table table : tables) {
-			if(table.getName().equalsIgnoreCase(tableName)) {
+		if(tableName == null) {
+			return null;
+		}
+		final List<String> parts = splitName(tableName);
+		final String name = parts.get(parts.size() - 1);
+		final String schemaName = (parts.size() > 1) ? parts.get(parts.size() - 2) : null;
+
+		syncIndex();
+		Table table = findTable(schemaName, name);
+		if(table == null) {
+			return null;
+		}
+		if(!isNamed(table, schemaName, name)) {
+			// the table was renamed after it was indexed
+			rebuildIndex();
+			table = findTable(schemaName, name);
+		}
+		return table;
+	}
+
+	/**
+	 * Search the table in the index.
+	 * @param schemaName Schema name (null if the name is not qualified)
+	 * @param name Table name
+	 * @return Table (null if not found)
+	 */
+	private Table findTable(final String schemaName, final String name) {
+		if(schemaName != null) {
+			final Table table = tableByNames.get(getKey(schemaName, name));
+			if(table != null) {
 				return table;
 			}
+			final Table tableWithoutSchema = tableByNames.get(getKey(null, name));
+			if((tableWithoutSchema != null) && (tableWithoutSchema.getSchemaName() == null)) {
+				return tableWithoutSchema;
+			}
+			return null;
 		}
-		return null;
+		return tableByNames.get(getKey(null, name));
+	}
+
+	/**
+	 * Indicates if the table has this name.
+	 * @param table Table
+	 * @param schemaName Schema name (null if the name is not qualified)
+	 * @param name Table name
+	 * @return boolean
+	 */
+	private boolean isNamed(final Table table, final String schemaName, final String name) {
+		if(!getKey(null, name).equals(getKey(null, table.getName()))) {
+			return false;
+		}
+		return (schemaName == null) || (table.getSchemaName() == null)
+				|| getKey(null, schemaName).equals(getKey(null, table.getSchemaName()));
+	}
+
+	/**
+	 * Index the tables added directly to the list of tables.
+	 */
+	private void syncIndex() {
+		if((indexedTables != tables) || (nbIndexedTables > tables.size())) {
+			rebuildIndex();
+			return;
+		}
+		while(nbIndexedTables < tables.size()) {
+			index(tables.get(nbIndexedTables));
+			nbIndexedTables++;
+		}
+	}
+
+	/**
+	 * Index all the tables again.
+	 */
+	private void rebuildIndex() {
+		tableByNames.clear();
+		indexedTables = tables;
+		nbIndexedTables = 0;
+		syncIndex();
+	}
+
+	/**
+	 * Index the table : the first table with a name is kept.
+	 * @param table Table
+	 */
+	private void index(final Table table) {
+		if((table == null) || (table.getName() == null)) {
+			return;
+		}
+		final String key = getKey(null, table.getName());
+		if(!tableByNames.containsKey(key)) {
+			tableByNames.put(key, table);
+		}
+		if(table.getSchemaName() != null) {
+			final String qualifiedKey = getKey(table.getSchemaName(), table.getName());
+			if(!tableByNames.containsKey(qualifiedKey)) {
+				tableByNames.put(qualifiedKey, table);
+			}
+		}
+	}
+
+	/**
+	 * Return the key of the name in the index.
+	 * @param schemaName Schema name (null if the name is not qualified)
+	 * @param name Table name
+	 * @return Key
+	 */
+	private String getKey(final String schemaName, final String name) {
+		final String key = (schemaName == null) ? name : (schemaName + '.' + name);
+		if(nameCase == NameCase.IGNORE_CASE) {
+			return key.toLowerCase(Locale.ROOT);
+		}
+		return key;
+	}
+
+	/**
+	 * Split the qualified name on the dots which are not quoted, and remove the quotes.
+	 * @param qualifiedName Qualified name
+	 * @return Parts of the name
+	 */
+	static List<String> splitName(final String qualifiedName) {
+		final List<String> parts = new ArrayList<String>(2);
+		final StringBuilder part = new StringBuilder();
+		char closingQuote = 0;
+		for(int i = 0; i < qualifiedName.length(); i++) {
+			final char c = qualifiedName.charAt(i);
+			if(closingQuote != 0) {
+				if(c == closingQuote) {
+					closingQuote = 0;
+				} else {
+					part.append(c);
+				}
+			} else if((c == '"') || (c == '`')) {
+				closingQuote = c;
+			} else if(c == '.') {
+				parts.add(part.toString());
+				part.setLength(0);
+			} else {
+				part.append(c);
+			}
+		}
+		parts.add(part.toString());
+		return parts;
 	}
 
 	public List<Table> getTables() {
@@ -30,4 +224,13 @@ public class Database {
 		this.tables = tables;
 	}
 
+	public NameCase getNameCase() {
+		return nameCase;
+	}
+
+	public void setNameCase(final NameCase nameCase) {
+		this.nameCase = nameCase;
+		indexedTables = null;
+	}
+
 }
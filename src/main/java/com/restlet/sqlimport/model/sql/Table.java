@@ -1,6 +1,7 @@
 package com.restlet.sqlimport.model.sql;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -14,6 +15,10 @@ public class Table {
 	 * name
 	 */
 	private String name;
+	/**
+	 * Schema name (null if the name is not qualified)
+	 */
+	private String schemaName;
 	/**
 	 * Columns by names
 	 */
@@ -25,25 +30,99 @@ public class Table {
 	/**
 	 * Foreign keys
 	 */
-	private List<ForeignKey> foreignKeys = new ArrayList<ForeignKey>();
+	private final ForeignKeyList foreignKeys = new ForeignKeyList();
+
+	/**
+	 * Foreign keys with only one column by the name of the column in the origin table :
+	 * the first foreign key of the column is kept.
+	 */
+	private final Map<String,ForeignKey> foreignKeyByColumnNameOrigins = new HashMap<String,ForeignKey>();
+	/**
+	 * Foreign keys with more than one column in the origin or in the foreign table
+	 */
+	private final List<ForeignKey> compositeForeignKeys = new ArrayList<ForeignKey>();
+	/**
+	 * Number of modifications of the foreign keys list when it was indexed (-1 if it is not indexed)
+	 */
+	private int indexedModCount = -1;
+
+	/**
+	 * List of the foreign keys which counts its modifications, to index it again when it changes.
+	 */
+	private static class ForeignKeyList extends ArrayList<ForeignKey> {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public ForeignKey set(final int index, final ForeignKey foreignKey) {
+			// a replaced element is a modification of the index
+			modCount++;
+			return super.set(index, foreignKey);
+		}
+
+		private int getModCount() {
+			return modCount;
+		}
+	}
+
+	/**
+	 * Add a foreign key.
+	 * @param foreignKey Foreign key
+	 */
+	public void addForeignKey(final ForeignKey foreignKey) {
+		foreignKeys.add(foreignKey);
+	}
 
 	/**
-	 * Get the foreign key which corresponding to the column.
+	 * Get the foreign key which corresponding to the column, in constant time.
 	 * @param column Column
 	 * @return Foreign key (null if not found)
 	 */
 	public ForeignKey getForeignKeyForColumnNameOrigin(final Column column) {
-		for(final ForeignKey foreignKey : getForeignKeys()) {
-			// We ignore foreign keys with more than one column
-			if(foreignKey.getColumnNameOrigins().size() == 1) {
-				for(final String columnNameOrigin : foreignKey.getColumnNameOrigins()) {
-					if(column.getName().equals(columnNameOrigin)) {
-						return foreignKey;
-					}
-				}
+		// We ignore foreign keys with more than one column
+		syncForeignKeysIndex();
+		return foreignKeyByColumnNameOrigins.get(column.getName());
+	}
+
+	/**
+	 * Get the foreign keys with more than one column in the origin or in the foreign table.
+	 * @return Foreign keys
+	 */
+	public List<ForeignKey> getCompositeForeignKeys() {
+		syncForeignKeysIndex();
+		return Collections.unmodifiableList(compositeForeignKeys);
+	}
+
+	/**
+	 * Index the foreign keys again if the list changed since it was indexed : the columns of
+	 * the foreign keys must be defined before the first search which follows their addition.
+	 */
+	private void syncForeignKeysIndex() {
+		if(indexedModCount == foreignKeys.getModCount()) {
+			return;
+		}
+		foreignKeyByColumnNameOrigins.clear();
+		compositeForeignKeys.clear();
+		for(final ForeignKey foreignKey : foreignKeys) {
+			index(foreignKey);
+		}
+		indexedModCount = foreignKeys.getModCount();
+	}
+
+	/**
+	 * Index the foreign key.
+	 * @param foreignKey Foreign key
+	 */
+	private void index(final ForeignKey foreignKey) {
+		if(foreignKey.getColumnNameOrigins().size() == 1) {
+			final String columnNameOrigin = foreignKey.getColumnNameOrigins().get(0);
+			if(!foreignKeyByColumnNameOrigins.containsKey(columnNameOrigin)) {
+				foreignKeyByColumnNameOrigins.put(columnNameOrigin, foreignKey);
 			}
 		}
-		return null;
+		if((foreignKey.getColumnNameOrigins().size() > 1) || (foreignKey.getColumnNameTargets().size() > 1)) {
+			compositeForeignKeys.add(foreignKey);
+		}
 	}
 
 	public String getName() {
@@ -54,6 +133,14 @@ public class Table {
 		this.name = name;
 	}
 
+	public String getSchemaName() {
+		return schemaName;
+	}
+
+	public void setSchemaName(final String schemaName) {
+		this.schemaName = schemaName;
+	}
+
 	public Map<String, Column> getColumnByNames() {
 		return columnByNames;
 	}
@@ -74,8 +161,16 @@ public class Table {
 		return foreignKeys;
 	}
 
+	/**
+	 * Replace the foreign keys : they are copied to the list of the table, which stays the
+	 * list returned by {@link #getForeignKeys()}.
+	 * @param foreignKeys Foreign keys
+	 */
 	public void setForeignKeys(final List<ForeignKey> foreignKeys) {
-		this.foreignKeys = foreignKeys;
+		// copy : the list may be the foreign keys of this table
+		final List<ForeignKey> newForeignKeys = new ArrayList<ForeignKey>(foreignKeys);
+		this.foreignKeys.clear();
+		this.foreignKeys.addAll(newForeignKeys);
 	}
 
 }
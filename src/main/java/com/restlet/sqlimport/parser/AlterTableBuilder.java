@@ -0,0 +1,122 @@
+package com.restlet.sqlimport.parser;
+
+import com.restlet.sqlimport.model.sql.Database;
+import com.restlet.sqlimport.model.sql.ForeignKey;
+import com.restlet.sqlimport.model.sql.Table;
+import com.restlet.sqlimport.util.Util;
+
+/**
+ * Fill the database schema from the rules of an ALTER TABLE statement : the parse listeners
+ * of the full grammar and of the DDL grammar call it with the text of their contexts.
+ */
+class AlterTableBuilder {
+
+	/**
+	 * Database schema
+	 */
+	private final Database database;
+
+	private Table table;
+	private String schemaName;
+	private ForeignKey foreignKey;
+
+	private boolean inAlter_table_stmt = false; // ALTER TABLE
+	private boolean inTable_constraint_primary_key = false; // PRIMARY KEY in ALTER TABLE
+	private boolean inTable_constraint_foreign_key = false; // FOREIGN KEY in ALTER TABLE
+
+	/**
+	 * Utils methods.
+	 */
+	private final Util util = new Util();
+
+	/**
+	 * Constructor.
+	 * @param database Database
+	 */
+	AlterTableBuilder(final Database database) {
+		this.database = database;
+	}
+
+	//--- ALTER TABLE
+
+	void enterAlterTable() {
+		inAlter_table_stmt = true;
+	}
+
+	void exitAlterTable() {
+		inAlter_table_stmt = false;
+	}
+
+	/**
+	 * Schema name of the table : the caller checks that the name is the one of the ALTER TABLE statement.
+	 * @param text Schema name as written in the query
+	 */
+	void schemaName(final String text) {
+		if(inAlter_table_stmt) {
+			schemaName = text;
+		}
+	}
+
+	void sourceTableName(final String text) {
+		if(inAlter_table_stmt) {
+			// the quotes are removed by the database
+			final String tableName = (schemaName == null) ? text : (schemaName + "." + text);
+			table = database.getTableForName(tableName);
+		}
+	}
+
+	//--- Primary Key in ALTER TABLE
+
+	void enterTablePrimaryKey() {
+		inTable_constraint_primary_key = true;
+	}
+
+	void exitTablePrimaryKey() {
+		inTable_constraint_primary_key = false;
+	}
+
+	void indexedColumn(final String text) {
+		if(inAlter_table_stmt && inTable_constraint_primary_key) {
+			final String columnName = util.unformatSqlName(text);
+			table.getPrimaryKey().getColumnNames().add(columnName);
+		}
+	}
+
+	//--- Foreign Key in ALTER TABLE
+
+	void enterTableForeignKey() {
+		inTable_constraint_foreign_key = true;
+		if(inAlter_table_stmt) {
+			foreignKey = new ForeignKey();
+			foreignKey.setTableNameOrigin(table.getName());
+		}
+	}
+
+	void exitTableForeignKey() {
+		if(inAlter_table_stmt) {
+			foreignKey.setTableNameOrigin(table.getName());
+			table.addForeignKey(foreignKey);
+			foreignKey = null;
+		}
+		inTable_constraint_foreign_key = false;
+	}
+
+	void foreignTable(final String text) {
+		if(inTable_constraint_foreign_key) {
+			foreignKey.setTableNameTarget(util.unformatSqlName(text));
+		}
+	}
+
+	void fkOriginColumnName(final String text) {
+		if(inTable_constraint_foreign_key) {
+			foreignKey.getColumnNameOrigins().add(util.unformatSqlName(text));
+		}
+	}
+
+	void fkTargetColumnName(final String text) {
+		if(inTable_constraint_foreign_key) {
+			foreignKey.getColumnNameTargets().add(util.unformatSqlName(text));
+		}
+	}
+
+}
@@ -0,0 +1,109 @@
+package com.restlet.sqlimport.parser;
+
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.IntStream;
+import org.antlr.v4.runtime.misc.Interval;
+
+/**
+ * ANTLR character stream which reads the characters of a query directly, without copying
+ * them as {@link org.antlr.v4.runtime.ANTLRInputStream} does.
+ */
+public class CharSequenceCharStream implements CharStream {
+
+	/**
+	 * Characters.
+	 */
+	private final CharSequence data;
+
+	/**
+	 * Number of characters.
+	 */
+	private final int size;
+
+	/**
+	 * Position of the next character to read.
+	 */
+	private int index = 0;
+
+	/**
+	 * Constructor.
+	 * @param data Characters
+	 */
+	public CharSequenceCharStream(final CharSequence data) {
+		this.data = data;
+		this.size = data.length();
+	}
+
+	@Override
+	public void consume() {
+		if(index >= size) {
+			throw new IllegalStateException("cannot consume EOF");
+		}
+		index++;
+	}
+
+	@Override
+	public int LA(final int i) {
+		if(i == 0) {
+			return 0; // undefined
+		}
+		final int pos = (i < 0) ? (index + i) : (index + i - 1);
+		if((pos < 0) || (pos >= size)) {
+			return IntStream.EOF;
+		}
+		return data.charAt(pos);
+	}
+
+	@Override
+	public int mark() {
+		return -1;
+	}
+
+	@Override
+	public void release(final int marker) {
+	}
+
+	@Override
+	public int index() {
+		return index;
+	}
+
+	@Override
+	public void seek(final int index) {
+		this.index = Math.min(index, size);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public String getSourceName() {
+		return IntStream.UNKNOWN_SOURCE_NAME;
+	}
+
+	@Override
+	public String getText(final Interval interval) {
+		final int start = interval.a;
+		final int stop = Math.min(interval.b, size - 1);
+		if((start >= size) || (stop < start)) {
+			return "";
+		}
+		return data.subSequence(start, stop + 1).toString();
+	}
+
+	/**
+	 * Get characters : they are read directly by {@link FastSqlLexer}.
+	 * @return characters
+	 */
+	CharSequence getData() {
+		return data;
+	}
+
+	@Override
+	public String toString() {
+		return data.toString();
+	}
+
+}
@@ -0,0 +1,48 @@
+package com.restlet.sqlimport.parser;
+
+import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenStream;
+
+/**
+ * Text of the contexts of the parse listeners, with or without parse tree.
+ */
+final class ContextText {
+
+	private ContextText() {
+	}
+
+	/**
+	 * Return the text of the context, as {@link ParserRuleContext#getText()} : the tokens of
+	 * the context without the hidden tokens. When the parser does not build the parse tree,
+	 * the context has no children and the tokens are read from the token stream, from the
+	 * start token to the stop token of the context.
+	 * @param parser Parser
+	 * @param ctx Context
+	 * @return Text
+	 */
+	static String getText(final Parser parser, final ParserRuleContext ctx) {
+		if(parser.getBuildParseTree()) {
+			return ctx.getText();
+		}
+		if((ctx.start == null) || (ctx.stop == null)) {
+			return "";
+		}
+		final int start = ctx.start.getTokenIndex();
+		final int stop = ctx.stop.getTokenIndex();
+		if(stop <= start) {
+			return (stop == start) ? ctx.start.getText() : "";
+		}
+		final TokenStream tokens = parser.getTokenStream();
+		final StringBuilder text = new StringBuilder();
+		for(int i = start; i <= stop; i++) {
+			final Token token = tokens.get(i);
+			if(token.getChannel() == Token.DEFAULT_CHANNEL) {
+				text.append(token.getText());
+			}
+		}
+		return text.toString();
+	}
+
+}
@@ -0,0 +1,242 @@
+package com.restlet.sqlimport.parser;
+
+import com.restlet.sqlimport.model.sql.Column;
+import com.restlet.sqlimport.model.sql.Database;
+import com.restlet.sqlimport.model.sql.ForeignKey;
+import com.restlet.sqlimport.model.sql.Table;
+import com.restlet.sqlimport.util.Util;
+
+/**
+ * Fill the database schema from the rules of a CREATE TABLE statement : the parse listeners
+ * of the full grammar and of the DDL grammar call it with the text of their contexts.
+ */
+class CreateTableBuilder {
+
+	/**
+	 * Database schema
+	 */
+	private final Database database;
+
+	private Table table;
+	private Column column;
+	private ForeignKey foreignKey;
+
+	/** Positions */
+	private boolean inCreateTable = false; // CREATE TABLE
+	private boolean inColumnDef = false; // Column definition
+	private boolean inTypeName = false; // Column type in the column definition
+	private boolean inTable_constraint_primary_key = false; // PRIMARY KEY
+
+	/**
+	 * Utils methods.
+	 */
+	private final Util util = new Util();
+
+	/**
+	 * Constructor.
+	 * @param database Database
+	 */
+	CreateTableBuilder(final Database database) {
+		this.database = database;
+	}
+
+	//--- CREATE TABLE
+
+	/**
+	 * enter CREATE TABLE
+	 */
+	void enterCreateTable() {
+		inCreateTable = true;
+		table = new Table();
+	}
+
+	/**
+	 * exit CREATE TABLE
+	 */
+	void exitCreateTable() {
+		database.addTable(table);
+		table = null;
+		inCreateTable = false;
+	}
+
+	/**
+	 * Table name
+	 * @param text Table name as written in the query
+	 */
+	void tableName(final String text) {
+		if(inCreateTable) {
+			table.setName(util.unformatSqlName(text));
+		}
+	}
+
+	/**
+	 * Schema name of the table : the caller checks that the name is the one of the CREATE TABLE statement.
+	 * @param text Schema name as written in the query
+	 */
+	void schemaName(final String text) {
+		if(inCreateTable) {
+			table.setSchemaName(util.unformatSqlName(text));
+		}
+	}
+
+	//--- Column definition
+
+	/**
+	 * enter Column definition
+	 */
+	void enterColumnDef() {
+		inColumnDef = true;
+		if(inCreateTable) {
+			column = new Column();
+		}
+	}
+
+	/**
+	 * exit Column definition
+	 */
+	void exitColumnDef() {
+		if(inCreateTable) {
+			if((column != null) && (column.getName() != null)) {
+				table.getColumnByNames().put(column.getName(), column);
+			}
+			column = null;
+		}
+		inColumnDef = false;
+	}
+
+	/**
+	 * Column name
+	 * @param text Column name as written in the query
+	 */
+	void columnName(final String text) {
+		if(inCreateTable && inColumnDef) {
+			column.setName(util.unformatSqlName(text));
+		}
+	}
+
+	//--- Column type
+
+	/**
+	 * enter Column type
+	 */
+	void enterTypeName() {
+		inTypeName = true;
+	}
+
+	/**
+	 * exit column type
+	 */
+	void exitTypeName() {
+		inTypeName = false;
+	}
+
+	/**
+	 * Name. It could be : <br/>
+	 * - type name
+	 * @param text Name as written in the query
+	 */
+	void name(final String text) {
+		if(inCreateTable && inColumnDef && inTypeName) {
+			if(column.getType() == null) {
+				column.setType(util.unformatSqlName(text));
+			} else {
+				column.setType(column.getType() + " " + util.unformatSqlName(text));
+			}
+		}
+	}
+
+	//--- Constraints
+
+	//--- Default
+
+	void columnDefaultValue(final String text) {
+		if(inCreateTable && inColumnDef) {
+			column.setDefaultValue(util.unformatSqlName(text));
+		}
+	}
+
+	//--- Not Null
+
+	void columnNotNull() {
+		if(inCreateTable && inColumnDef) {
+			column.setIsNotNull(true);
+		}
+	}
+
+	//--- Primary Key in Column definition
+
+	void columnPrimaryKey() {
+		if(inCreateTable && inColumnDef) {
+			table.getPrimaryKey().getColumnNames().add(column.getName());
+		}
+	}
+
+	//--- Primary Key in CREATE TABLE
+
+	void enterTablePrimaryKey() {
+		inTable_constraint_primary_key = true;
+	}
+
+	void exitTablePrimaryKey() {
+		inTable_constraint_primary_key = false;
+	}
+
+	void indexedColumn(final String text) {
+		if(inCreateTable && inTable_constraint_primary_key) {
+			final String columnName = util.unformatSqlName(text);
+			table.getPrimaryKey().getColumnNames().add(columnName);
+		}
+	}
+
+	//--- Foreign Key in CREATE TABLE
+
+	void enterTableForeignKey() {
+		if(inCreateTable) {
+			foreignKey = new ForeignKey();
+			foreignKey.setTableNameOrigin(table.getName());
+		}
+	}
+
+	void exitTableForeignKey() {
+		if(inCreateTable) {
+			foreignKey.setTableNameOrigin(table.getName());
+			table.addForeignKey(foreignKey);
+			foreignKey = null;
+		}
+	}
+
+	void enterForeignKeyClause() {
+		if(inCreateTable && inColumnDef) {
+			foreignKey = new ForeignKey();
+			foreignKey.setTableNameOrigin(table.getName());
+			foreignKey.getColumnNameOrigins().add(column.getName());
+		}
+	}
+
+	void exitForeignKeyClause() {
+		if(inCreateTable && inColumnDef) {
+			foreignKey.setTableNameOrigin(table.getName());
+			table.addForeignKey(foreignKey);
+			foreignKey = null;
+		}
+	}
+
+	void foreignTable(final String text) {
+		if(inCreateTable) {
+			foreignKey.setTableNameTarget(util.unformatSqlName(text));
+		}
+	}
+
+	void fkOriginColumnName(final String text) {
+		if(foreignKey != null) {
+			foreignKey.getColumnNameOrigins().add(util.unformatSqlName(text));
+		}
+	}
+
+	void fkTargetColumnName(final String text) {
+		if(inCreateTable) {
+			foreignKey.getColumnNameTargets().add(util.unformatSqlName(text));
+		}
+	}
+
+}
@@ -1,9 +1,9 @@
 package com.restlet.sqlimport.parser;
 
-import com.restlet.sqlimport.model.sql.Column;
+import org.antlr.v4.runtime.ParserRuleContext;
+
+import com.restlet.sqlimport.log.Logger;
 import com.restlet.sqlimport.model.sql.Database;
-import com.restlet.sqlimport.model.sql.ForeignKey;
-import com.restlet.sqlimport.model.sql.Table;
 import com.restlet.sqlimport.parser.SqlParser.Any_nameContext;
 import com.restlet.sqlimport.parser.SqlParser.Column_constraint_not_nullContext;
 import com.restlet.sqlimport.parser.SqlParser.Column_constraint_primary_keyContext;
@@ -11,6 +11,7 @@ import com.restlet.sqlimport.parser.SqlParser.Column_defContext;
 import com.restlet.sqlimport.parser.SqlParser.Column_default_valueContext;
 import com.restlet.sqlimport.parser.SqlParser.Column_nameContext;
 import com.restlet.sqlimport.parser.SqlParser.Create_table_stmtContext;
+import com.restlet.sqlimport.parser.SqlParser.Database_nameContext;
 import com.restlet.sqlimport.parser.SqlParser.Fk_origin_column_nameContext;
 import com.restlet.sqlimport.parser.SqlParser.Fk_target_column_nameContext;
 import com.restlet.sqlimport.parser.SqlParser.Foreign_key_clauseContext;
@@ -22,7 +23,6 @@ import com.restlet.sqlimport.parser.SqlParser.Table_constraint_primary_keyContex
 import com.restlet.sqlimport.parser.SqlParser.Table_nameContext;
 import com.restlet.sqlimport.parser.SqlParser.Type_nameContext;
 import com.restlet.sqlimport.parser.SqlParser.UnknownContext;
-import com.restlet.sqlimport.util.Util;
 
 /**
  * Parse Listener only for CREATE TABLE statements parsing.
@@ -30,9 +30,9 @@ import com.restlet.sqlimport.util.Util;
 public class CreateTableParseListener extends SqlBaseListener {
 
 	/**
-	 * Debug mode to display ANTLR v4 contexts.
+	 * Logger : the ANTLR v4 contexts are displayed at the TRACE level.
 	 */
-	private static boolean DEBUG = true;
+	private static final Logger LOG = Logger.getLogger(CreateTableParseListener.class);
 
 	/**
 	 * ANTLR Parser
@@ -40,25 +40,9 @@ public class CreateTableParseListener extends SqlBaseListener {
 	private final SqlParser sqlParser;
 
 	/**
-	 * Database schema
+	 * Database schema builder
 	 */
-	private final Database database;
-
-	private Table table;
-	private Column column;
-	private ForeignKey foreignKey;
-
-	/** Positions */
-	private boolean inCreateTable = false; // CREATE TABLE
-	private boolean inColumnDef = false; // Column definition
-	private boolean inTypeName = false; // Column type in the column definition
-	private boolean inTable_constraint_primary_key = false; // PRIMARY KEY
-	private boolean inTable_constraint_foreign_key = false; // FOREIGN KEY
-
-	/**
-	 * Utils methods.
-	 */
-	Util util = new Util();
+	private final CreateTableBuilder builder;
 
 	/**
 	 * Constructor.
@@ -67,7 +51,16 @@ public class CreateTableParseListener extends SqlBaseListener {
 	 */
 	public CreateTableParseListener(final SqlParser sqlParser, final Database database) {
 		this.sqlParser = sqlParser;
-		this.database = database;
+		this.builder = new CreateTableBuilder(database);
+	}
+
+	/**
+	 * Text of the context : read from the tokens when the parse tree is not built.
+	 * @param ctx Context
+	 * @return Text
+	 */
+	private String getText(final ParserRuleContext ctx) {
+		return ContextText.getText(sqlParser, ctx);
 	}
 
 	/**
@@ -75,234 +68,153 @@ public class CreateTableParseListener extends SqlBaseListener {
 	 */
 	@Override
 	public void exitAny_name(final Any_nameContext ctx) {
-		if(DEBUG) {
-			System.out.println(ctx.getText() + " - ctx : " + ctx.toInfoString(sqlParser));
+		if(LOG.isTraceEnabled()) {
+			LOG.trace("{} - ctx : {}", getText(ctx), ctx.toInfoString(sqlParser));
 		}
 	}
 
 	@Override
 	public void exitUnknown(final UnknownContext ctx) {
-		if(DEBUG) {
-			System.out.println(ctx.getText() + " - ctx : " + ctx.toInfoString(sqlParser));
+		if(LOG.isTraceEnabled()) {
+			LOG.trace("{} - ctx : {}", getText(ctx), ctx.toInfoString(sqlParser));
 		}
 	}
 
 	//--- CREATE TABLE
 
-	/**
-	 * enter CREATE TABLE
-	 */
 	@Override
 	public void enterCreate_table_stmt(final Create_table_stmtContext ctx) {
-		inCreateTable = true;
-		table = new Table();
+		builder.enterCreateTable();
 	}
 
-	/**
-	 * exit CREATE TABLE
-	 */
 	@Override
 	public void exitCreate_table_stmt(final Create_table_stmtContext ctx) {
-		database.getTables().add(table);
-		table = null;
-		inCreateTable = false;
+		builder.exitCreateTable();
 	}
 
-	/**
-	 * Table name
-	 */
 	@Override
 	public void exitTable_name(final Table_nameContext ctx) {
-		if(inCreateTable) {
-			table.setName(util.unformatSqlName(ctx.getText()));
+		builder.tableName(getText(ctx));
+	}
+
+	@Override
+	public void exitDatabase_name(final Database_nameContext ctx) {
+		if(ctx.getParent() instanceof Create_table_stmtContext) {
+			builder.schemaName(getText(ctx));
 		}
 	}
 
 	//--- Column definition
 
-	/**
-	 * enter Column definition
-	 */
 	@Override
 	public void enterColumn_def(final Column_defContext ctx) {
-		inColumnDef = true;
-		if(inCreateTable) {
-			column = new Column();
-		}
+		builder.enterColumnDef();
 	}
 
-	/**
-	 * exit Column definition
-	 */
 	@Override
 	public void exitColumn_def(final Column_defContext ctx) {
-		if(inCreateTable) {
-			if((column != null) && (column.getName() != null)) {
-				table.getColumnByNames().put(column.getName(), column);
-			}
-			column = null;
-		}
-		inColumnDef = false;
+		builder.exitColumnDef();
 	}
 
-	/**
-	 * Column name
-	 */
 	@Override
 	public void exitColumn_name(final Column_nameContext ctx) {
-		if(inCreateTable && inColumnDef) {
-			column.setName(util.unformatSqlName(ctx.getText()));
-		}
+		builder.columnName(getText(ctx));
 	}
 
 	//--- Column type
 
-	/**
-	 * enter Column type
-	 */
 	@Override
 	public void enterType_name(final Type_nameContext ctx) {
-		inTypeName = true;
+		builder.enterTypeName();
 	}
 
-	/**
-	 * exit column type
-	 */
 	@Override
 	public void exitType_name(final Type_nameContext ctx) {
-		inTypeName = false;
+		builder.exitTypeName();
 	}
 
-	/**
-	 * Name. It could be : <br/>
-	 * - type name
-	 */
 	@Override
 	public void exitName(final NameContext ctx) {
-		if(inCreateTable && inColumnDef && inTypeName) {
-			if(column.getType() == null) {
-				column.setType(util.unformatSqlName(ctx.getText()));
-			} else {
-				column.setType(column.getType() + " " + util.unformatSqlName(ctx.getText()));
-			}
-		}
+		builder.name(getText(ctx));
 	}
 
 	//--- Constraints
 
-	//--- Default
-
 	@Override
 	public void exitColumn_default_value(final Column_default_valueContext ctx) {
-		if(inCreateTable && inColumnDef) {
-			column.setDefaultValue(util.unformatSqlName(ctx.getText()));
-		}
+		builder.columnDefaultValue(getText(ctx));
 	}
 
-	//--- Not Null
-
 	@Override
 	public void exitColumn_constraint_not_null(
 			final Column_constraint_not_nullContext ctx) {
-		if(inCreateTable && inColumnDef) {
-			column.setIsNotNull(true);
-		}
+		builder.columnNotNull();
 	}
 
-	//--- Primary Key in Column definition
-
 	@Override
 	public void exitColumn_constraint_primary_key(
 			final Column_constraint_primary_keyContext ctx) {
-		if(inCreateTable && inColumnDef) {
-			table.getPrimaryKey().getColumnNames().add(column.getName());
-		}
+		builder.columnPrimaryKey();
 	}
 
-	//--- Primary Key in CREATE TABLE or in ALTER TABLE
+	//--- Primary Key in CREATE TABLE
 
 	@Override
 	public void enterTable_constraint_primary_key(
 			final Table_constraint_primary_keyContext ctx) {
-		inTable_constraint_primary_key = true;
+		builder.enterTablePrimaryKey();
 	}
 
 	@Override
 	public void exitTable_constraint_primary_key(
 			final Table_constraint_primary_keyContext ctx) {
-		inTable_constraint_primary_key = false;
+		builder.exitTablePrimaryKey();
 	}
 
 	@Override
 	public void exitIndexed_column(final Indexed_columnContext ctx) {
-		if(inCreateTable && inTable_constraint_primary_key) {
-			final String columnName = util.unformatSqlName(ctx.getText());
-			table.getPrimaryKey().getColumnNames().add(columnName);
-		}
+		builder.indexedColumn(getText(ctx));
 	}
 
-	//--- Foreign Key in CREATE TABLE or in ALTER TABLE
+	//--- Foreign Key in CREATE TABLE
 
 	@Override
 	public void enterTable_constraint_foreign_key(
 			final Table_constraint_foreign_keyContext ctx) {
-		inTable_constraint_foreign_key = true;
-		if(inCreateTable) {
-			foreignKey = new ForeignKey();
-			foreignKey.setTableNameOrigin(table.getName());
-		}
+		builder.enterTableForeignKey();
 	}
 
 	@Override
 	public void exitTable_constraint_foreign_key(
 			final Table_constraint_foreign_keyContext ctx) {
-		if(inCreateTable) {
-			foreignKey.setTableNameOrigin(table.getName());
-			table.getForeignKeys().add(foreignKey);
-			foreignKey = null;
-		}
-		inTable_constraint_foreign_key = false;
+		builder.exitTableForeignKey();
 	}
 
 	@Override
 	public void enterForeign_key_clause(final Foreign_key_clauseContext ctx) {
-		if(inCreateTable && inColumnDef) {
-			foreignKey = new ForeignKey();
-			foreignKey.setTableNameOrigin(table.getName());
-			foreignKey.getColumnNameOrigins().add(column.getName());
-		}
+		builder.enterForeignKeyClause();
 	}
 
 	@Override
 	public void exitForeign_key_clause(final Foreign_key_clauseContext ctx) {
-		if(inCreateTable && inColumnDef) {
-			foreignKey.setTableNameOrigin(table.getName());
-			table.getForeignKeys().add(foreignKey);
-			foreignKey = null;
-		}
+		builder.exitForeignKeyClause();
 	}
 
 	@Override
 	public void exitForeign_table(final Foreign_tableContext ctx) {
-		if(inCreateTable) {
-			foreignKey.setTableNameTarget(util.unformatSqlName(ctx.getText()));
-		}
+		builder.foreignTable(getText(ctx));
 	}
 
 	@Override
 	public void exitFk_origin_column_name(
 			final Fk_origin_column_nameContext ctx) {
-		if(foreignKey != null) {
-			foreignKey.getColumnNameOrigins().add(util.unformatSqlName(ctx.getText()));
-		}
+		builder.fkOriginColumnName(getText(ctx));
 	}
 
 	@Override
 	public void exitFk_target_column_name(
 			final Fk_target_column_nameContext ctx) {
-		if(inCreateTable) {
-			foreignKey.getColumnNameTargets().add(util.unformatSqlName(ctx.getText()));
-		}
+		builder.fkTargetColumnName(getText(ctx));
 	}
 
 }
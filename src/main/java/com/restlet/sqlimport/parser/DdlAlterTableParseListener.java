@@ -0,0 +1,141 @@
+package com.restlet.sqlimport.parser;
+
+import org.antlr.v4.runtime.ParserRuleContext;
+
+import com.restlet.sqlimport.log.Logger;
+import com.restlet.sqlimport.model.sql.Database;
+import com.restlet.sqlimport.parser.SqlDdlParser.Alter_table_stmtContext;
+import com.restlet.sqlimport.parser.SqlDdlParser.Any_nameContext;
+import com.restlet.sqlimport.parser.SqlDdlParser.Database_nameContext;
+import com.restlet.sqlimport.parser.SqlDdlParser.Fk_origin_column_nameContext;
+import com.restlet.sqlimport.parser.SqlDdlParser.Fk_target_column_nameContext;
+import com.restlet.sqlimport.parser.SqlDdlParser.Foreign_tableContext;
+import com.restlet.sqlimport.parser.SqlDdlParser.Indexed_columnContext;
+import com.restlet.sqlimport.parser.SqlDdlParser.Source_table_nameContext;
+import com.restlet.sqlimport.parser.SqlDdlParser.Table_constraint_foreign_keyContext;
+import com.restlet.sqlimport.parser.SqlDdlParser.Table_constraint_primary_keyContext;
+
+/**
+ * Parse Listener only for ALTER TABLE statements parsing with the DDL grammar.
+ */
+public class DdlAlterTableParseListener extends SqlDdlParserBaseListener {
+
+	/**
+	 * Logger : the ANTLR v4 contexts are displayed at the TRACE level.
+	 */
+	private static final Logger LOG = Logger.getLogger(DdlAlterTableParseListener.class);
+
+	/**
+	 * ANTLR Parser
+	 */
+	private final SqlDdlParser sqlParser;
+
+	/**
+	 * Database schema builder
+	 */
+	private final AlterTableBuilder builder;
+
+	/**
+	 * Constructor.
+	 * @param sqlParser SQL parser
+	 * @param database Database
+	 */
+	public DdlAlterTableParseListener(final SqlDdlParser sqlParser, final Database database) {
+		this.sqlParser = sqlParser;
+		this.builder = new AlterTableBuilder(database);
+	}
+
+	/**
+	 * Text of the context : read from the tokens when the parse tree is not built.
+	 * @param ctx Context
+	 * @return Text
+	 */
+	private String getText(final ParserRuleContext ctx) {
+		return ContextText.getText(sqlParser, ctx);
+	}
+
+	/**
+	 * Used only for debug, its called for each token based on the token "name".
+	 */
+	@Override
+	public void exitAny_name(final Any_nameContext ctx) {
+		if(LOG.isTraceEnabled()) {
+			LOG.trace("{} - ctx : {}", getText(ctx), ctx.toInfoString(sqlParser));
+		}
+	}
+
+	//--- ALTER TABLE
+
+	@Override
+	public void enterAlter_table_stmt(final Alter_table_stmtContext ctx) {
+		builder.enterAlterTable();
+	}
+
+	@Override
+	public void exitAlter_table_stmt(final Alter_table_stmtContext ctx) {
+		builder.exitAlterTable();
+	}
+
+	@Override
+	public void exitDatabase_name(final Database_nameContext ctx) {
+		if(ctx.getParent() instanceof Alter_table_stmtContext) {
+			builder.schemaName(getText(ctx));
+		}
+	}
+
+	@Override
+	public void exitSource_table_name(final Source_table_nameContext ctx) {
+		builder.sourceTableName(getText(ctx));
+	}
+
+	//--- Primary Key in ALTER TABLE
+
+	@Override
+	public void enterTable_constraint_primary_key(
+			final Table_constraint_primary_keyContext ctx) {
+		builder.enterTablePrimaryKey();
+	}
+
+	@Override
+	public void exitTable_constraint_primary_key(
+			final Table_constraint_primary_keyContext ctx) {
+		builder.exitTablePrimaryKey();
+	}
+
+	@Override
+	public void exitIndexed_column(final Indexed_columnContext ctx) {
+		builder.indexedColumn(getText(ctx));
+	}
+
+	//--- Foreign Key in ALTER TABLE
+
+	@Override
+	public void enterTable_constraint_foreign_key(
+			final Table_constraint_foreign_keyContext ctx) {
+		builder.enterTableForeignKey();
+	}
+
+	@Override
+	public void exitTable_constraint_foreign_key(
+			final Table_constraint_foreign_keyContext ctx) {
+		builder.exitTableForeignKey();
+	}
+
+	@Override
+	public void exitForeign_table(final Foreign_tableContext ctx) {
+		builder.foreignTable(getText(ctx));
+	}
+
+	@Override
+	public void exitFk_origin_column_name(
+			final Fk_origin_column_nameContext ctx) {
+		builder.fkOriginColumnName(getText(ctx));
+	}
+
+	@Override
+	public void exitFk_target_column_name(
+			final Fk_target_column_nameContext ctx) {
+		builder.fkTargetColumnName(getText(ctx));
+	}
+
+}
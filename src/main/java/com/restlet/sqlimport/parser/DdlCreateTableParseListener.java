@@ -0,0 +1,220 @@
+package com.restlet.sqlimport.parser;
+
+import org.antlr.v4.runtime.ParserRuleContext;
+
+import com.restlet.sqlimport.log.Logger;
+import com.restlet.sqlimport.model.sql.Database;
+import com.restlet.sqlimport.parser.SqlDdlParser.Any_nameContext;
+import com.restlet.sqlimport.parser.SqlDdlParser.Column_constraint_not_nullContext;
+import com.restlet.sqlimport.parser.SqlDdlParser.Column_constraint_primary_keyContext;
+import com.restlet.sqlimport.parser.SqlDdlParser.Column_defContext;
+import com.restlet.sqlimport.parser.SqlDdlParser.Column_default_valueContext;
+import com.restlet.sqlimport.parser.SqlDdlParser.Column_nameContext;
+import com.restlet.sqlimport.parser.SqlDdlParser.Create_table_stmtContext;
+import com.restlet.sqlimport.parser.SqlDdlParser.Database_nameContext;
+import com.restlet.sqlimport.parser.SqlDdlParser.Fk_origin_column_nameContext;
+import com.restlet.sqlimport.parser.SqlDdlParser.Fk_target_column_nameContext;
+import com.restlet.sqlimport.parser.SqlDdlParser.Foreign_key_clauseContext;
+import com.restlet.sqlimport.parser.SqlDdlParser.Foreign_tableContext;
+import com.restlet.sqlimport.parser.SqlDdlParser.Indexed_columnContext;
+import com.restlet.sqlimport.parser.SqlDdlParser.NameContext;
+import com.restlet.sqlimport.parser.SqlDdlParser.Table_constraint_foreign_keyContext;
+import com.restlet.sqlimport.parser.SqlDdlParser.Table_constraint_primary_keyContext;
+import com.restlet.sqlimport.parser.SqlDdlParser.Table_nameContext;
+import com.restlet.sqlimport.parser.SqlDdlParser.Type_nameContext;
+import com.restlet.sqlimport.parser.SqlDdlParser.UnknownContext;
+
+/**
+ * Parse Listener only for CREATE TABLE statements parsing with the DDL grammar.
+ */
+public class DdlCreateTableParseListener extends SqlDdlParserBaseListener {
+
+	/**
+	 * Logger : the ANTLR v4 contexts are displayed at the TRACE level.
+	 */
+	private static final Logger LOG = Logger.getLogger(DdlCreateTableParseListener.class);
+
+	/**
+	 * ANTLR Parser
+	 */
+	private final SqlDdlParser sqlParser;
+
+	/**
+	 * Database schema builder
+	 */
+	private final CreateTableBuilder builder;
+
+	/**
+	 * Constructor.
+	 * @param sqlParser SQL parser
+	 * @param database Database
+	 */
+	public DdlCreateTableParseListener(final SqlDdlParser sqlParser, final Database database) {
+		this.sqlParser = sqlParser;
+		this.builder = new CreateTableBuilder(database);
+	}
+
+	/**
+	 * Text of the context : read from the tokens when the parse tree is not built.
+	 * @param ctx Context
+	 * @return Text
+	 */
+	private String getText(final ParserRuleContext ctx) {
+		return ContextText.getText(sqlParser, ctx);
+	}
+
+	/**
+	 * Used only for debug, its called for each token based on the token "name".
+	 */
+	@Override
+	public void exitAny_name(final Any_nameContext ctx) {
+		if(LOG.isTraceEnabled()) {
+			LOG.trace("{} - ctx : {}", getText(ctx), ctx.toInfoString(sqlParser));
+		}
+	}
+
+	@Override
+	public void exitUnknown(final UnknownContext ctx) {
+		if(LOG.isTraceEnabled()) {
+			LOG.trace("{} - ctx : {}", getText(ctx), ctx.toInfoString(sqlParser));
+		}
+	}
+
+	//--- CREATE TABLE
+
+	@Override
+	public void enterCreate_table_stmt(final Create_table_stmtContext ctx) {
+		builder.enterCreateTable();
+	}
+
+	@Override
+	public void exitCreate_table_stmt(final Create_table_stmtContext ctx) {
+		builder.exitCreateTable();
+	}
+
+	@Override
+	public void exitTable_name(final Table_nameContext ctx) {
+		builder.tableName(getText(ctx));
+	}
+
+	@Override
+	public void exitDatabase_name(final Database_nameContext ctx) {
+		if(ctx.getParent() instanceof Create_table_stmtContext) {
+			builder.schemaName(getText(ctx));
+		}
+	}
+
+	//--- Column definition
+
+	@Override
+	public void enterColumn_def(final Column_defContext ctx) {
+		builder.enterColumnDef();
+	}
+
+	@Override
+	public void exitColumn_def(final Column_defContext ctx) {
+		builder.exitColumnDef();
+	}
+
+	@Override
+	public void exitColumn_name(final Column_nameContext ctx) {
+		builder.columnName(getText(ctx));
+	}
+
+	//--- Column type
+
+	@Override
+	public void enterType_name(final Type_nameContext ctx) {
+		builder.enterTypeName();
+	}
+
+	@Override
+	public void exitType_name(final Type_nameContext ctx) {
+		builder.exitTypeName();
+	}
+
+	@Override
+	public void exitName(final NameContext ctx) {
+		builder.name(getText(ctx));
+	}
+
+	//--- Constraints
+
+	@Override
+	public void exitColumn_default_value(final Column_default_valueContext ctx) {
+		builder.columnDefaultValue(getText(ctx));
+	}
+
+	@Override
+	public void exitColumn_constraint_not_null(
+			final Column_constraint_not_nullContext ctx) {
+		builder.columnNotNull();
+	}
+
+	@Override
+	public void exitColumn_constraint_primary_key(
+			final Column_constraint_primary_keyContext ctx) {
+		builder.columnPrimaryKey();
+	}
+
+	//--- Primary Key in CREATE TABLE
+
+	@Override
+	public void enterTable_constraint_primary_key(
+			final Table_constraint_primary_keyContext ctx) {
+		builder.enterTablePrimaryKey();
+	}
+
+	@Override
+	public void exitTable_constraint_primary_key(
+			final Table_constraint_primary_keyContext ctx) {
+		builder.exitTablePrimaryKey();
+	}
+
+	@Override
+	public void exitIndexed_column(final Indexed_columnContext ctx) {
+		builder.indexedColumn(getText(ctx));
+	}
+
+	//--- Foreign Key in CREATE TABLE
+
+	@Override
+	public void enterTable_constraint_foreign_key(
+			final Table_constraint_foreign_keyContext ctx) {
+		builder.enterTableForeignKey();
+	}
+
+	@Override
+	public void exitTable_constraint_foreign_key(
+			final Table_constraint_foreign_keyContext ctx) {
+		builder.exitTableForeignKey();
+	}
+
+	@Override
+	public void enterForeign_key_clause(final Foreign_key_clauseContext ctx) {
+		builder.enterForeignKeyClause();
+	}
+
+	@Override
+	public void exitForeign_key_clause(final Foreign_key_clauseContext ctx) {
+		builder.exitForeignKeyClause();
+	}
+
+	@Override
+	public void exitForeign_table(final Foreign_tableContext ctx) {
+		builder.foreignTable(getText(ctx));
+	}
+
+	@Override
+	public void exitFk_origin_column_name(
+			final Fk_origin_column_nameContext ctx) {
+		builder.fkOriginColumnName(getText(ctx));
+	}
+
+	@Override
+	public void exitFk_target_column_name(
+			final Fk_target_column_nameContext ctx) {
+		builder.fkTargetColumnName(getText(ctx));
+	}
+
+}
@@ -0,0 +1,89 @@
+package com.restlet.sqlimport.parser;
+
+import java.util.Locale;
+
+/**
+ * Maximum number of parsing errors of an import, or maximum ratio of the parsed queries with
+ * an error : the import stops as soon as the budget is exceeded, instead of parsing a dump
+ * which can not be imported until its end.<br/>
+ * The ratio is checked once {@link #MIN_QUERYS} queries are parsed, then at the end of the
+ * import.
+ */
+public final class ErrorBudget {
+
+	/**
+	 * Number of parsed queries before the ratio of errors is checked.
+	 */
+	public static final int MIN_QUERYS = 20;
+
+	/**
+	 * Maximum number of errors.
+	 */
+	private final int maxErrors;
+
+	/**
+	 * Maximum ratio of errors, between 0 and 1.
+	 */
+	private final double maxErrorRatio;
+
+	/**
+	 * Constructor.
+	 * @param maxErrors Maximum number of errors (Integer.MAX_VALUE for no maximum)
+	 * @param maxErrorRatio Maximum ratio of errors, between 0 and 1 (1 for no maximum)
+	 */
+	public ErrorBudget(final int maxErrors, final double maxErrorRatio) {
+		if((maxErrors < 0) || (maxErrorRatio < 0) || (maxErrorRatio > 1)) {
+			throw new IllegalArgumentException("Invalid error budget : " + maxErrors + " errors, ratio " + maxErrorRatio);
+		}
+		this.maxErrors = maxErrors;
+		this.maxErrorRatio = maxErrorRatio;
+	}
+
+	/**
+	 * Return the budget : a number of errors (for example 100) or a percentage of the parsed
+	 * queries (for example 30%).
+	 * @param value Number of errors or percentage
+	 * @return Error budget
+	 */
+	public static ErrorBudget valueOf(final String value) {
+		final String trimmedValue = value.trim();
+		if(trimmedValue.endsWith("%")) {
+			return new ErrorBudget(Integer.MAX_VALUE, Double.parseDouble(trimmedValue.substring(0, trimmedValue.length() - 1)) / 100);
+		}
+		return new ErrorBudget(Integer.parseInt(trimmedValue), 1);
+	}
+
+	/**
+	 * Return true if the errors exceed the budget.
+	 * @param nbQuerys Number of parsed queries
+	 * @param nbErrors Number of parsed queries with an error
+	 * @param isComplete true if all the queries are parsed : the ratio is checked whatever the number of queries
+	 * @return true if the budget is exceeded
+	 */
+	public boolean isExceeded(final int nbQuerys, final int nbErrors, final boolean isComplete) {
+		if(nbErrors > maxErrors) {
+			return true;
+		}
+		if((nbQuerys == 0) || (!isComplete && (nbQuerys < MIN_QUERYS))) {
+			return false;
+		}
+		return nbErrors > (maxErrorRatio * nbQuerys);
+	}
+
+	public int getMaxErrors() {
+		return maxErrors;
+	}
+
+	public double getMaxErrorRatio() {
+		return maxErrorRatio;
+	}
+
+	@Override
+	public String toString() {
+		if(maxErrorRatio < 1) {
+			return String.format(Locale.ROOT, "%s%%", maxErrorRatio * 100);
+		}
+		return Integer.toString(maxErrors);
+	}
+
+}
@@ -0,0 +1,20 @@
+package com.restlet.sqlimport.parser;
+
+/**
+ * The parsing errors of an import exceed its error budget.
+ */
+public class ErrorBudgetExceededException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Constructor.
+	 * @param errorBudget Error budget
+	 * @param nbQuerys Number of parsed queries
+	 * @param nbErrors Number of parsed queries with an error
+	 */
+	public ErrorBudgetExceededException(final ErrorBudget errorBudget, final int nbQuerys, final int nbErrors) {
+		super("Error budget exceeded : " + nbErrors + " queries with an error out of " + nbQuerys + " parsed queries, budget " + errorBudget);
+	}
+
+}
@@ -0,0 +1,496 @@
+package com.restlet.sqlimport.parser;
+
+import java.util.Arrays;
+
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CommonTokenFactory;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenFactory;
+import org.antlr.v4.runtime.TokenSource;
+import org.antlr.v4.runtime.misc.Interval;
+import org.antlr.v4.runtime.misc.Pair;
+
+/**
+ * Hand-written lexer which returns the same tokens as {@link SqlLexer} : same types, channels,
+ * positions and lines, with the longest match and the order of the rules of Sql.g4.<br/>
+ * The keywords are found in a perfect hash table, with a hash of the identifier computed
+ * without case while it is read : the text of the tokens is only read from the input when it
+ * is requested. There is no DFA to fill, so the lexer is as fast on the first query as on the
+ * next ones.
+ */
+public class FastSqlLexer implements TokenSource {
+
+	/**
+	 * Size of the keywords table : a power of two.
+	 */
+	private static final int KEYWORDS_SIZE = 2048;
+
+	/**
+	 * Shift of the hash to the index of the keywords table.
+	 */
+	private static final int KEYWORDS_SHIFT = 32 - Integer.numberOfTrailingZeros(KEYWORDS_SIZE);
+
+	/**
+	 * Keywords, in upper case, by index of their hash (null if no keyword has this index).
+	 */
+	private static final char[][] KEYWORDS = new char[KEYWORDS_SIZE][];
+
+	/**
+	 * Token types of the keywords, by index of their hash.
+	 */
+	private static final int[] KEYWORD_TYPES = new int[KEYWORDS_SIZE];
+
+	/**
+	 * Length of the longest keyword.
+	 */
+	private static final int KEYWORD_MAX_LENGTH;
+
+	/**
+	 * Multiplier of the hash, chosen so that each keyword has its own index.
+	 */
+	private static final int KEYWORDS_MULTIPLIER;
+
+	static {
+		// the keywords are the K_ tokens of the grammar : K_CURRENT_DATE is CURRENT_DATE
+		int nbKeywords = 0;
+		for(final String tokenName : SqlParser.tokenNames) {
+			if(tokenName.startsWith("K_")) {
+				nbKeywords++;
+			}
+		}
+		final char[][] keywords = new char[nbKeywords][];
+		final int[] keywordTypes = new int[nbKeywords];
+		int maxLength = 0;
+		nbKeywords = 0;
+		for(int type = 0; type < SqlParser.tokenNames.length; type++) {
+			if(SqlParser.tokenNames[type].startsWith("K_")) {
+				keywords[nbKeywords] = SqlParser.tokenNames[type].substring(2).toCharArray();
+				keywordTypes[nbKeywords] = type;
+				maxLength = Math.max(maxLength, keywords[nbKeywords].length);
+				nbKeywords++;
+			}
+		}
+		KEYWORD_MAX_LENGTH = maxLength;
+
+		// first odd multiplier without collision between the keywords
+		int multiplier = 0x9E3779B1;
+		while(!fillKeywords(keywords, keywordTypes, multiplier)) {
+			multiplier += 2;
+		}
+		KEYWORDS_MULTIPLIER = multiplier;
+	}
+
+	/**
+	 * Fill the keywords table.
+	 * @param keywords Keywords in upper case
+	 * @param keywordTypes Token types of the keywords
+	 * @param multiplier Multiplier of the hash
+	 * @return true if each keyword has its own index
+	 */
+	private static boolean fillKeywords(final char[][] keywords, final int[] keywordTypes, final int multiplier) {
+		Arrays.fill(KEYWORDS, null);
+		for(int i = 0; i < keywords.length; i++) {
+			int hash = 0;
+			for(final char c : keywords[i]) {
+				hash = (31 * hash) + (c | 0x20);
+			}
+			final int index = (hash * multiplier) >>> KEYWORDS_SHIFT;
+			if(KEYWORDS[index] != null) {
+				return false;
+			}
+			KEYWORDS[index] = keywords[i];
+			KEYWORD_TYPES[index] = keywordTypes[i];
+		}
+		return true;
+	}
+
+	/**
+	 * Factory of the tokens.
+	 */
+	private TokenFactory<?> tokenFactory = CommonTokenFactory.DEFAULT;
+
+	/**
+	 * Input stream.
+	 */
+	private CharStream input;
+
+	/**
+	 * Source of the tokens, shared by the tokens.
+	 */
+	private Pair<TokenSource, CharStream> source;
+
+	/**
+	 * Characters of the input stream.
+	 */
+	private CharSequence data;
+
+	/**
+	 * Number of characters.
+	 */
+	private int size;
+
+	/**
+	 * Position of the next character to read.
+	 */
+	private int index;
+
+	/**
+	 * Line of the next character (from 1).
+	 */
+	private int line;
+
+	/**
+	 * Position of the next character in its line (from 0).
+	 */
+	private int charPositionInLine;
+
+	/**
+	 * Constructor.
+	 * @param input Input stream (null to set it later)
+	 */
+	public FastSqlLexer(final CharStream input) {
+		setInputStream(input);
+	}
+
+	/**
+	 * Reset the lexer to read the input stream.
+	 * @param input Input stream
+	 */
+	public void setInputStream(final CharStream input) {
+		this.input = input;
+		this.source = new Pair<TokenSource, CharStream>(this, input);
+		if(input instanceof CharSequenceCharStream) {
+			data = ((CharSequenceCharStream) input).getData();
+		} else if(input != null) {
+			data = input.getText(Interval.of(0, input.size() - 1));
+		} else {
+			data = "";
+		}
+		size = data.length();
+		index = (input == null) ? 0 : input.index();
+		line = 1;
+		charPositionInLine = 0;
+	}
+
+	@Override
+	public Token nextToken() {
+		final int start = index;
+		if(start >= size) {
+			return tokenFactory.create(source, Token.EOF, null, Token.DEFAULT_CHANNEL, start, start - 1, line, charPositionInLine);
+		}
+
+		int type;
+		int channel = Token.DEFAULT_CHANNEL;
+		int end = start + 1; // end of the token, excluded
+		final char c = data.charAt(start);
+		switch(c) {
+		case ' ': case '\u000B': case '\t': case '\r': case '\n':
+			type = SqlLexer.SPACES;
+			channel = Token.HIDDEN_CHANNEL;
+			break;
+		case ';': type = SqlLexer.SCOL; break;
+		case '(': type = SqlLexer.OPEN_PAR; break;
+		case ')': type = SqlLexer.CLOSE_PAR; break;
+		case ',': type = SqlLexer.COMMA; break;
+		case '*': type = SqlLexer.STAR; break;
+		case '+': type = SqlLexer.PLUS; break;
+		case '~': type = SqlLexer.TILDE; break;
+		case '%': type = SqlLexer.MOD; break;
+		case '&': type = SqlLexer.AMP; break;
+		case '=':
+			if(charAt(end) == '=') {
+				type = SqlLexer.EQ;
+				end++;
+			} else {
+				type = SqlLexer.ASSIGN;
+			}
+			break;
+		case '|':
+			if(charAt(end) == '|') {
+				type = SqlLexer.PIPE2;
+				end++;
+			} else {
+				type = SqlLexer.PIPE;
+			}
+			break;
+		case '<':
+			switch(charAt(end)) {
+			case '<': type = SqlLexer.LT2; end++; break;
+			case '=': type = SqlLexer.LT_EQ; end++; break;
+			case '>': type = SqlLexer.NOT_EQ2; end++; break;
+			default: type = SqlLexer.LT;
+			}
+			break;
+		case '>':
+			switch(charAt(end)) {
+			case '>': type = SqlLexer.GT2; end++; break;
+			case '=': type = SqlLexer.GT_EQ; end++; break;
+			default: type = SqlLexer.GT;
+			}
+			break;
+		case '!':
+			if(charAt(end) == '=') {
+				type = SqlLexer.NOT_EQ1;
+				end++;
+			} else {
+				type = SqlLexer.UNEXPECTED_CHAR;
+			}
+			break;
+		case '-':
+			if(charAt(end) == '-') {
+				type = SqlLexer.SINGLE_LINE_COMMENT;
+				channel = Token.HIDDEN_CHANNEL;
+				end++;
+				while((end < size) && (data.charAt(end) != '\r') && (data.charAt(end) != '\n')) {
+					end++;
+				}
+			} else {
+				type = SqlLexer.MINUS;
+			}
+			break;
+		case '/':
+			if(charAt(end) == '*') {
+				type = SqlLexer.MULTILINE_COMMENT;
+				channel = Token.HIDDEN_CHANNEL;
+				end++;
+				while((end < size) && !((data.charAt(end) == '*') && (charAt(end + 1) == '/'))) {
+					end++;
+				}
+				end = Math.min(end + 2, size);
+			} else {
+				type = SqlLexer.DIV;
+			}
+			break;
+		case '.':
+			if(isDigit(charAt(end))) {
+				type = SqlLexer.NUMERIC_LITERAL;
+				end = matchExponent(matchDigits(end));
+			} else {
+				type = SqlLexer.DOT;
+			}
+			break;
+		case '\'':
+			end = matchQuoted(start, '\'');
+			type = (end > 0) ? SqlLexer.STRING_LITERAL : SqlLexer.UNEXPECTED_CHAR;
+			end = (end > 0) ? end : (start + 1);
+			break;
+		case '"': case '`': case '[':
+			end = matchIdentifier(start);
+			type = (end > 0) ? SqlLexer.IDENTIFIER : SqlLexer.UNEXPECTED_CHAR;
+			end = (end > 0) ? end : (start + 1);
+			break;
+		case '?':
+			type = SqlLexer.BIND_PARAMETER;
+			end = matchDigits(end);
+			break;
+		case ':':
+			if(charAt(end) == ':') {
+				// '::' of the grammar
+				type = SqlLexer.T__0;
+				end++;
+				break;
+			}
+			// falls through
+		case '@': case '$':
+			end = matchIdentifier(start + 1);
+			type = (end > 0) ? SqlLexer.BIND_PARAMETER : SqlLexer.UNEXPECTED_CHAR;
+			end = (end > 0) ? end : (start + 1);
+			break;
+		default:
+			if(isDigit(c)) {
+				type = SqlLexer.NUMERIC_LITERAL;
+				end = matchDigits(end);
+				if(charAt(end) == '.') {
+					end = matchDigits(end + 1);
+				}
+				end = matchExponent(end);
+			} else if(((c == 'x') || (c == 'X')) && (charAt(end) == '\'') && (matchQuoted(end, '\'') > 0)) {
+				type = SqlLexer.BLOB_LITERAL;
+				end = matchQuoted(end, '\'');
+			} else if(isIdentifierStart(c)) {
+				// identifier or keyword : hash of the characters without case
+				int hash = c | 0x20;
+				while((end < size) && isIdentifierPart(data.charAt(end))) {
+					hash = (31 * hash) + (data.charAt(end) | 0x20);
+					end++;
+				}
+				type = getKeywordType(start, end, hash);
+			} else {
+				type = SqlLexer.UNEXPECTED_CHAR;
+			}
+		}
+
+		final Token token = tokenFactory.create(source, type, null, channel, start, end - 1, line, charPositionInLine);
+		for(int i = start; i < end; i++) {
+			if(data.charAt(i) == '\n') {
+				line++;
+				// as SqlLexer : the last token of the input does not reset the position in the line
+				charPositionInLine = (end < size) ? 0 : (charPositionInLine + 1);
+			} else {
+				charPositionInLine++;
+			}
+		}
+		index = end;
+		input.seek(end);
+		return token;
+	}
+
+	/**
+	 * Return the token type of the identifier : a keyword or IDENTIFIER.
+	 * @param start Position of the first character
+	 * @param end Position after the last character
+	 * @param hash Hash of the characters without case
+	 * @return Token type
+	 */
+	private int getKeywordType(final int start, final int end, final int hash) {
+		final int length = end - start;
+		if(length > KEYWORD_MAX_LENGTH) {
+			return SqlLexer.IDENTIFIER;
+		}
+		final int keywordIndex = (hash * KEYWORDS_MULTIPLIER) >>> KEYWORDS_SHIFT;
+		final char[] keyword = KEYWORDS[keywordIndex];
+		if((keyword == null) || (keyword.length != length)) {
+			return SqlLexer.IDENTIFIER;
+		}
+		// the keywords contain only upper case letters and '_'
+		for(int i = 0; i < length; i++) {
+			if((data.charAt(start + i) & 0xDF) != keyword[i]) {
+				return SqlLexer.IDENTIFIER;
+			}
+		}
+		return KEYWORD_TYPES[keywordIndex];
+	}
+
+	/**
+	 * Match the IDENTIFIER rule : quoted or not.
+	 * @param start Position of the first character
+	 * @return Position after the identifier (-1 if there is no identifier)
+	 */
+	private int matchIdentifier(final int start) {
+		final int c = charAt(start);
+		if((c == '"') || (c == '`')) {
+			return matchQuoted(start, (char) c);
+		}
+		if(c == '[') {
+			for(int i = start + 1; i < size; i++) {
+				if(data.charAt(i) == ']') {
+					return i + 1;
+				}
+			}
+			return -1;
+		}
+		if(isIdentifierStart(c)) {
+			int end = start + 1;
+			while((end < size) && isIdentifierPart(data.charAt(end))) {
+				end++;
+			}
+			return end;
+		}
+		return -1;
+	}
+
+	/**
+	 * Match characters between quotes : the quote is doubled in the characters.
+	 * @param start Position of the opening quote
+	 * @param quote Quote
+	 * @return Position after the closing quote (-1 if there is no closing quote)
+	 */
+	private int matchQuoted(final int start, final char quote) {
+		int i = start + 1;
+		while(i < size) {
+			if(data.charAt(i) == quote) {
+				if(charAt(i + 1) != quote) {
+					return i + 1;
+				}
+				i++;
+			}
+			i++;
+		}
+		return -1;
+	}
+
+	/**
+	 * Match digits.
+	 * @param start Position of the first character
+	 * @return Position after the digits
+	 */
+	private int matchDigits(final int start) {
+		int end = start;
+		while(isDigit(charAt(end))) {
+			end++;
+		}
+		return end;
+	}
+
+	/**
+	 * Match the exponent of a numeric literal, if any.
+	 * @param start Position of the first character
+	 * @return Position after the exponent (start if there is no exponent)
+	 */
+	private int matchExponent(final int start) {
+		final int c = charAt(start);
+		if((c != 'e') && (c != 'E')) {
+			return start;
+		}
+		int i = start + 1;
+		if((charAt(i) == '-') || (charAt(i) == '+')) {
+			i++;
+		}
+		if(!isDigit(charAt(i))) {
+			return start;
+		}
+		return matchDigits(i);
+	}
+
+	/**
+	 * Return the character at the position.
+	 * @param i Position
+	 * @return Character (-1 after the last character)
+	 */
+	private int charAt(final int i) {
+		return (i < size) ? data.charAt(i) : -1;
+	}
+
+	private static boolean isDigit(final int c) {
+		return (c >= '0') && (c <= '9');
+	}
+
+	private static boolean isIdentifierStart(final int c) {
+		return ((c >= 'a') && (c <= 'z')) || ((c >= 'A') && (c <= 'Z')) || (c == '_');
+	}
+
+	private static boolean isIdentifierPart(final int c) {
+		return isIdentifierStart(c) || isDigit(c);
+	}
+
+	@Override
+	public int getLine() {
+		return line;
+	}
+
+	@Override
+	public int getCharPositionInLine() {
+		return charPositionInLine;
+	}
+
+	@Override
+	public CharStream getInputStream() {
+		return input;
+	}
+
+	@Override
+	public String getSourceName() {
+		return (input == null) ? CharStream.UNKNOWN_SOURCE_NAME : input.getSourceName();
+	}
+
+	@Override
+	public void setTokenFactory(final TokenFactory<?> tokenFactory) {
+		this.tokenFactory = tokenFactory;
+	}
+
+	@Override
+	public TokenFactory<?> getTokenFactory() {
+		return tokenFactory;
+	}
+
+}
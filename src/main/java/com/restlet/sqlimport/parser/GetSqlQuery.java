@@ -1,22 +1,46 @@
 package com.restlet.sqlimport.parser;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
+import com.restlet.sqlimport.report.Phase;
 import com.restlet.sqlimport.report.Report;
 import com.restlet.sqlimport.report.ReportLine;
 import com.restlet.sqlimport.report.ReportLineStatus;
+import com.restlet.sqlimport.report.ReportMetrics;
+import com.restlet.sqlimport.report.StatementKind;
+import com.restlet.sqlimport.util.MappedFile;
 
 /**
  * Parse SQL file and returns the list of SQL queries.
  */
 public class GetSqlQuery {
 
+	/**
+	 * Number of characters of the ignored queries kept in the report.
+	 */
+	static final int PREVIEW_LENGTH = 80;
+
 	/**
 	 * Report.
 	 */
 	private final Report report;
 
+	/**
+	 * Classifier of the queries.
+	 */
+	private final StatementClassifier statementClassifier = new StatementClassifier();
+
+	/**
+	 * Dialect of the SQL content (null to detect it from the beginning of the content).
+	 */
+	private SqlDialect dialect;
+
 	/**
 	 * Constructor.
 	 * @param report Report (must not be null)
@@ -30,27 +54,8 @@ public class GetSqlQuery {
 	 * @param query Query
 	 * @return boolean
 	 */
-	public boolean isQueryFiltered(final String query) {
-		final String queryUpperCase = query.toUpperCase();
-		if(queryUpperCase.indexOf("CREATE TABLE") == 0) {
-			return false;
-		}
-		// support ALTER TABLE with ADD CONSTRAINT
-		if(queryUpperCase.indexOf("ALTER TABLE") == 0) {
-			if(queryUpperCase.indexOf("ADD CONSTRAINT") != -1) {
-				if((queryUpperCase.indexOf("PRIMARY KEY") != -1) || (queryUpperCase.indexOf("FOREIGN KEY") != -1)) {
-					return false;
-				}
-			}
-			if(queryUpperCase.indexOf("ADD PRIMARY KEY") != -1) {
-				return false;
-			}
-			if(queryUpperCase.indexOf("ADD FOREIGN KEY") != -1) {
-				return false;
-			}
-		}
-
-		return true;
+	public boolean isQueryFiltered(final CharSequence query) {
+		return !statementClassifier.classify(MappedFile.asBytes(query)).isParsed();
 	}
 
 	/**
@@ -61,159 +66,176 @@ public class GetSqlQuery {
 	public List<String> getSqlQuerys(final String content) {
 		final List<String> querys = new ArrayList<String>();
 
-		int posStart = getPosStartQuery(content, 0);
-		int posEnd = getPosEndQuery(content, posStart);
-		while((posStart != -1) && (posStart < content.length()) && (posEnd < content.length())) {
-
-			final String query = content.substring(posStart, posEnd);
-
-			final boolean isFiltered = isQueryFiltered(query);
-			if(!isFiltered) {
-				querys.add(query);
-			}
-
-			final ReportLine reportLine = new ReportLine();
-			reportLine.setQuery(query);
-			if(isFiltered) {
-				reportLine.setReportLineStatus(ReportLineStatus.IGNORED);
-			} else {
-				reportLine.setReportLineStatus(ReportLineStatus.TO_PARSE);
-			}
-			getReport().add(reportLine);
-
-			if((posEnd + 1) >= content.length()) {
-				posStart = -1;
-			} else {
-				posStart = getPosStartQuery(content,posEnd+1);
-				posEnd = getPosEndQuery(content, posStart);
-			}
+		final Iterator<CharSequence> iterator = getSqlQueryIterator(new StringReader(content));
+		while(iterator.hasNext()) {
+			querys.add(iterator.next().toString());
 		}
 
 		return querys;
 	}
 
 	/**
-	 * Return the position of the beginning character of the next SQL query.
-	 * @param content SQL content
-	 * @param pos Current position in the SQL content
-	 * @return Position of the beginning character of the next SQL query
+	 * Return the SQL queries to parse, read one by one from the character stream.<br/>
+	 * Each query read is added to the report, even if it is filtered : the queries are
+	 * {@link SqlQuery} instances whose id is the id of their report line.
+	 * @param reader SQL content (the caller is responsible for closing it)
+	 * @return SQL queries
 	 */
-	private int getPosStartQuery(final String content, int pos) {
-
-		boolean inLineComment = false;
-		boolean inMultiLineComment = false;
-		boolean inStringValue = false;
-
-		while(pos < content.length()) {
-			final char character = content.charAt(pos);
-			if(character == '/') {
-				if(!inStringValue && !inLineComment && !inMultiLineComment) {
-					if(((pos+1) < content.length()) && (content.charAt(pos+1) == '*')) {
-						inMultiLineComment = true;
-						pos = pos+2;
-						continue;
-					}
-				}
-			}
-			if(character == '*') {
-				if(!inStringValue && !inLineComment && inMultiLineComment) {
-					if(((pos+1) < content.length()) && (content.charAt(pos+1) == '/')) {
-						inMultiLineComment = false;
-						pos = pos+2;
-						continue;
-					}
-				}
-			}
-			if(character == '"') {
-				if(!inLineComment && !inMultiLineComment) {
-					inStringValue = !inStringValue;
-				}
-			}
-			if(character == '-') {
-				if(!inStringValue && !inLineComment && !inMultiLineComment) {
-					if(((pos+1) < content.length()) && (content.charAt(pos+1) == '-')) {
-						inLineComment = true;
-						pos = pos + 2;
-						continue;
-					}
-				}
-			}
-			if((character == '\n') || (character == '\r') ) {
-				if(inLineComment) {
-					inLineComment = false;
-				}
-			}
-			if(((character >= 'a') && (character <= 'z')) ||((character >= 'A') && (character <= 'Z'))) {
-				if(!inStringValue && !inLineComment && !inMultiLineComment) {
-					break;
-				}
-			}
-			pos++;
-		}
+	public Iterator<CharSequence> getSqlQueryIterator(final Reader reader) {
+		return getSqlQueryIterator(new SqlQueryReader(reader));
+	}
 
-		return pos;
+	/**
+	 * Return the SQL queries to parse, read one by one from the mapped file : queries are
+	 * slices of the mapped file.<br/>
+	 * Each query read is added to the report, even if it is filtered : the queries are
+	 * {@link SqlQuery} instances whose id is the id of their report line.
+	 * @param mappedFile SQL content
+	 * @return SQL queries
+	 */
+	public Iterator<CharSequence> getSqlQueryIterator(final MappedFile mappedFile) {
+		return getSqlQueryIterator(new SqlQueryReader(mappedFile));
 	}
 
 	/**
-	 * Return the position of the end of the current SQL query.
-	 * @param content SQL content
-	 * @param pos Current position in the SQL content
-	 * @return Position of the end of the current SQL query
+	 * Return the SQL queries to parse.
+	 * @param sqlQueryReader SQL queries reader
+	 * @return SQL queries
 	 */
-	private int getPosEndQuery(final String content, int pos) {
-
-		boolean inLineComment = false;
-		boolean inMultiLineComment = false;
-		boolean inStringValue = false;
-
-		while(pos < content.length()) {
-			final char character = content.charAt(pos);
-			if(character == '/') {
-				if(!inStringValue && !inLineComment && !inMultiLineComment) {
-					if(((pos+1) < content.length()) && (content.charAt(pos+1) == '*')) {
-						inMultiLineComment = true;
-						pos = pos+2;
-						continue;
-					}
-				}
-			}
-			if(character == '*') {
-				if(!inStringValue && !inLineComment && inMultiLineComment) {
-					if(((pos+1) < content.length()) && (content.charAt(pos+1) == '/')) {
-						inMultiLineComment = false;
-						pos = pos+2;
-						continue;
-					}
+	private Iterator<CharSequence> getSqlQueryIterator(final SqlQueryReader sqlQueryReader) {
+		sqlQueryReader.setDialect(dialect);
+
+		return new Iterator<CharSequence>() {
+
+			/**
+			 * Next query to parse (null if not read yet or if there is no more query).
+			 */
+			private CharSequence next;
+
+			/**
+			 * Number of queries read, filtered or not.
+			 */
+			private int nbQuerys = 0;
+
+			/**
+			 * true once the end of the content is reached.
+			 */
+			private boolean isEnded = false;
+
+			@Override
+			public boolean hasNext() {
+				if(next != null) {
+					return true;
 				}
-			}
-			if(character == '"') {
-				if(!inLineComment && !inMultiLineComment) {
-					inStringValue = !inStringValue;
+				if(isEnded) {
+					return false;
 				}
-			}
-			if(character == '-') {
-				if(!inStringValue && !inLineComment && !inMultiLineComment) {
-					if(((pos+1) < content.length()) && (content.charAt(pos+1) == '-')) {
-						inLineComment = true;
-						pos = pos + 2;
-						continue;
+				final ReportMetrics.Timer timer = getReport().getMetrics().start(Phase.SPLIT);
+				try {
+					while(next == null) {
+						final CharSequence text;
+						try {
+							text = sqlQueryReader.readQuery();
+						} catch (final IOException e) {
+							throw new RuntimeException(e);
+						}
+						if(text == null) {
+							isEnded = true;
+							if(sqlQueryReader.getUnterminatedQuery() != null) {
+								addUnterminatedToReport(nbQuerys++, sqlQueryReader.getQueryOffset(), sqlQueryReader.getUnterminatedQuery());
+							}
+							return false;
+						}
+						next = addToReport(nbQuerys++, sqlQueryReader.getQueryOffset(), text);
 					}
+					return true;
+				} finally {
+					timer.stop();
 				}
 			}
-			if((character == '\n') || (character == '\r') ) {
-				if(inLineComment) {
-					inLineComment = false;
+
+			@Override
+			public CharSequence next() {
+				if(!hasNext()) {
+					throw new NoSuchElementException();
 				}
+				final CharSequence query = next;
+				next = null;
+				return query;
 			}
-			if(character == ';') {
-				if(!inStringValue && !inLineComment && !inMultiLineComment) {
-					break;
-				}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
 			}
-			pos++;
+		};
+	}
+
+	/**
+	 * Add the report line of the query.
+	 * @param id Ordinal of the query in the SQL content
+	 * @param offset Position in the SQL content of the beginning of the query
+	 * @param text Text of the query : it may be a slice of a mapped file
+	 * @return Query to parse (null if the query is ignored)
+	 */
+	private SqlQuery addToReport(final int id, final long offset, final CharSequence text) {
+		// the keywords are ASCII : the queries of a mapped file are classified on their bytes
+		final StatementKind statementKind = statementClassifier.classify(MappedFile.asBytes(text));
+		final boolean isFiltered = !statementKind.isParsed();
+
+		final ReportLine reportLine = new ReportLine();
+		reportLine.setQueryId(id);
+		reportLine.setQueryOffset(offset);
+		reportLine.setQueryLength(text.length());
+		reportLine.setStatementKind(statementKind);
+		SqlQuery query = null;
+		if(isFiltered) {
+			// the ignored queries, such as the INSERT of the data, are not kept in memory
+			reportLine.setQuery(getPreview(text));
+			reportLine.setReportLineStatus(ReportLineStatus.IGNORED);
+		} else {
+			// the parser reads the characters one by one
+			query = new SqlQuery(id, offset, MappedFile.decodeIfNeeded(text));
+			reportLine.setQuery(query.getText());
+			reportLine.setReportLineStatus(ReportLineStatus.TO_PARSE);
 		}
+		getReport().add(reportLine);
+		getReport().getMetrics().addStatement(reportLine.getQueryLength(), isFiltered);
+
+		return query;
+	}
+
+	/**
+	 * Add the report line of the query which is not ended at the end of the content : the
+	 * rest of the content is in one of its quoted values or comments.
+	 * @param id Ordinal of the query in the SQL content
+	 * @param offset Position in the SQL content of the beginning of the query
+	 * @param text Text of the query
+	 */
+	private void addUnterminatedToReport(final int id, final long offset, final CharSequence text) {
+		final ReportLine reportLine = new ReportLine();
+		reportLine.setQueryId(id);
+		reportLine.setQueryOffset(offset);
+		reportLine.setQueryLength(text.length());
+		reportLine.setQuery(getPreview(text));
+		reportLine.setStatementKind(statementClassifier.classify(MappedFile.asBytes(text)));
+		reportLine.setReportLineStatus(ReportLineStatus.PARSING_ERROR);
+		reportLine.setMessage("Quoted value or comment not closed at the end of the SQL content");
+		getReport().add(reportLine);
+		getReport().getMetrics().addStatement(reportLine.getQueryLength(), false);
+		getReport().getMetrics().addParsedStatement(true, 0);
+	}
 
-		return pos;
+	/**
+	 * Return the beginning of the query.
+	 * @param query Query
+	 * @return The first characters of the query, followed by "..." if the query is longer
+	 */
+	private String getPreview(final CharSequence query) {
+		if(query.length() <= PREVIEW_LENGTH) {
+			return query.toString();
+		}
+		return query.subSequence(0, PREVIEW_LENGTH).toString() + "...";
 	}
 
 	/**
@@ -224,4 +246,16 @@ public class GetSqlQuery {
 		return report;
 	}
 
+	public SqlDialect getDialect() {
+		return dialect;
+	}
+
+	/**
+	 * Set dialect of the SQL content.
+	 * @param dialect dialect (null to detect it from the beginning of the content)
+	 */
+	public void setDialect(final SqlDialect dialect) {
+		this.dialect = dialect;
+	}
+
 }
@@ -0,0 +1,243 @@
+package com.restlet.sqlimport.parser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.antlr.v4.runtime.atn.DecisionInfo;
+import org.antlr.v4.runtime.atn.DecisionState;
+import org.antlr.v4.runtime.atn.ParseInfo;
+
+/**
+ * Profile of the decisions of the grammar, aggregated over all the queries parsed with the
+ * profiling ATN simulator of ANTLR : invocations, time in prediction, lookahead depths of
+ * the SLL and full LL predictions, ambiguities and errors.<br/>
+ * The decisions are ranked by time in prediction and mapped to the rules of the grammar,
+ * to find the rules of the grammar which slow down the parsing.
+ */
+public class GrammarProfile {
+
+	/**
+	 * Profile of a decision of the grammar.
+	 */
+	public static class Decision {
+
+		private final int decision;
+		private final String ruleName;
+		private long invocations;
+		private long timeInPrediction;
+		private long sllTotalLook;
+		private long sllMaxLook;
+		private long llFallbacks;
+		private long llTotalLook;
+		private long llMaxLook;
+		private long nbAmbiguities;
+		private long nbContextSensitivities;
+		private long nbErrors;
+
+		/**
+		 * Constructor.
+		 * @param decision Number of the decision
+		 * @param ruleName Name of the rule of the decision
+		 */
+		private Decision(final int decision, final String ruleName) {
+			this.decision = decision;
+			this.ruleName = ruleName;
+		}
+
+		/**
+		 * Add the profile of the decision for one query.
+		 * @param decisionInfo Profile of the decision
+		 */
+		private void add(final DecisionInfo decisionInfo) {
+			invocations += decisionInfo.invocations;
+			timeInPrediction += decisionInfo.timeInPrediction;
+			sllTotalLook += decisionInfo.SLL_TotalLook;
+			sllMaxLook = Math.max(sllMaxLook, decisionInfo.SLL_MaxLook);
+			llFallbacks += decisionInfo.LL_Fallback;
+			llTotalLook += decisionInfo.LL_TotalLook;
+			llMaxLook = Math.max(llMaxLook, decisionInfo.LL_MaxLook);
+			nbAmbiguities += decisionInfo.ambiguities.size();
+			nbContextSensitivities += decisionInfo.contextSensitivities.size();
+			nbErrors += decisionInfo.errors.size();
+		}
+
+		public int getDecision() {
+			return decision;
+		}
+
+		public String getRuleName() {
+			return ruleName;
+		}
+
+		public long getInvocations() {
+			return invocations;
+		}
+
+		/**
+		 * Get time in prediction.
+		 * @return time in nanoseconds
+		 */
+		public long getTimeInPrediction() {
+			return timeInPrediction;
+		}
+
+		public long getSllTotalLook() {
+			return sllTotalLook;
+		}
+
+		public long getSllMaxLook() {
+			return sllMaxLook;
+		}
+
+		public long getLlFallbacks() {
+			return llFallbacks;
+		}
+
+		public long getLlTotalLook() {
+			return llTotalLook;
+		}
+
+		public long getLlMaxLook() {
+			return llMaxLook;
+		}
+
+		public long getNbAmbiguities() {
+			return nbAmbiguities;
+		}
+
+		public long getNbContextSensitivities() {
+			return nbContextSensitivities;
+		}
+
+		public long getNbErrors() {
+			return nbErrors;
+		}
+	}
+
+	/**
+	 * Profiles of the decisions, indexed by the number of the decision.
+	 */
+	private final Decision[] decisions;
+
+	/**
+	 * Number of parsings profiled.
+	 */
+	private int nbParsings;
+
+	/**
+	 * Constructor : profile of the full grammar.
+	 */
+	public GrammarProfile() {
+		this(SqlGrammar.FULL);
+	}
+
+	/**
+	 * Constructor.
+	 * @param grammar Grammar of the profiled parser
+	 */
+	public GrammarProfile(final SqlGrammar grammar) {
+		decisions = new Decision[grammar.getAtn().getNumberOfDecisions()];
+		for(int i = 0; i < decisions.length; i++) {
+			final DecisionState decisionState = grammar.getAtn().getDecisionState(i);
+			decisions[i] = new Decision(i, grammar.getRuleNames()[decisionState.ruleIndex]);
+		}
+	}
+
+	/**
+	 * Add the profile of the decisions of a parsing : queries may be parsed in parallel.
+	 * @param parseInfo Profile of the parser (null if the parser was not profiled)
+	 */
+	public synchronized void add(final ParseInfo parseInfo) {
+		if(parseInfo == null) {
+			return;
+		}
+		for(final DecisionInfo decisionInfo : parseInfo.getDecisionInfo()) {
+			decisions[decisionInfo.decision].add(decisionInfo);
+		}
+		nbParsings++;
+	}
+
+	/**
+	 * Return the invoked decisions, the slowest first.
+	 * @return Decisions
+	 */
+	public synchronized List<Decision> getRankedDecisions() {
+		final List<Decision> rankedDecisions = new ArrayList<Decision>();
+		for(final Decision decision : decisions) {
+			if(decision.invocations > 0) {
+				rankedDecisions.add(decision);
+			}
+		}
+		Collections.sort(rankedDecisions, new Comparator<Decision>() {
+			@Override
+			public int compare(final Decision decision1, final Decision decision2) {
+				if(decision1.timeInPrediction != decision2.timeInPrediction) {
+					return (decision1.timeInPrediction > decision2.timeInPrediction) ? -1 : 1;
+				}
+				return decision1.decision - decision2.decision;
+			}
+		});
+		return rankedDecisions;
+	}
+
+	public synchronized int getNbParsings() {
+		return nbParsings;
+	}
+
+	/**
+	 * Report of the decisions, the slowest first : one line per decision, then the time of
+	 * the decisions of each rule.
+	 */
+	@Override
+	public synchronized String toString() {
+		final List<Decision> rankedDecisions = getRankedDecisions();
+		long totalTime = 0;
+		for(final Decision decision : rankedDecisions) {
+			totalTime += decision.timeInPrediction;
+		}
+
+		final StringBuilder out = new StringBuilder();
+		out.append(String.format(Locale.ROOT, "Grammar profile : %d parsings, %d decisions invoked, %.3f ms in prediction%n",
+				nbParsings, rankedDecisions.size(), totalTime / 1000000.0));
+		out.append(String.format(Locale.ROOT, "%4s %8s %-24s %10s %10s %6s %8s %8s %10s %8s %8s %6s %6s %6s%n",
+				"rank", "decision", "rule", "invocation", "time (ms)", "time %", "SLL avg", "SLL max",
+				"LL fallbk", "LL avg", "LL max", "ambig", "ctxsen", "errors"));
+		int rank = 1;
+		for(final Decision decision : rankedDecisions) {
+			out.append(String.format(Locale.ROOT, "%4d %8d %-24s %10d %10.3f %6.1f %8.2f %8d %10d %8.2f %8d %6d %6d %6d%n",
+					rank++, decision.decision, decision.ruleName, decision.invocations,
+					decision.timeInPrediction / 1000000.0,
+					(totalTime == 0) ? 0.0 : (decision.timeInPrediction * 100.0 / totalTime),
+					(double) decision.sllTotalLook / decision.invocations, decision.sllMaxLook,
+					decision.llFallbacks,
+					(decision.llFallbacks == 0) ? 0.0 : ((double) decision.llTotalLook / decision.llFallbacks), decision.llMaxLook,
+					decision.nbAmbiguities, decision.nbContextSensitivities, decision.nbErrors));
+		}
+
+		// time of the decisions by rule, the slowest rule first
+		final Map<String, Long> timeByRules = new LinkedHashMap<String, Long>();
+		for(final Decision decision : rankedDecisions) {
+			final Long time = timeByRules.get(decision.ruleName);
+			timeByRules.put(decision.ruleName, decision.timeInPrediction + ((time == null) ? 0 : time));
+		}
+		final List<Map.Entry<String, Long>> rankedRules = new ArrayList<Map.Entry<String, Long>>(timeByRules.entrySet());
+		Collections.sort(rankedRules, new Comparator<Map.Entry<String, Long>>() {
+			@Override
+			public int compare(final Map.Entry<String, Long> rule1, final Map.Entry<String, Long> rule2) {
+				return rule2.getValue().compareTo(rule1.getValue());
+			}
+		});
+		out.append(String.format(Locale.ROOT, "%n%-24s %10s %6s%n", "rule", "time (ms)", "time %"));
+		for(final Map.Entry<String, Long> rule : rankedRules) {
+			out.append(String.format(Locale.ROOT, "%-24s %10.3f %6.1f%n", rule.getKey(), rule.getValue() / 1000000.0,
+					(totalTime == 0) ? 0.0 : (rule.getValue() * 100.0 / totalTime)));
+		}
+		return out.toString();
+	}
+
+}
@@ -0,0 +1,49 @@
+package com.restlet.sqlimport.parser;
+
+import org.antlr.v4.runtime.DefaultErrorStrategy;
+import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+
+/**
+ * Error strategy of the SLL prediction : the parsing stops at the first syntax error, as with
+ * {@link org.antlr.v4.runtime.BailErrorStrategy}, but the error is neither reported nor
+ * described. The query is parsed again with the full LL prediction to report it, so the
+ * strategy throws the same exception without stack trace for all the queries.
+ */
+public class SllErrorStrategy extends DefaultErrorStrategy {
+
+	/**
+	 * Exception thrown at the first syntax error.
+	 */
+	static final ParseCancellationException SYNTAX_ERROR = new ParseCancellationException("SLL syntax error") {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public synchronized Throwable fillInStackTrace() {
+			return this;
+		}
+	};
+
+	@Override
+	public void reportError(final Parser recognizer, final RecognitionException e) {
+		// the error is reported by the full LL prediction
+	}
+
+	@Override
+	public void recover(final Parser recognizer, final RecognitionException e) {
+		throw SYNTAX_ERROR;
+	}
+
+	@Override
+	public Token recoverInline(final Parser recognizer) {
+		throw SYNTAX_ERROR;
+	}
+
+	@Override
+	public void sync(final Parser recognizer) {
+		// no recovery
+	}
+
+}
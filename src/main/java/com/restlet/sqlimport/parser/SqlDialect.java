@@ -0,0 +1,60 @@
+package com.restlet.sqlimport.parser;
+
+/**
+ * Dialect of the SQL content, which defines how the queries are split : quoted values and
+ * comments are not the same in every database.
+ */
+public enum SqlDialect {
+
+	/** Standard SQL : a backslash is a character of the quoted values, comments are not nested */
+	STANDARD(false, false),
+
+	/** MySQL : a backslash escapes the next character of the quoted values */
+	MYSQL(true, false),
+
+	/** PostgreSQL : multi-line comments are nested */
+	POSTGRESQL(false, true);
+
+	/**
+	 * Number of characters of the beginning of the SQL content read to detect the dialect.
+	 */
+	public static final int HEADER_LENGTH = 4096;
+
+	private final boolean backslashEscapes;
+	private final boolean nestedComments;
+
+	/**
+	 * Constructor.
+	 * @param backslashEscapes true if a backslash escapes the next character of the quoted values
+	 * @param nestedComments true if the multi-line comments are nested
+	 */
+	private SqlDialect(final boolean backslashEscapes, final boolean nestedComments) {
+		this.backslashEscapes = backslashEscapes;
+		this.nestedComments = nestedComments;
+	}
+
+	/**
+	 * Return the dialect of a dump, found in the comments written at its beginning by
+	 * mysqldump and by pg_dump.
+	 * @param header Beginning of the SQL content
+	 * @return Dialect, STANDARD if the dump is not recognized
+	 */
+	public static SqlDialect detect(final String header) {
+		if(header.contains("MySQL dump")) {
+			return MYSQL;
+		}
+		if(header.contains("PostgreSQL database dump")) {
+			return POSTGRESQL;
+		}
+		return STANDARD;
+	}
+
+	public boolean isBackslashEscapes() {
+		return backslashEscapes;
+	}
+
+	public boolean isNestedComments() {
+		return nestedComments;
+	}
+
+}
@@ -0,0 +1,118 @@
+package com.restlet.sqlimport.parser;
+
+import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.atn.ATN;
+import org.antlr.v4.runtime.tree.ParseTreeListener;
+
+import com.restlet.sqlimport.model.sql.Database;
+import com.restlet.sqlimport.report.StatementKind;
+
+/**
+ * Grammar of the parser of the SQL queries : both grammars read the tokens of {@link SqlLexer}
+ * and fill the same database schema.
+ */
+public enum SqlGrammar {
+
+	/**
+	 * Full SQLite grammar : Sql.g4.
+	 */
+	FULL {
+		@Override
+		Parser newParser() {
+			return new SqlParser(null);
+		}
+
+		@Override
+		public ATN getAtn() {
+			return SqlParser._ATN;
+		}
+
+		@Override
+		public String[] getRuleNames() {
+			return SqlParser.ruleNames;
+		}
+
+		@Override
+		ParserRuleContext parse(final Parser parser) {
+			return ((SqlParser) parser).parse();
+		}
+
+		@Override
+		ParseTreeListener newParseListener(final StatementKind statementKind, final Parser parser, final Database database) {
+			if(statementKind == StatementKind.CREATE_TABLE) {
+				return new CreateTableParseListener((SqlParser) parser, database);
+			}
+			return new AlterTableParseListener((SqlParser) parser, database);
+		}
+	},
+
+	/**
+	 * DDL grammar : SqlDdlParser.g4, only CREATE TABLE, ALTER TABLE and CREATE INDEX. Its
+	 * prediction explores fewer alternatives, but the other statements are syntax errors.
+	 */
+	DDL {
+		@Override
+		Parser newParser() {
+			return new SqlDdlParser(null);
+		}
+
+		@Override
+		public ATN getAtn() {
+			return SqlDdlParser._ATN;
+		}
+
+		@Override
+		public String[] getRuleNames() {
+			return SqlDdlParser.ruleNames;
+		}
+
+		@Override
+		ParserRuleContext parse(final Parser parser) {
+			return ((SqlDdlParser) parser).parse();
+		}
+
+		@Override
+		ParseTreeListener newParseListener(final StatementKind statementKind, final Parser parser, final Database database) {
+			if(statementKind == StatementKind.CREATE_TABLE) {
+				return new DdlCreateTableParseListener((SqlDdlParser) parser, database);
+			}
+			return new DdlAlterTableParseListener((SqlDdlParser) parser, database);
+		}
+	};
+
+	/**
+	 * Create a parser of the grammar, without token stream.
+	 * @return Parser
+	 */
+	abstract Parser newParser();
+
+	/**
+	 * Get grammar of the parser.
+	 * @return ATN of the parser
+	 */
+	public abstract ATN getAtn();
+
+	/**
+	 * Get names of the rules of the parser.
+	 * @return rule names, indexed by rule index
+	 */
+	public abstract String[] getRuleNames();
+
+	/**
+	 * Parse the query from the start rule.
+	 * @param parser Parser of the grammar
+	 * @return Parse tree
+	 */
+	abstract ParserRuleContext parse(Parser parser);
+
+	/**
+	 * Return the listener which fills the database schema.
+	 * @param statementKind Kind of the query
+	 * @param parser Parser of the grammar
+	 * @param database Database schema
+	 * @return Parse listener
+	 */
+	abstract ParseTreeListener newParseListener(StatementKind statementKind, Parser parser, Database database);
+
+}
@@ -1,31 +1,91 @@
 package com.restlet.sqlimport.parser;
 
 
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
-import org.antlr.v4.runtime.ANTLRInputStream;
 import org.antlr.v4.runtime.BaseErrorListener;
-import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.ParserRuleContext;
 import org.antlr.v4.runtime.RecognitionException;
 import org.antlr.v4.runtime.Recognizer;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.antlr.v4.runtime.tree.ParseTreeWalker;
 
+import com.restlet.sqlimport.log.Level;
+import com.restlet.sqlimport.log.Logger;
 import com.restlet.sqlimport.model.sql.Database;
+import com.restlet.sqlimport.model.sql.Table;
+import com.restlet.sqlimport.report.Phase;
 import com.restlet.sqlimport.report.Report;
 import com.restlet.sqlimport.report.ReportLine;
 import com.restlet.sqlimport.report.ReportLineStatus;
+import com.restlet.sqlimport.report.ReportMetrics;
+import com.restlet.sqlimport.report.ReportStatus;
+import com.restlet.sqlimport.report.StatementKind;
+import com.restlet.sqlimport.util.MappedFile;
 
 public class SqlImport {
 
 	/**
-	 * Log activated.
+	 * Logger.
 	 */
-	public static final boolean LOG_ACTIVATED = true;
+	private static final Logger LOG = Logger.getLogger(SqlImport.class);
 
 	/**
 	 * Report.
 	 */
 	private final Report report;
 
+	/**
+	 * Classifier of the queries.
+	 */
+	private final StatementClassifier statementClassifier = new StatementClassifier();
+
+	/**
+	 * Executor which parses the CREATE TABLE queries in parallel (null to parse the queries
+	 * one after another).
+	 */
+	private ExecutorService executor;
+
+	/**
+	 * Grammar of the parser.
+	 */
+	private SqlGrammar grammar = SqlGrammar.FULL;
+
+	/**
+	 * true to read the tokens with the hand-written lexer.
+	 */
+	private boolean fastLexer;
+
+	/**
+	 * false to parse the CREATE TABLE queries without building their parse tree.
+	 */
+	private boolean buildParseTree = true;
+
+	/**
+	 * Profile of the decisions of the grammar (null if the parsing is not profiled).
+	 */
+	private GrammarProfile grammarProfile;
+
+	/**
+	 * Error budget of the import (null to parse all the queries whatever the errors).
+	 */
+	private ErrorBudget errorBudget;
+
+	/**
+	 * Dialect of the SQL content (null to detect it from the beginning of the content).
+	 */
+	private SqlDialect dialect;
+
 	/**
 	 * Constructor.
 	 * @param report Report (must not be null)
@@ -39,40 +99,41 @@ public class SqlImport {
 	 * Errors listener which display SQL query.
 	 */
 	public class SqlImportErrorListener extends BaseErrorListener {
-		public String query;
+		public CharSequence query;
+		public ReportLine reportLine;
 		public boolean hasError;
 		@Override
 		public void syntaxError(final Recognizer<?, ?> recognizer, final Object offendingSymbol, final int line, final int charPositionInLine, final String msg, final RecognitionException e) {
 
 			hasError = true;
 
-			if(LOG_ACTIVATED) {
-				System.out.println("------------");
-				System.out.println("Error on query : \n"+query);
-				System.out.println("=> line " + line + " : " + msg);
+			if(LOG.isEnabled(Level.WARN)) {
+				LOG.warn("Error on query : \n{}\n=> line {}:{} {}", query, line, charPositionInLine, msg);
 				if(e != null) {
 					if(e.getMessage() != null) {
-						System.out.println(e.getMessage());
+						LOG.warn(e.getMessage());
 					}
 					if(e.getCtx() != null) {
-						System.out.println("Context : "+e.getCtx());
+						LOG.warn("Context : {}", e.getCtx());
 					}
 				}
 			}
 
-			final ReportLine reportLine = getReport().getReportLineForQuery(query);
+			if(reportLine == null) {
+				reportLine = getReportLine(query);
+			}
 			reportLine.setReportLineStatus(ReportLineStatus.PARSING_ERROR);
-			final StringBuffer strBuffer = new StringBuffer();
-			strBuffer.append("=> line ").append(line).append(" : ").append(msg);
+			final StringBuilder message = new StringBuilder();
+			message.append("=> line ").append(line).append(" : ").append(msg);
 			if(e != null) {
 				if(e.getMessage() != null) {
-					strBuffer.append(e.getMessage());
+					message.append(e.getMessage());
 				}
 				if(e.getCtx() != null) {
-					strBuffer.append("Context : "+e.getCtx());
+					message.append("Context : ").append(e.getCtx());
 				}
 			}
-			reportLine.setMessage(strBuffer.toString());
+			reportLine.setMessage(message.toString());
 		}
 	}
 
@@ -87,8 +148,45 @@ public class SqlImport {
 			return null;
 		}
 
+		return readDatabase(new StringReader(content));
+	}
+
+	/**
+	 * Read the SQL content query by query to get database schema : only the query being
+	 * parsed is kept in memory.
+	 * 
+	 * @param reader SQL content (the caller is responsible for closing it)
+	 * @return Database schema
+	 */
+	public Database readDatabase(final Reader reader) {
+		if(reader == null) {
+			return null;
+		}
+
+		final GetSqlQuery getSqlQuery = new GetSqlQuery(getReport());
+		getSqlQuery.setDialect(dialect);
+		final Iterator<CharSequence> querys = getSqlQuery.getSqlQueryIterator(reader);
+
+		final Database database = read(querys);
+
+		return database;
+	}
+
+	/**
+	 * Read the mapped SQL file query by query to get database schema : queries are parsed
+	 * directly from the mapped file.
+	 * 
+	 * @param mappedFile SQL content
+	 * @return Database schema
+	 */
+	public Database readDatabase(final MappedFile mappedFile) {
+		if(mappedFile == null) {
+			return null;
+		}
+
 		final GetSqlQuery getSqlQuery = new GetSqlQuery(getReport());
-		final List<String> querys = getSqlQuery.getSqlQuerys(content);
+		getSqlQuery.setDialect(dialect);
+		final Iterator<CharSequence> querys = getSqlQuery.getSqlQueryIterator(mappedFile);
 
 		final Database database = read(querys);
 
@@ -101,66 +199,432 @@ public class SqlImport {
 	 * @return
 	 */
 	public Database read(final List<String> querys) {
+		return read(querys.iterator());
+	}
+
+	/**
+	 * Parse the SQL queries to get database schema.
+	 * @param querys SQL queries
+	 * @return Database schema
+	 */
+	public Database read(final Iterator<? extends CharSequence> querys) {
 
 		final Database database = new Database();
 
 		// Add database to the report
 		report.setDatabase(database);
 
-		for(final String query : querys) {
-			readOneQuery(database, query);
+		if(executor == null) {
+			while(querys.hasNext()) {
+				readOneQuery(database, querys.next());
+				checkErrorBudget(false);
+			}
+		} else {
+			readInParallel(database, querys);
 		}
+		checkErrorBudget(true);
 
 		return database;
 	}
 
+	/**
+	 * Stop the import if the parsing errors exceed the error budget.
+	 * @param isComplete true if all the queries are parsed
+	 * @throws ErrorBudgetExceededException if the budget is exceeded
+	 */
+	private void checkErrorBudget(final boolean isComplete) {
+		if(errorBudget == null) {
+			return;
+		}
+		// the parsed statements of the metrics are the ones without error
+		final int nbErrors = getReport().getMetrics().getNbStatementsFailed();
+		final int nbQuerys = getReport().getMetrics().getNbStatementsParsed() + nbErrors;
+		checkErrorBudget(nbQuerys, nbErrors, isComplete);
+	}
+
+	/**
+	 * Stop the import if the number of parsing errors exceeds the error budget, whatever the
+	 * ratio : the number of errors only grows, whatever the order the queries are parsed in.
+	 * @throws ErrorBudgetExceededException if the budget is exceeded
+	 */
+	private void checkErrorCount() {
+		if(errorBudget == null) {
+			return;
+		}
+		final int nbErrors = getReport().getMetrics().getNbStatementsFailed();
+		if(nbErrors > errorBudget.getMaxErrors()) {
+			checkErrorBudget(getReport().getMetrics().getNbStatementsParsed() + nbErrors, nbErrors, false);
+		}
+	}
+
+	/**
+	 * Stop the import if the parsing errors exceed the error budget.
+	 * @param nbQuerys Number of parsed queries
+	 * @param nbErrors Number of parsed queries with an error
+	 * @param isComplete true if all the queries are parsed
+	 * @throws ErrorBudgetExceededException if the budget is exceeded
+	 */
+	private void checkErrorBudget(final int nbQuerys, final int nbErrors, final boolean isComplete) {
+		if((errorBudget != null) && errorBudget.isExceeded(nbQuerys, nbErrors, isComplete)) {
+			getReport().setReportStatus(ReportStatus.ERROR_BUDGET_EXCEEDED);
+			throw new ErrorBudgetExceededException(errorBudget, nbQuerys, nbErrors);
+		}
+	}
+
+	/**
+	 * Parse the CREATE TABLE queries in parallel, each one in its own database schema, while
+	 * the queries are read. Then the tables are added to the database schema and the other
+	 * queries are parsed in the order of the queries : the database schema and the report
+	 * are the same as if the queries were parsed one after another.<br/>
+	 * The ratio of the error budget is checked in the order of the queries, so the import stops
+	 * at the same query as if they were parsed one after another : the CREATE TABLE queries
+	 * parsed by the executor are not parsed in this order.
+	 * @param database Database schema
+	 * @param querys SQL queries
+	 */
+	private void readInParallel(final Database database, final Iterator<? extends CharSequence> querys) {
+
+		final List<CharSequence> parsedQuerys = new ArrayList<CharSequence>();
+		final List<ReportLine> reportLines = new ArrayList<ReportLine>();
+		final List<Future<Database>> createdTables = new ArrayList<Future<Database>>();
+
+		try {
+			while(querys.hasNext()) {
+				final CharSequence query = querys.next();
+				final ReportLine reportLine = getReportLine(query);
+				Future<Database> createdTable = null;
+				if(getStatementKind(query, reportLine) == StatementKind.CREATE_TABLE) {
+					createdTable = executor.submit(new Callable<Database>() {
+						@Override
+						public Database call() {
+							final Database tableDatabase = new Database();
+							readOneQuery(tableDatabase, query, reportLine);
+							return tableDatabase;
+						}
+					});
+				}
+				parsedQuerys.add(query);
+				reportLines.add(reportLine);
+				createdTables.add(createdTable);
+				checkErrorCount();
+			}
+
+			int nbQuerys = 0;
+			int nbErrors = 0;
+			for(int i = 0; i < parsedQuerys.size(); i++) {
+				if(createdTables.get(i) != null) {
+					try {
+						for(final Table table : createdTables.get(i).get().getTables()) {
+							database.addTable(table);
+						}
+					} catch (final InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new RuntimeException(e);
+					} catch (final ExecutionException e) {
+						throw new RuntimeException(e.getCause());
+					}
+				} else {
+					// ALTER TABLE : the tables of the previous queries exist
+					readOneQuery(database, parsedQuerys.get(i), reportLines.get(i));
+				}
+				nbQuerys++;
+				if(isFailed(reportLines.get(i))) {
+					nbErrors++;
+				}
+				checkErrorBudget(nbQuerys, nbErrors, false);
+			}
+		} finally {
+			// on an error, cancel the parsing of the CREATE TABLE queries not parsed yet : the
+			// executor may be shared with other imports (nothing to cancel once all are parsed)
+			for(final Future<Database> createdTable : createdTables) {
+				if(createdTable != null) {
+					createdTable.cancel(false);
+				}
+			}
+		}
+	}
+
 	/**
 	 * Read SQL statements from string value
 	 * @param database Database schema
 	 * @param txt SQL statements as string value
 	 * @return Database schema
 	 */
-	public void readOneQuery(final Database database, final String query) {
+	public void readOneQuery(final Database database, final CharSequence query) {
 		if(query == null) {
 			return;
 		}
-		final ANTLRInputStream in = new ANTLRInputStream(query);
+		readOneQuery(database, query, getReportLine(query));
+	}
 
-		final SqlLexer l = new SqlLexer(in);
-		final SqlParser p = new SqlParser(new CommonTokenStream(l));
+	/**
+	 * Return report line of a query : the queries read by {@link GetSqlQuery} are found by their id.
+	 * @param query SQL query
+	 * @return report line
+	 */
+	private ReportLine getReportLine(final CharSequence query) {
+		if(query instanceof SqlQuery) {
+			return getReport().getReportLineForQueryId(((SqlQuery) query).getId());
+		}
+		return getReport().getReportLineForQuery(query);
+	}
 
-		// Errors catching
-		final SqlImportErrorListener listener = new SqlImportErrorListener();
-		listener.query = query;
-		p.addErrorListener(listener);
+	/**
+	 * Parse a SQL query.
+	 * @param database Database schema
+	 * @param query SQL query
+	 * @param reportLine Report line of the query
+	 */
+	private void readOneQuery(final Database database, final CharSequence query, final ReportLine reportLine) {
+		final ReportMetrics.Timer timer = getReport().getMetrics().start(Phase.PARSE);
+		long nbTokens = 0;
+		try {
+			nbTokens = parseQuery(database, query, reportLine);
+		} finally {
+			timer.stop();
+			getReport().getMetrics().addParsedStatement(isFailed(reportLine), nbTokens);
+		}
+	}
 
-		if(LOG_ACTIVATED) {
-			System.out.println("Parse the query : \n"+query);
+	/**
+	 * Indicates if the parsing of a query failed.
+	 * @param reportLine Report line of the query
+	 * @return boolean
+	 */
+	private static boolean isFailed(final ReportLine reportLine) {
+		return (reportLine == null) || (reportLine.getReportLineStatus() != ReportLineStatus.PARSED);
+	}
+
+	/**
+	 * Parse a SQL query with the SLL prediction, then with the full LL prediction if it fails.
+	 * @param database Database schema
+	 * @param query SQL query
+	 * @param reportLine Report line of the query
+	 * @return Number of tokens read by the lexer
+	 */
+	private long parseQuery(final Database database, final CharSequence query, final ReportLine reportLine) {
+		final StatementKind statementKind = getStatementKind(query, reportLine);
+		if(!statementKind.isParsed()) {
+			throw new RuntimeException("No parse listener for the query : "+query);
 		}
 
-		// Fill database schema from SQL input stream read by ANTLR
-		if(query.toUpperCase().indexOf("CREATE TABLE") == 0) {
-			p.addParseListener(new CreateTableParseListener(p, database));
+		if(LOG.isDebugEnabled()) {
+			LOG.debug("Parse the query : \n{}", query);
 		}
-		else if(query.toUpperCase().indexOf("ALTER TABLE") == 0) {
-			p.addParseListener(new AlterTableParseListener(p, database));
+
+		// SLL prediction first, which is enough for almost all the queries : the parse tree
+		// is walked only if there is no error, so the database schema is filled only once
+		final Parser sllParser = SqlParserPool.getSllParser(new CharSequenceCharStream(SqlQuery.getText(query)), grammar, fastLexer, grammarProfile != null);
+
+		// Without parse tree, the listener fills a database schema of the query during the
+		// parsing, added to the database schema only if there is no error. The ALTER TABLE
+		// queries change the tables of the database schema, so their parse tree is walked.
+		Database queryDatabase = null;
+		if(!buildParseTree && (statementKind == StatementKind.CREATE_TABLE)) {
+			queryDatabase = new Database();
+			sllParser.setBuildParseTree(false);
+			sllParser.addParseListener(grammar.newParseListener(statementKind, sllParser, queryDatabase));
 		}
-		else {
-			throw new RuntimeException("No parse listener for the query : "+query);
+
+		ParserRuleContext parseTree;
+		RuntimeException error = null;
+		try {
+			parseTree = grammar.parse(sllParser);
+		} catch(final ParseCancellationException e) {
+			// syntax error : parsed again to report it
+			parseTree = null;
+		} catch(final UnexpectedCharException e) {
+			// the full LL prediction stops on the same character
+			parseTree = null;
+			error = e;
+		} catch(final RuntimeException e) {
+			if(queryDatabase == null) {
+				throw e;
+			}
+			// error of the parse listener : reported as an error of the parse tree walk
+			parseTree = null;
+			error = e;
+		}
+		if(grammarProfile != null) {
+			grammarProfile.add(sllParser.getParseInfo());
+		}
+		final long nbSllTokens = sllParser.getTokenStream().size();
+		if(error != null) {
+			reportLine.setReportLineStatus(ReportLineStatus.PARSING_ERROR);
+			reportLine.setMessage(error.getMessage());
+			return nbSllTokens;
 		}
+		if((parseTree != null) && (queryDatabase != null)) {
+			for(final Table table : queryDatabase.getTables()) {
+				database.addTable(table);
+			}
+			reportLine.setReportLineStatus(ReportLineStatus.PARSED);
+			return nbSllTokens;
+		}
+		if(parseTree != null) {
+			try {
+				ParseTreeWalker.DEFAULT.walk(grammar.newParseListener(statementKind, sllParser, database), parseTree);
+				reportLine.setReportLineStatus(ReportLineStatus.PARSED);
+			} catch(final Exception e) {
+				reportLine.setReportLineStatus(ReportLineStatus.PARSING_ERROR);
+				reportLine.setMessage(e.getMessage());
+			}
+			return nbSllTokens;
+		}
+
+		// Full LL prediction
+		getReport().incrementNbLlFallbacks();
+
+		final CharStream in = new CharSequenceCharStream(SqlQuery.getText(query));
+
+		// Errors catching
+		final SqlImportErrorListener listener = new SqlImportErrorListener();
+		listener.query = query;
+		listener.reportLine = reportLine;
+
+		// Lexer and parser of the thread
+		final Parser p = SqlParserPool.getParser(in, listener, grammar, fastLexer, grammarProfile != null);
+
+		// Fill database schema from SQL input stream read by ANTLR
+		p.addParseListener(grammar.newParseListener(statementKind, p, database));
 
 		try {
-			p.parse();
+			grammar.parse(p);
 			if(!listener.hasError) {
-				final ReportLine reportLine = getReport().getReportLineForQuery(query);
 				reportLine.setReportLineStatus(ReportLineStatus.PARSED);
 			}
 		} catch(final Exception e) {
-			final ReportLine reportLine = getReport().getReportLineForQuery(query);
 			reportLine.setReportLineStatus(ReportLineStatus.PARSING_ERROR);
 			reportLine.setMessage(e.getMessage());
 		}
+		if(grammarProfile != null) {
+			grammarProfile.add(p.getParseInfo());
+		}
+
+		return nbSllTokens + p.getTokenStream().size();
+	}
+
+	/**
+	 * Return the kind of the query.
+	 * @param query SQL query
+	 * @param reportLine Report line of the query : it contains the kind found when the query was filtered
+	 * @return Kind
+	 */
+	private StatementKind getStatementKind(final CharSequence query, final ReportLine reportLine) {
+		if((reportLine != null) && (reportLine.getStatementKind() != null)) {
+			return reportLine.getStatementKind();
+		}
+		return statementClassifier.classify(SqlQuery.getText(query));
+	}
 
+	/**
+	 * Get executor which parses the CREATE TABLE queries in parallel.
+	 * @return executor (null if the queries are parsed one after another)
+	 */
+	public ExecutorService getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * Set executor which parses the CREATE TABLE queries in parallel : for example a
+	 * {@link java.util.concurrent.ForkJoinPool}. The caller is responsible for shutting it down.
+	 * @param executor executor (null to parse the queries one after another)
+	 */
+	public void setExecutor(final ExecutorService executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Get grammar of the parser.
+	 * @return grammar
+	 */
+	public SqlGrammar getGrammar() {
+		return grammar;
+	}
+
+	/**
+	 * Set grammar of the parser : the DDL grammar parses CREATE TABLE and ALTER TABLE queries
+	 * faster than the full grammar.
+	 * @param grammar grammar (must not be null)
+	 */
+	public void setGrammar(final SqlGrammar grammar) {
+		this.grammar = grammar;
+	}
+
+	public boolean isFastLexer() {
+		return fastLexer;
+	}
+
+	/**
+	 * Read the tokens with {@link FastSqlLexer} instead of {@link SqlLexer} : the tokens are the same.
+	 * @param fastLexer true to read the tokens with the hand-written lexer
+	 */
+	public void setFastLexer(final boolean fastLexer) {
+		this.fastLexer = fastLexer;
+	}
+
+	public boolean isBuildParseTree() {
+		return buildParseTree;
+	}
+
+	/**
+	 * Build the parse tree of the CREATE TABLE queries, or fill the database schema only with
+	 * the parse listeners : the parse tree is not allocated, the listeners read the text of
+	 * the tokens. The queries with a syntax error are always parsed again with a parse tree.
+	 * @param buildParseTree false to parse the CREATE TABLE queries without parse tree
+	 */
+	public void setBuildParseTree(final boolean buildParseTree) {
+		this.buildParseTree = buildParseTree;
+	}
+
+	/**
+	 * Get profile of the decisions of the grammar.
+	 * @return profile (null if the parsing is not profiled)
+	 */
+	public GrammarProfile getGrammarProfile() {
+		return grammarProfile;
+	}
+
+	/**
+	 * Set profile of the decisions of the grammar : the queries are parsed with the profiling
+	 * ATN simulator of ANTLR, which is slower, and their decisions are added to the profile.
+	 * @param grammarProfile profile (null to parse without profiling)
+	 */
+	public void setGrammarProfile(final GrammarProfile grammarProfile) {
+		this.grammarProfile = grammarProfile;
+	}
+
+	/**
+	 * Get error budget of the import.
+	 * @return error budget (null if all the queries are parsed whatever the errors)
+	 */
+	public ErrorBudget getErrorBudget() {
+		return errorBudget;
+	}
+
+	/**
+	 * Set error budget of the import : the import stops with an {@link ErrorBudgetExceededException}
+	 * as soon as the queries with a parsing error exceed the budget.
+	 * @param errorBudget error budget (null to parse all the queries whatever the errors)
+	 */
+	public void setErrorBudget(final ErrorBudget errorBudget) {
+		this.errorBudget = errorBudget;
+	}
+
+	/**
+	 * Get dialect of the SQL content.
+	 * @return dialect (null if it is detected from the beginning of the content)
+	 */
+	public SqlDialect getDialect() {
+		return dialect;
+	}
+
+	/**
+	 * Set dialect of the SQL content, which defines how the queries are split.
+	 * @param dialect dialect (null to detect it from the beginning of the content)
+	 */
+	public void setDialect(final SqlDialect dialect) {
+		this.dialect = dialect;
 	}
 
 	/**
@@ -0,0 +1,202 @@
+package com.restlet.sqlimport.parser;
+
+import org.antlr.v4.runtime.ANTLRErrorListener;
+import org.antlr.v4.runtime.BaseErrorListener;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.DefaultErrorStrategy;
+import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.Recognizer;
+import org.antlr.v4.runtime.atn.PredictionMode;
+
+import com.restlet.sqlimport.log.Logger;
+
+/**
+ * Lexer and parsers of a thread, reused for all the SQL queries parsed by the thread : they
+ * are reset before each query instead of being created again, with their interpreters. The
+ * lexer is shared by the parsers of the grammars.
+ */
+public final class SqlParserPool {
+
+	/**
+	 * Logger.
+	 */
+	private static final Logger LOG = Logger.getLogger(SqlParserPool.class);
+
+	/**
+	 * Error listener of the lexers : the unexpected characters are skipped and logged.
+	 */
+	private static final BaseErrorListener LEXER_ERROR_LISTENER = new BaseErrorListener() {
+		@Override
+		public void syntaxError(final Recognizer<?, ?> recognizer, final Object offendingSymbol, final int line, final int charPositionInLine, final String msg, final RecognitionException e) {
+			LOG.warn("line {}:{} {}", line, charPositionInLine, msg);
+		}
+	};
+
+	/**
+	 * Lexer and parser of each thread.
+	 */
+	private static final ThreadLocal<SqlParserPool> POOL = new ThreadLocal<SqlParserPool>() {
+		@Override
+		protected SqlParserPool initialValue() {
+			return new SqlParserPool();
+		}
+	};
+
+	/**
+	 * Lexer.
+	 */
+	private final SqlLexer lexer;
+
+	/**
+	 * Hand-written lexer.
+	 */
+	private final FastSqlLexer fastLexer = new FastSqlLexer(null);
+
+	/**
+	 * Parser of each grammar, indexed by the ordinal of the grammar : created when the grammar
+	 * is used for the first time.
+	 */
+	private final Parser[] parsers = new Parser[SqlGrammar.values().length];
+
+	/**
+	 * Error strategy of the full LL prediction : report the errors and recover.
+	 */
+	private final DefaultErrorStrategy defaultErrorStrategy = new DefaultErrorStrategy();
+
+	/**
+	 * Error strategy of the SLL prediction : stop at the first error, without describing it.
+	 */
+	private final SllErrorStrategy sllErrorStrategy = new SllErrorStrategy();
+
+	/**
+	 * Constructor.
+	 */
+	private SqlParserPool() {
+		lexer = new SqlLexer(null);
+		lexer.removeErrorListeners();
+		lexer.addErrorListener(LEXER_ERROR_LISTENER);
+	}
+
+	/**
+	 * Return the parser of the current thread, ready to parse the query with the full LL
+	 * prediction : it has no parse listener and only the given error listener.
+	 * @param in SQL query
+	 * @param errorListener Error listener of the query
+	 * @return Parser
+	 */
+	public static SqlParser getParser(final CharStream in, final ANTLRErrorListener errorListener) {
+		return getParser(in, errorListener, false);
+	}
+
+	/**
+	 * Return the parser of the current thread, ready to parse the query with the full LL
+	 * prediction : it has no parse listener and only the given error listener.
+	 * @param in SQL query
+	 * @param errorListener Error listener of the query
+	 * @param profile true to profile the decisions of the query : see {@link SqlParser#getParseInfo()}
+	 * @return Parser
+	 */
+	public static SqlParser getParser(final CharStream in, final ANTLRErrorListener errorListener, final boolean profile) {
+		return (SqlParser) getParser(in, errorListener, SqlGrammar.FULL, false, profile);
+	}
+
+	/**
+	 * Return the parser of the grammar for the current thread, ready to parse the query with
+	 * the full LL prediction : it has no parse listener and only the given error listener.
+	 * @param in SQL query
+	 * @param errorListener Error listener of the query
+	 * @param grammar Grammar of the parser
+	 * @param fastLexer true to read the tokens with {@link FastSqlLexer} instead of {@link SqlLexer}
+	 * @param profile true to profile the decisions of the query : see {@link Parser#getParseInfo()}
+	 * @return Parser
+	 */
+	public static Parser getParser(final CharStream in, final ANTLRErrorListener errorListener, final SqlGrammar grammar, final boolean fastLexer, final boolean profile) {
+		final Parser parser = POOL.get().reset(in, grammar, fastLexer, PredictionMode.LL, profile);
+		parser.addErrorListener(errorListener);
+		return parser;
+	}
+
+	/**
+	 * Return the parser of the current thread, ready to parse the query with the SLL
+	 * prediction : it has no listener and it throws a
+	 * {@link org.antlr.v4.runtime.misc.ParseCancellationException} at the first syntax error.
+	 * @param in SQL query
+	 * @return Parser
+	 */
+	public static SqlParser getSllParser(final CharStream in) {
+		return getSllParser(in, false);
+	}
+
+	/**
+	 * Return the parser of the current thread, ready to parse the query with the SLL
+	 * prediction : it has no listener and it throws a
+	 * {@link org.antlr.v4.runtime.misc.ParseCancellationException} at the first syntax error.
+	 * @param in SQL query
+	 * @param profile true to profile the decisions of the query : see {@link SqlParser#getParseInfo()}
+	 * @return Parser
+	 */
+	public static SqlParser getSllParser(final CharStream in, final boolean profile) {
+		return (SqlParser) getSllParser(in, SqlGrammar.FULL, false, profile);
+	}
+
+	/**
+	 * Return the parser of the grammar for the current thread, ready to parse the query with
+	 * the SLL prediction : it has no listener and it throws a
+	 * {@link org.antlr.v4.runtime.misc.ParseCancellationException} at the first syntax error.
+	 * @param in SQL query
+	 * @param grammar Grammar of the parser
+	 * @param fastLexer true to read the tokens with {@link FastSqlLexer} instead of {@link SqlLexer}
+	 * @param profile true to profile the decisions of the query : see {@link Parser#getParseInfo()}
+	 * @return Parser
+	 */
+	public static Parser getSllParser(final CharStream in, final SqlGrammar grammar, final boolean fastLexer, final boolean profile) {
+		return POOL.get().reset(in, grammar, fastLexer, PredictionMode.SLL, profile);
+	}
+
+	/**
+	 * Reset the lexer and the parser of the grammar to parse the query.
+	 * @param in SQL query
+	 * @param grammar Grammar of the parser
+	 * @param fastLexer true to read the tokens with the hand-written lexer
+	 * @param predictionMode SLL with the bail error strategy, or LL with the default error strategy
+	 * @param profile true to profile the decisions of the query
+	 * @return Parser
+	 */
+	private Parser reset(final CharStream in, final SqlGrammar grammar, final boolean fastLexer, final PredictionMode predictionMode, final boolean profile) {
+		Parser parser = parsers[grammar.ordinal()];
+		if(parser == null) {
+			parser = grammar.newParser();
+			parsers[grammar.ordinal()] = parser;
+		}
+
+		// the error strategy is set first : setTokenStream resets it for the query
+		parser.setErrorHandler((predictionMode == PredictionMode.SLL) ? sllErrorStrategy : defaultErrorStrategy);
+
+		// the token stream is not reused : its end of file flag is not reset by setTokenSource
+		if(fastLexer) {
+			this.fastLexer.setInputStream(in);
+			parser.setTokenStream(new CommonTokenStream(this.fastLexer));
+		} else {
+			lexer.setInputStream(in);
+			parser.setTokenStream(new CommonTokenStream(lexer));
+		}
+
+		// a new profiling interpreter for each query, which shares the DFA of the grammar :
+		// its profile contains only the decisions of the query
+		parser.setProfile(false);
+		if(profile) {
+			parser.setProfile(true);
+		}
+
+		parser.setBuildParseTree(true);
+		parser.getInterpreter().setPredictionMode(predictionMode);
+
+		parser.removeParseListeners();
+		parser.removeErrorListeners();
+
+		return parser;
+	}
+
+}
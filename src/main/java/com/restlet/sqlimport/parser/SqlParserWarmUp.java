@@ -0,0 +1,104 @@
+package com.restlet.sqlimport.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Warm up of the SQL parser : the grammar of the lexer and of the parser (ATN) is
+ * deserialized when their classes are initialized, and the prediction DFA shared by all the
+ * parsers is filled by the first queries parsed. The warm up does this work in advance, for
+ * example on a background thread while the SQL file is opened and read.
+ */
+public final class SqlParserWarmUp {
+
+	/**
+	 * Representative DDL queries replayed to fill the prediction DFA.
+	 */
+	private static final String CORPUS = "warm-up.sql";
+
+	private SqlParserWarmUp() {
+	}
+
+	/**
+	 * Start the warm up on a background thread.
+	 * @param replayCorpus true to parse the representative DDL queries after the initialization of the grammar
+	 * @return Warm up thread (daemon thread, it does not prevent the JVM from exiting)
+	 */
+	public static Thread start(final boolean replayCorpus) {
+		return start(replayCorpus, SqlGrammar.FULL);
+	}
+
+	/**
+	 * Start the warm up of the parser of the grammar on a background thread.
+	 * @param replayCorpus true to parse the representative DDL queries after the initialization of the grammar
+	 * @param grammar Grammar of the parser
+	 * @return Warm up thread (daemon thread, it does not prevent the JVM from exiting)
+	 */
+	public static Thread start(final boolean replayCorpus, final SqlGrammar grammar) {
+		final Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				warmUp(replayCorpus, grammar);
+			}
+		}, "sql-parser-warm-up");
+		thread.setDaemon(true);
+		thread.start();
+		return thread;
+	}
+
+	/**
+	 * Warm up the parser on the current thread.
+	 * @param replayCorpus true to parse the representative DDL queries after the initialization of the grammar
+	 * @return Number of queries parsed without syntax error
+	 */
+	public static int warmUp(final boolean replayCorpus) {
+		return warmUp(replayCorpus, SqlGrammar.FULL);
+	}
+
+	/**
+	 * Warm up the parser of the grammar on the current thread.
+	 * @param replayCorpus true to parse the representative DDL queries after the initialization of the grammar
+	 * @param grammar Grammar of the parser
+	 * @return Number of queries parsed without syntax error
+	 */
+	public static int warmUp(final boolean replayCorpus, final SqlGrammar grammar) {
+		// initialize the classes : the grammar is deserialized by the static initializers
+		if((SqlLexer._ATN == null) || (grammar.getAtn() == null)) {
+			throw new IllegalStateException("SQL grammar not initialized");
+		}
+		if(!replayCorpus) {
+			return 0;
+		}
+
+		final InputStream in = SqlParserWarmUp.class.getResourceAsStream(CORPUS);
+		if(in == null) {
+			throw new IllegalStateException("Warm up queries not found : " + CORPUS);
+		}
+		int nbQuerys = 0;
+		try {
+			final Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+			try {
+				final SqlQueryReader sqlQueryReader = new SqlQueryReader(reader);
+				CharSequence query;
+				while((query = sqlQueryReader.readQuery()) != null) {
+					// parsed as the queries of the imported file are parsed first
+					try {
+						grammar.parse(SqlParserPool.getSllParser(new CharSequenceCharStream(query), grammar, false, false));
+						nbQuerys++;
+					} catch (final RuntimeException e) {
+						// syntax error : the warm up goes on with the next query
+					}
+				}
+			} finally {
+				reader.close();
+			}
+		} catch (final IOException e) {
+			throw new RuntimeException(e);
+		}
+		return nbQuerys;
+	}
+
+}
@@ -0,0 +1,80 @@
+package com.restlet.sqlimport.parser;
+
+/**
+ * SQL query read from the SQL content, with its identity : two identical queries of the
+ * content are two different queries, linked to their own report line.
+ */
+public class SqlQuery implements CharSequence {
+
+	/**
+	 * Ordinal of the query in the SQL content, from 0 : it is the id of its report line.
+	 */
+	private final int id;
+
+	/**
+	 * Position in the SQL content of the beginning of the query.
+	 */
+	private final long offset;
+
+	/**
+	 * Text of the query.
+	 */
+	private final CharSequence text;
+
+	/**
+	 * Constructor.
+	 * @param id Ordinal of the query in the SQL content
+	 * @param offset Position in the SQL content of the beginning of the query
+	 * @param text Text of the query
+	 */
+	public SqlQuery(final int id, final long offset, final CharSequence text) {
+		this.id = id;
+		this.offset = offset;
+		this.text = text;
+	}
+
+	/**
+	 * Return the text of the query : the parser reads its characters directly.
+	 * @param query Query
+	 * @return Text of the query
+	 */
+	public static CharSequence getText(final CharSequence query) {
+		if(query instanceof SqlQuery) {
+			return ((SqlQuery) query).getText();
+		}
+		return query;
+	}
+
+	@Override
+	public int length() {
+		return text.length();
+	}
+
+	@Override
+	public char charAt(final int index) {
+		return text.charAt(index);
+	}
+
+	@Override
+	public CharSequence subSequence(final int start, final int end) {
+		return text.subSequence(start, end);
+	}
+
+	@Override
+	public String toString() {
+		return text.toString();
+	}
+
+	public int getId() {
+		return id;
+	}
+
+	public long getOffset() {
+		return offset;
+	}
+
+	public CharSequence getText() {
+		return text;
+	}
+
+}
@@ -0,0 +1,632 @@
+package com.restlet.sqlimport.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+import com.restlet.sqlimport.util.MappedFile;
+
+/**
+ * Read SQL queries one by one from a character stream or from a mapped file.<br/>
+ * Queries are split by a table-driven state machine which reads each character once. It
+ * skips comments ("--", "/* *&#47;") and quoted values ('...', "...", `...`, with doubled
+ * quotes, and PostgreSQL $tag$...$tag$ dollar quotes). Backslash escaped quotes and nested
+ * comments depend on the {@link SqlDialect}, detected from the beginning of the content if
+ * it is not set.<br/>
+ * Only the characters of the query being read are kept in memory : the size of the
+ * buffer depends on the biggest query and not on the size of the SQL content. Queries
+ * of a mapped file are not copied at all.
+ */
+public class SqlQueryReader {
+
+	/**
+	 * Default size of the buffer.
+	 */
+	private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+	// Character classes
+	private static final int OTHER = 0;
+	/** a-z A-Z */
+	private static final int LETTER = 1;
+	/** 0-9 _ and non ASCII characters */
+	private static final int WORD = 2;
+	private static final int SEMICOLON = 3;
+	private static final int SLASH = 4;
+	private static final int STAR = 5;
+	private static final int DASH = 6;
+	private static final int NEW_LINE = 7;
+	private static final int SINGLE_QUOTE = 8;
+	private static final int DOUBLE_QUOTE = 9;
+	private static final int BACKTICK = 10;
+	private static final int BACKSLASH = 11;
+	private static final int DOLLAR = 12;
+	private static final int NB_CLASSES = 13;
+
+	// States : each state exists outside a query and inside a query
+	private static final int CODE = 0;
+	/** after "/" */
+	private static final int CODE_SLASH = 1;
+	/** after "-" */
+	private static final int CODE_DASH = 2;
+	private static final int LINE_COMMENT = 3;
+	private static final int BLOCK_COMMENT = 4;
+	/** after "*" in a multi-line comment */
+	private static final int BLOCK_COMMENT_STAR = 5;
+	/** after "/" in a multi-line comment */
+	private static final int BLOCK_COMMENT_SLASH = 6;
+	private static final int SINGLE_QUOTED = 7;
+	private static final int SINGLE_QUOTED_ESCAPE = 8;
+	private static final int DOUBLE_QUOTED = 9;
+	private static final int DOUBLE_QUOTED_ESCAPE = 10;
+	private static final int BACKTICK_QUOTED = 11;
+	private static final int DOLLAR_QUOTE = 12;
+	private static final int NB_STATES = 13;
+	private static final int OUTSIDE = 0;
+	private static final int INSIDE = NB_STATES;
+
+	// Actions (0 : no action)
+	private static final int START = 1;
+	private static final int END = 2;
+	private static final int OPEN_COMMENT = 3;
+	private static final int CLOSE_COMMENT = 4;
+	private static final int OPEN_DOLLAR_QUOTE = 5;
+	private static final int CLOSE_DOLLAR_QUOTE = 6;
+
+	/**
+	 * A transition is the next state and the action to do.
+	 */
+	private static final int ACTION_SHIFT = 16;
+	private static final int STATE_MASK = (1 << ACTION_SHIFT) - 1;
+
+	/**
+	 * Number of columns of {@link #TRANSITIONS} : one per ASCII character.
+	 */
+	private static final int NB_COLUMNS = 128;
+
+	/**
+	 * Class of the ASCII characters.
+	 */
+	private static final byte[] CHARACTER_CLASSES = new byte[NB_COLUMNS];
+
+	/**
+	 * Transitions of each dialect, by state (rows) and by ASCII character (columns) : a state
+	 * is stored as the index of its row, so that the next transition is found with one array
+	 * access.
+	 */
+	private static final int[][] TRANSITIONS = new int[SqlDialect.values().length][];
+
+	static {
+		for(char c = 'a'; c <= 'z'; c++) {
+			CHARACTER_CLASSES[c] = LETTER;
+			CHARACTER_CLASSES[Character.toUpperCase(c)] = LETTER;
+		}
+		for(char c = '0'; c <= '9'; c++) {
+			CHARACTER_CLASSES[c] = WORD;
+		}
+		CHARACTER_CLASSES['_'] = WORD;
+		CHARACTER_CLASSES[';'] = SEMICOLON;
+		CHARACTER_CLASSES['/'] = SLASH;
+		CHARACTER_CLASSES['*'] = STAR;
+		CHARACTER_CLASSES['-'] = DASH;
+		CHARACTER_CLASSES['\n'] = NEW_LINE;
+		CHARACTER_CLASSES['\r'] = NEW_LINE;
+		CHARACTER_CLASSES['\''] = SINGLE_QUOTE;
+		CHARACTER_CLASSES['"'] = DOUBLE_QUOTE;
+		CHARACTER_CLASSES['`'] = BACKTICK;
+		CHARACTER_CLASSES['\\'] = BACKSLASH;
+		CHARACTER_CLASSES['$'] = DOLLAR;
+
+		for(final SqlDialect dialect : SqlDialect.values()) {
+			TRANSITIONS[dialect.ordinal()] = buildTransitions(dialect);
+		}
+	}
+
+	/**
+	 * Build the transitions of a dialect.
+	 * @param dialect Dialect
+	 * @return Transitions by state and by ASCII character
+	 */
+	private static int[] buildTransitions(final SqlDialect dialect) {
+		// transitions by state and by character class
+		final int[][] byClass = new int[2 * NB_STATES][NB_CLASSES];
+		for(final int context : new int[] {OUTSIDE, INSIDE}) {
+			final int[] code = byClass[context + CODE];
+			Arrays.fill(code, context + CODE);
+			code[SLASH] = context + CODE_SLASH;
+			code[DASH] = context + CODE_DASH;
+			code[SINGLE_QUOTE] = context + SINGLE_QUOTED;
+			code[DOUBLE_QUOTE] = context + DOUBLE_QUOTED;
+			code[BACKTICK] = context + BACKTICK_QUOTED;
+			code[DOLLAR] = transition(context + CODE, OPEN_DOLLAR_QUOTE);
+			if(context == OUTSIDE) {
+				code[LETTER] = transition(INSIDE + CODE, START);
+			} else {
+				code[SEMICOLON] = transition(INSIDE + CODE, END);
+			}
+			// "/" and "-" which do not begin a comment are code
+			byClass[context + CODE_SLASH] = code.clone();
+			byClass[context + CODE_SLASH][STAR] = transition(context + BLOCK_COMMENT, OPEN_COMMENT);
+			byClass[context + CODE_DASH] = code.clone();
+			byClass[context + CODE_DASH][DASH] = context + LINE_COMMENT;
+
+			Arrays.fill(byClass[context + LINE_COMMENT], context + LINE_COMMENT);
+			byClass[context + LINE_COMMENT][NEW_LINE] = context + CODE;
+
+			Arrays.fill(byClass[context + BLOCK_COMMENT], context + BLOCK_COMMENT);
+			byClass[context + BLOCK_COMMENT][STAR] = context + BLOCK_COMMENT_STAR;
+			byClass[context + BLOCK_COMMENT][SLASH] = context + BLOCK_COMMENT_SLASH;
+			Arrays.fill(byClass[context + BLOCK_COMMENT_STAR], context + BLOCK_COMMENT);
+			byClass[context + BLOCK_COMMENT_STAR][STAR] = context + BLOCK_COMMENT_STAR;
+			byClass[context + BLOCK_COMMENT_STAR][SLASH] = transition(context + CODE, CLOSE_COMMENT);
+			Arrays.fill(byClass[context + BLOCK_COMMENT_SLASH], context + BLOCK_COMMENT);
+			byClass[context + BLOCK_COMMENT_SLASH][SLASH] = context + BLOCK_COMMENT_SLASH;
+			if(dialect.isNestedComments()) {
+				byClass[context + BLOCK_COMMENT_SLASH][STAR] = transition(context + BLOCK_COMMENT, OPEN_COMMENT);
+			} else {
+				// the "*" of "/*" in a comment may begin its end
+				byClass[context + BLOCK_COMMENT_SLASH][STAR] = context + BLOCK_COMMENT_STAR;
+			}
+
+			Arrays.fill(byClass[context + SINGLE_QUOTED], context + SINGLE_QUOTED);
+			byClass[context + SINGLE_QUOTED][SINGLE_QUOTE] = context + CODE;
+			Arrays.fill(byClass[context + SINGLE_QUOTED_ESCAPE], context + SINGLE_QUOTED);
+
+			Arrays.fill(byClass[context + DOUBLE_QUOTED], context + DOUBLE_QUOTED);
+			byClass[context + DOUBLE_QUOTED][DOUBLE_QUOTE] = context + CODE;
+			Arrays.fill(byClass[context + DOUBLE_QUOTED_ESCAPE], context + DOUBLE_QUOTED);
+			if(dialect.isBackslashEscapes()) {
+				byClass[context + SINGLE_QUOTED][BACKSLASH] = context + SINGLE_QUOTED_ESCAPE;
+				byClass[context + DOUBLE_QUOTED][BACKSLASH] = context + DOUBLE_QUOTED_ESCAPE;
+			}
+
+			Arrays.fill(byClass[context + BACKTICK_QUOTED], context + BACKTICK_QUOTED);
+			byClass[context + BACKTICK_QUOTED][BACKTICK] = context + CODE;
+
+			Arrays.fill(byClass[context + DOLLAR_QUOTE], context + DOLLAR_QUOTE);
+			byClass[context + DOLLAR_QUOTE][DOLLAR] = transition(context + DOLLAR_QUOTE, CLOSE_DOLLAR_QUOTE);
+		}
+
+		// one column per character, and states replaced by their row
+		final int[] transitions = new int[2 * NB_STATES * NB_COLUMNS];
+		for(int state = 0; state < byClass.length; state++) {
+			for(int c = 0; c < NB_COLUMNS; c++) {
+				final int transition = byClass[state][CHARACTER_CLASSES[c]];
+				transitions[row(state) + c] = row(transition & STATE_MASK) | (transition & ~STATE_MASK);
+			}
+		}
+		return transitions;
+	}
+
+	/**
+	 * Return the first index of the transitions of a state.
+	 * @param state State
+	 * @return Index in {@link #TRANSITIONS}
+	 */
+	private static int row(final int state) {
+		return state * NB_COLUMNS;
+	}
+
+	/**
+	 * Return a transition.
+	 * @param state Next state
+	 * @param action Action
+	 * @return Transition
+	 */
+	private static int transition(final int state, final int action) {
+		return state | (action << ACTION_SHIFT);
+	}
+
+	/**
+	 * Character stream (null if the content is a mapped file).
+	 */
+	private final Reader reader;
+
+	/**
+	 * Mapped file (null if the content is a character stream).
+	 */
+	private final MappedFile mappedFile;
+
+	/**
+	 * Buffer which contains the characters from the beginning of the current query.
+	 */
+	private char[] buffer;
+
+	/**
+	 * Position in the SQL content of the first character of the buffer.
+	 */
+	private long bufferOffset = 0;
+
+	/**
+	 * Number of characters in the buffer.
+	 */
+	private int limit = 0;
+
+	/**
+	 * Position in the SQL content of the next character to read.
+	 */
+	private long position = 0;
+
+	/**
+	 * Position in the SQL content of the beginning of the current query (-1 if none).
+	 */
+	private long queryStart = -1;
+
+	/**
+	 * Position in the SQL content of the beginning of the last query read (-1 if none).
+	 */
+	private long queryOffset = -1;
+
+	/**
+	 * Indicates if the end of the character stream is reached.
+	 */
+	private boolean endOfStream = false;
+
+	/**
+	 * Position in the SQL content which must stay in the buffer while reading ahead (-1 if none).
+	 */
+	private long mark = -1;
+
+	/**
+	 * Depth of the current nested multi-line comments.
+	 */
+	private int commentDepth = 0;
+
+	/**
+	 * Tag of the current dollar quote.
+	 */
+	private final StringBuilder dollarTag = new StringBuilder();
+
+	/**
+	 * Dialect of the SQL content (null until it is detected).
+	 */
+	private SqlDialect dialect;
+
+	/**
+	 * Transitions of the dialect (null until the dialect is detected).
+	 */
+	private int[] transitions;
+
+	/**
+	 * State at the end of the content.
+	 */
+	private int endState = row(OUTSIDE + CODE);
+
+	/**
+	 * Query which is not ended at the end of the content because a quoted value or a comment
+	 * is not closed (null if none).
+	 */
+	private CharSequence unterminatedQuery;
+
+	/**
+	 * Constructor.
+	 * @param reader Character stream (must not be null)
+	 */
+	public SqlQueryReader(final Reader reader) {
+		this(reader, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Constructor.
+	 * @param reader Character stream (must not be null)
+	 * @param bufferSize Initial size of the buffer
+	 */
+	SqlQueryReader(final Reader reader, final int bufferSize) {
+		this.reader = reader;
+		this.mappedFile = null;
+		this.buffer = new char[bufferSize];
+	}
+
+	/**
+	 * Constructor.
+	 * @param mappedFile Mapped file (must not be null) : queries are slices of the file
+	 */
+	public SqlQueryReader(final MappedFile mappedFile) {
+		this.reader = null;
+		this.mappedFile = mappedFile;
+	}
+
+	/**
+	 * Return the next SQL query, without the ending ";".<br/>
+	 * A query which is not ended by ";" at the end of the content is not returned.
+	 * @return SQL query or null if there is no more query
+	 * @throws IOException Error while reading the character stream
+	 */
+	public CharSequence readQuery() throws IOException {
+		if(transitions == null) {
+			if(dialect == null) {
+				dialect = SqlDialect.detect(readHeader());
+			}
+			transitions = TRANSITIONS[dialect.ordinal()];
+		}
+		final long posEnd = scan();
+		if(posEnd == -1) {
+			queryOffset = -1;
+			// the states after the line comment are the comments and the quoted values
+			if((queryStart != -1) && (endState >= row(INSIDE + BLOCK_COMMENT)) && (unterminatedQuery == null)) {
+				unterminatedQuery = getText(queryStart, getEnd());
+				queryOffset = queryStart;
+			}
+			position = Long.MAX_VALUE;
+			queryStart = -1;
+			return null;
+		}
+		final CharSequence query = getText(queryStart, posEnd);
+		queryOffset = queryStart;
+		queryStart = -1;
+		position = posEnd + 1;
+		return query;
+	}
+
+	/**
+	 * Return the characters of the current query.
+	 * @param start Position of the first character
+	 * @param end Position after the last character
+	 * @return Characters : a slice of the mapped file or a copy of the buffer
+	 */
+	private CharSequence getText(final long start, final long end) {
+		if(mappedFile != null) {
+			return mappedFile.subSequence(start, end);
+		}
+		return new String(buffer, (int) (start - bufferOffset), (int) (end - start));
+	}
+
+	/**
+	 * Return the position of the end of the content, once it is reached.
+	 * @return Position
+	 */
+	private long getEnd() {
+		return (mappedFile != null) ? mappedFile.length() : (bufferOffset + limit);
+	}
+
+	/**
+	 * Read the beginning of the SQL content, which is kept to be scanned.
+	 * @return Beginning of the content
+	 * @throws IOException Error while reading the character stream
+	 */
+	private String readHeader() throws IOException {
+		mark = 0;
+		try {
+			final StringBuilder header = new StringBuilder();
+			int character;
+			while((header.length() < SqlDialect.HEADER_LENGTH) && ((character = charAt(header.length())) != -1)) {
+				header.append((char) character);
+			}
+			return header.toString();
+		} finally {
+			mark = -1;
+		}
+	}
+
+	/**
+	 * Return the position in the SQL content of the beginning of the last query read : in
+	 * characters, or in bytes for a mapped file.
+	 * @return Position (-1 if there is no query read)
+	 */
+	public long getQueryOffset() {
+		return queryOffset;
+	}
+
+	/**
+	 * Return the query which is not ended at the end of the content because one of its
+	 * quoted values or comments is not closed : the rest of the content is in this query.
+	 * Its position is the query offset once {@link #readQuery()} returned null.
+	 * @return Query (null if the content does not end in a quoted value or a comment)
+	 */
+	public CharSequence getUnterminatedQuery() {
+		return unterminatedQuery;
+	}
+
+	public SqlDialect getDialect() {
+		return dialect;
+	}
+
+	/**
+	 * Set dialect of the SQL content, before the first query is read.
+	 * @param dialect dialect (null to detect it from the beginning of the content)
+	 */
+	public void setDialect(final SqlDialect dialect) {
+		this.dialect = dialect;
+	}
+
+	/**
+	 * Find the next SQL query in a single pass : the beginning of the query is the first letter
+	 * outside comments and quoted values, and the end is the first ";" outside comments and
+	 * quoted values after it. The beginning is stored in {@link #queryStart}.
+	 * @return Position of the ";" which ends the query or -1 if the end of the content is reached
+	 * @throws IOException Error while reading the character stream
+	 */
+	private long scan() throws IOException {
+		int state = row(OUTSIDE + CODE);
+		int previousCharacter = ' ';
+		long pos = position;
+
+		// characters of the buffer which can be read without filling it (none for a mapped file)
+		char[] window = buffer;
+		long windowOffset = bufferOffset;
+		long windowEnd = (mappedFile == null) ? (bufferOffset + limit) : 0;
+
+		while(true) {
+			final int character;
+			if(pos < windowEnd) {
+				character = window[(int) (pos - windowOffset)];
+			} else {
+				character = charAt(pos);
+				if(character == -1) {
+					break;
+				}
+				if(mappedFile == null) {
+					window = buffer;
+					windowOffset = bufferOffset;
+					windowEnd = bufferOffset + limit;
+				}
+			}
+			// non ASCII characters are word characters, like "_"
+			final int transition = transitions[state + ((character < NB_COLUMNS) ? character : '_')];
+			state = transition & STATE_MASK;
+			if(transition > STATE_MASK) {
+				switch(transition >>> ACTION_SHIFT) {
+				case START:
+					queryStart = pos;
+					break;
+				case END:
+					return pos;
+				case OPEN_COMMENT:
+					commentDepth++;
+					break;
+				case CLOSE_COMMENT:
+					commentDepth--;
+					if(commentDepth > 0) {
+						state += row(BLOCK_COMMENT - CODE);
+					}
+					break;
+				case OPEN_DOLLAR_QUOTE:
+					// "$" in an identifier or a positional parameter ("$1") does not open a quote
+					if(!isWordCharacter(previousCharacter) && (previousCharacter != '$')) {
+						final long posTagEnd = readDollarTag(pos);
+						// reading ahead may have filled the buffer
+						windowEnd = 0;
+						if(posTagEnd != -1) {
+							state += row(DOLLAR_QUOTE - CODE);
+							pos = posTagEnd;
+						}
+					}
+					break;
+				case CLOSE_DOLLAR_QUOTE:
+					final boolean closed = isDollarTag(pos);
+					windowEnd = 0;
+					if(closed) {
+						state -= row(DOLLAR_QUOTE - CODE);
+						pos += dollarTag.length() + 1;
+					}
+					break;
+				default:
+					break;
+				}
+			}
+			previousCharacter = character;
+			pos++;
+		}
+
+		endState = state;
+		return -1;
+	}
+
+	/**
+	 * Indicates if the character may be a part of an identifier.
+	 * @param character Character
+	 * @return true for letters, digits, "_" and non ASCII characters
+	 */
+	private static boolean isWordCharacter(final int character) {
+		return (character >= NB_COLUMNS) || (CHARACTER_CLASSES[character] == LETTER) || (CHARACTER_CLASSES[character] == WORD);
+	}
+
+	/**
+	 * Read the tag of a dollar quote ("$$" or "$tag$") and store it in {@link #dollarTag}.
+	 * @param pos Position of the first "$"
+	 * @return Position of the second "$" or -1 if the characters are not a dollar quote tag
+	 * @throws IOException Error while reading the character stream
+	 */
+	private long readDollarTag(final long pos) throws IOException {
+		mark = pos;
+		try {
+			dollarTag.setLength(0);
+			long i = pos + 1;
+			int character = charAt(i);
+			// the tag does not begin with a digit
+			if((character >= '0') && (character <= '9')) {
+				return -1;
+			}
+			while((character != -1) && (character != '$')) {
+				if(!isWordCharacter(character)) {
+					return -1;
+				}
+				dollarTag.append((char) character);
+				character = charAt(++i);
+			}
+			return (character == '$') ? i : -1;
+		} finally {
+			mark = -1;
+		}
+	}
+
+	/**
+	 * Indicates if the characters at the given position are the tag of the current dollar quote.
+	 * @param pos Position of the first "$"
+	 * @return true if the characters close the dollar quote
+	 * @throws IOException Error while reading the character stream
+	 */
+	private boolean isDollarTag(final long pos) throws IOException {
+		mark = pos;
+		try {
+			final int length = dollarTag.length();
+			for(int i = 0; i < length; i++) {
+				if(charAt(pos + 1 + i) != dollarTag.charAt(i)) {
+					return false;
+				}
+			}
+			return charAt(pos + 1 + length) == '$';
+		} finally {
+			mark = -1;
+		}
+	}
+
+	/**
+	 * Return the character at the given position in the SQL content.
+	 * @param pos Position in the SQL content
+	 * @return Character or -1 if the position is after the end of the content
+	 * @throws IOException Error while reading the character stream
+	 */
+	private int charAt(final long pos) throws IOException {
+		if(mappedFile != null) {
+			// bytes of multi-bytes UTF-8 characters are never ASCII characters
+			return (pos < mappedFile.length()) ? mappedFile.byteAt(pos) : -1;
+		}
+		while(pos >= (bufferOffset + limit)) {
+			if(!fill(pos)) {
+				return -1;
+			}
+		}
+		return buffer[(int) (pos - bufferOffset)];
+	}
+
+	/**
+	 * Read the next characters of the stream into the buffer.<br/>
+	 * Characters before the current query (or before the position being read if there is no
+	 * current query) are discarded, and the buffer grows if the current query does not fit.
+	 * @param pos Position being read
+	 * @return false if the end of the character stream is reached
+	 * @throws IOException Error while reading the character stream
+	 */
+	private boolean fill(final long pos) throws IOException {
+		if(endOfStream) {
+			return false;
+		}
+		// keep the current query and the characters read ahead
+		long keepFrom = pos;
+		if((queryStart != -1) && (queryStart < keepFrom)) {
+			keepFrom = queryStart;
+		}
+		if((mark != -1) && (mark < keepFrom)) {
+			keepFrom = mark;
+		}
+		final int discard = (int) Math.max(0, Math.min(keepFrom - bufferOffset, limit));
+		if(discard > 0) {
+			System.arraycopy(buffer, discard, buffer, 0, limit - discard);
+			limit -= discard;
+			bufferOffset += discard;
+		}
+		if(limit == buffer.length) {
+			final char[] newBuffer = new char[buffer.length * 2];
+			System.arraycopy(buffer, 0, newBuffer, 0, limit);
+			buffer = newBuffer;
+		}
+		final int nb = reader.read(buffer, limit, buffer.length - limit);
+		if(nb == -1) {
+			endOfStream = true;
+			return false;
+		}
+		limit += nb;
+		return true;
+	}
+
+}
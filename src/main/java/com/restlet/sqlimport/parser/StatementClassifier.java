@@ -0,0 +1,197 @@
+package com.restlet.sqlimport.parser;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+import com.restlet.sqlimport.report.StatementKind;
+
+/**
+ * Find the kind of a SQL query without copying it.<br/>
+ * The leading keywords are compared in place ignoring the case, and the keywords of an
+ * ALTER TABLE are searched in a single pass by an Aho-Corasick automaton.
+ */
+public final class StatementClassifier {
+
+	// Keywords searched in an ALTER TABLE : a bit by keyword
+	private static final int ADD_CONSTRAINT = 1;
+	private static final int PRIMARY_KEY = 1 << 1;
+	private static final int FOREIGN_KEY = 1 << 2;
+	private static final int ADD_PRIMARY_KEY = 1 << 3;
+	private static final int ADD_FOREIGN_KEY = 1 << 4;
+	private static final String[] KEYWORDS = {
+		"ADD CONSTRAINT", "PRIMARY KEY", "FOREIGN KEY", "ADD PRIMARY KEY", "ADD FOREIGN KEY"
+	};
+
+	/**
+	 * Column of the characters in {@link #GOTO} : 0 for the characters which are not in
+	 * the keywords, lower case letters have the column of the upper case letters.
+	 */
+	private static final byte[] COLUMNS = new byte[128];
+
+	/**
+	 * Number of columns.
+	 */
+	private static final int NB_COLUMNS;
+
+	/**
+	 * Next state by state (rows) and by character column : the automaton is complete, so
+	 * the failure links are already followed.
+	 */
+	private static final int[] GOTO;
+
+	/**
+	 * Keywords found by state (bits).
+	 */
+	private static final int[] OUTPUTS;
+
+	static {
+		int nbColumns = 1;
+		for(final String keyword : KEYWORDS) {
+			for(final char c : keyword.toCharArray()) {
+				if(COLUMNS[c] == 0) {
+					COLUMNS[c] = (byte) nbColumns;
+					if(Character.isLetter(c)) {
+						COLUMNS[Character.toLowerCase(c)] = (byte) nbColumns;
+					}
+					nbColumns++;
+				}
+			}
+		}
+		NB_COLUMNS = nbColumns;
+
+		// trie of the keywords
+		final List<int[]> trie = new ArrayList<int[]>();
+		final List<Integer> outputs = new ArrayList<Integer>();
+		trie.add(new int[NB_COLUMNS]);
+		outputs.add(0);
+		for(int i = 0; i < KEYWORDS.length; i++) {
+			int state = 0;
+			for(final char c : KEYWORDS[i].toCharArray()) {
+				if(trie.get(state)[COLUMNS[c]] == 0) {
+					trie.get(state)[COLUMNS[c]] = trie.size();
+					trie.add(new int[NB_COLUMNS]);
+					outputs.add(0);
+				}
+				state = trie.get(state)[COLUMNS[c]];
+			}
+			outputs.set(state, outputs.get(state) | (1 << i));
+		}
+
+		// failure links followed in breadth first order
+		final int nbStates = trie.size();
+		GOTO = new int[nbStates * NB_COLUMNS];
+		OUTPUTS = new int[nbStates];
+		final int[] failure = new int[nbStates];
+		final Queue<Integer> queue = new ArrayDeque<Integer>();
+		queue.add(0);
+		while(!queue.isEmpty()) {
+			final int state = queue.poll();
+			// the failure state is nearer to the root, so its output is already complete
+			OUTPUTS[state] = outputs.get(state) | OUTPUTS[failure[state]];
+			for(int column = 0; column < NB_COLUMNS; column++) {
+				final int child = trie.get(state)[column];
+				if((child != 0) && (column != 0)) {
+					failure[child] = (state == 0) ? 0 : GOTO[(failure[state] * NB_COLUMNS) + column];
+					GOTO[(state * NB_COLUMNS) + column] = child;
+					queue.add(child);
+				} else {
+					GOTO[(state * NB_COLUMNS) + column] = (state == 0) ? 0 : GOTO[(failure[state] * NB_COLUMNS) + column];
+				}
+			}
+		}
+	}
+
+	/**
+	 * Return the kind of the query.
+	 * @param query SQL query, which begins with its first keyword
+	 * @return Kind
+	 */
+	public StatementKind classify(final CharSequence query) {
+		if(query == null) {
+			return StatementKind.OTHER;
+		}
+		int pos = matchKeyword(query, 0, "CREATE");
+		if(pos != -1) {
+			return (matchNextKeyword(query, pos, "TABLE") != -1) ? StatementKind.CREATE_TABLE : StatementKind.OTHER;
+		}
+		pos = matchKeyword(query, 0, "ALTER");
+		if(pos != -1) {
+			pos = matchNextKeyword(query, pos, "TABLE");
+			if((pos != -1) && isKeyAdded(query, pos)) {
+				return StatementKind.ALTER_TABLE;
+			}
+		}
+		return StatementKind.OTHER;
+	}
+
+	/**
+	 * Indicates if the ALTER TABLE query adds a primary key or a foreign key.
+	 * @param query SQL query
+	 * @param pos Position after ALTER TABLE
+	 * @return boolean
+	 */
+	private boolean isKeyAdded(final CharSequence query, final int pos) {
+		int state = 0;
+		int found = 0;
+		final int length = query.length();
+		for(int i = pos; i < length; i++) {
+			final char c = query.charAt(i);
+			state = GOTO[(state * NB_COLUMNS) + ((c < COLUMNS.length) ? COLUMNS[c] : 0)];
+			if(OUTPUTS[state] != 0) {
+				found |= OUTPUTS[state];
+				if(((found & (ADD_PRIMARY_KEY | ADD_FOREIGN_KEY)) != 0)
+						|| (((found & ADD_CONSTRAINT) != 0) && ((found & (PRIMARY_KEY | FOREIGN_KEY)) != 0))) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Match a keyword after the spaces which follow the previous keyword.
+	 * @param query SQL query
+	 * @param pos Position after the previous keyword
+	 * @param keyword Keyword in upper case
+	 * @return Position after the keyword or -1 if the keyword does not match
+	 */
+	private int matchNextKeyword(final CharSequence query, final int pos, final String keyword) {
+		int i = pos;
+		while((i < query.length()) && Character.isWhitespace(query.charAt(i))) {
+			i++;
+		}
+		if(i == pos) {
+			return -1;
+		}
+		return matchKeyword(query, i, keyword);
+	}
+
+	/**
+	 * Match a keyword ignoring the case : the keyword must not be followed by a letter, a
+	 * digit or "_".
+	 * @param query SQL query
+	 * @param pos Position of the keyword
+	 * @param keyword Keyword in upper case
+	 * @return Position after the keyword or -1 if the keyword does not match
+	 */
+	private int matchKeyword(final CharSequence query, final int pos, final String keyword) {
+		final int end = pos + keyword.length();
+		if(end > query.length()) {
+			return -1;
+		}
+		for(int i = 0; i < keyword.length(); i++) {
+			// only ASCII letters are converted to upper case
+			final char c = query.charAt(pos + i);
+			if(((c >= 'a') && (c <= 'z') ? (char) (c - ('a' - 'A')) : c) != keyword.charAt(i)) {
+				return -1;
+			}
+		}
+		if((end < query.length()) && (Character.isLetterOrDigit(query.charAt(end)) || (query.charAt(end) == '_'))) {
+			return -1;
+		}
+		return end;
+	}
+
+}
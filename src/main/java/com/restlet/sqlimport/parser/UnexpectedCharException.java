@@ -0,0 +1,20 @@
+package com.restlet.sqlimport.parser;
+
+/**
+ * Unexpected character in a SQL query, thrown by the error rule of the grammar : the
+ * exception has no stack trace, as it is thrown for each query with an unexpected character
+ * and only its message is reported.
+ */
+public class UnexpectedCharException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Constructor.
+	 * @param text Unexpected character
+	 */
+	public UnexpectedCharException(final String text) {
+		super("UNEXPECTED_CHAR=" + text, null, false, false);
+	}
+
+}
@@ -0,0 +1,26 @@
+package com.restlet.sqlimport.report;
+
+/**
+ * Phase of the SQL import, in the order of the import.
+ */
+public enum Phase {
+
+	/** Split of the SQL content into queries */
+	SPLIT,
+
+	/** Parsing of the CREATE TABLE and ALTER TABLE queries */
+	PARSE,
+
+	/** Conversion of the SQL types to the Entity store types */
+	CONVERT,
+
+	/** Validation of the database schema */
+	VALIDATE,
+
+	/** Mapping of the database schema to Resdef */
+	MAP,
+
+	/** Serialization of Resdef to JSON */
+	SERIALIZE,
+
+}
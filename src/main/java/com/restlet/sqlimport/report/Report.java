@@ -29,11 +29,31 @@ public class Report {
 	 */
 	private List<ReportLine> reportLines = new ArrayList<ReportLine>();
 
+	/**
+	 * Report lines of the queries, indexed by the id of the query.
+	 */
+	private final List<ReportLine> reportLinesByQueryId = new ArrayList<ReportLine>();
+
 	/**
 	 * Number of created entities
 	 */
 	private int nbCreatedEntity;
 
+	/**
+	 * Number of queries parsed again with the full LL prediction because the SLL prediction failed.
+	 */
+	private int nbLlFallbacks;
+
+	/**
+	 * true if the result of the import was read from the result cache.
+	 */
+	private boolean cached;
+
+	/**
+	 * Metrics of the import.
+	 */
+	private final ReportMetrics metrics = new ReportMetrics();
+
 	/**
 	 * Database schema.
 	 */
@@ -75,6 +95,7 @@ public class Report {
 			out.append("\n - Level : Info");
 		}
 		out.append("\n - Date : ").append(sdf.format(date));
+		out.append("\n - Parsed again with full LL prediction : ").append(getNbLlFallbacks());
 		out.append("\n - Content : ");
 		for(final ReportLine reportLine : reportLines) {
 			if( (reportLine.getReportLineStatus() == ReportLineStatus.IGNORED)
@@ -168,6 +189,10 @@ public class Report {
 			out.append("\n - Location : SQL schema import failed : no table definition found in the SQL file content");
 			out.append("\n - Content : No entity created");
 		}
+		if(reportStatus == ReportStatus.ERROR_BUDGET_EXCEEDED) {
+			out.append("\n - Location : SQL schema import stopped : "+metrics.getNbStatementsFailed()+" queries with a parsing error");
+			out.append("\n - Content : No entity created");
+		}
 		out.append("\n - Date : ").append(sdf.format(date));
 		out.append("\n - Type : SQL schema import");
 		out.append("\n");
@@ -190,6 +215,34 @@ public class Report {
 	 */
 	public void add(final ReportLine reportLine) {
 		reportLines.add(reportLine);
+		index(reportLine);
+	}
+
+	/**
+	 * Index the report line by the id of its query.
+	 * @param reportLine Report line
+	 */
+	private void index(final ReportLine reportLine) {
+		final int queryId = reportLine.getQueryId();
+		if(queryId < 0) {
+			return;
+		}
+		while(reportLinesByQueryId.size() <= queryId) {
+			reportLinesByQueryId.add(null);
+		}
+		reportLinesByQueryId.set(queryId, reportLine);
+	}
+
+	/**
+	 * Return report line of the query which has this id.
+	 * @param queryId Id of the query
+	 * @return report line (null if not found)
+	 */
+	public ReportLine getReportLineForQueryId(final int queryId) {
+		if((queryId < 0) || (queryId >= reportLinesByQueryId.size())) {
+			return null;
+		}
+		return reportLinesByQueryId.get(queryId);
 	}
 
 	/**
@@ -210,16 +263,25 @@ public class Report {
 	}
 
 	/**
-	 * Return report line corresponding to a query
+	 * Return report line corresponding to a query, found by its text : the queries which have
+	 * an id are found by {@link #getReportLineForQueryId(int)}.
 	 * @param query SQL Query
 	 * @return report line
 	 */
-	public ReportLine getReportLineForQuery(final String query) {
+	public ReportLine getReportLineForQuery(final CharSequence query) {
 		if(query == null) {
 			return null;
 		}
+		// the queries are often the instances stored in the report lines :
+		// look for the instance first to avoid decoding queries of mapped files
+		for(final ReportLine reportLine : reportLines) {
+			if(reportLine.isSameQuery(query)) {
+				return reportLine;
+			}
+		}
+		final String queryAsString = query.toString();
 		for(final ReportLine reportLine : reportLines) {
-			if(query.equals(reportLine.getQuery())) {
+			if(queryAsString.equals(reportLine.getQuery())) {
 				return reportLine;
 			}
 		}
@@ -244,6 +306,10 @@ public class Report {
 
 	public void setReportLines(final List<ReportLine> messages) {
 		this.reportLines = messages;
+		reportLinesByQueryId.clear();
+		for(final ReportLine reportLine : messages) {
+			index(reportLine);
+		}
 	}
 
 	public ReportStatus getReportStatus() {
@@ -262,6 +328,33 @@ public class Report {
 		return nbCreatedEntity;
 	}
 
+	/**
+	 * Count a query parsed again with the full LL prediction : queries may be parsed in parallel.
+	 */
+	public synchronized void incrementNbLlFallbacks() {
+		nbLlFallbacks++;
+	}
+
+	public synchronized int getNbLlFallbacks() {
+		return nbLlFallbacks;
+	}
+
+	public synchronized void setNbLlFallbacks(final int nbLlFallbacks) {
+		this.nbLlFallbacks = nbLlFallbacks;
+	}
+
+	public boolean isCached() {
+		return cached;
+	}
+
+	public void setCached(final boolean cached) {
+		this.cached = cached;
+	}
+
+	public ReportMetrics getMetrics() {
+		return metrics;
+	}
+
 	public Date getDate() {
 		return date;
 	}
@@ -10,9 +10,26 @@ public class ReportLine {
 	 */
 	private String message;
 	/**
-	 * Query.
+	 * Ordinal of the query in the SQL content (-1 if the line is not about a query).
 	 */
-	private String query;
+	private int queryId = -1;
+	/**
+	 * Position in the SQL content of the beginning of the query (-1 if the line is not about a query).
+	 */
+	private long queryOffset = -1;
+	/**
+	 * Number of characters of the query (-1 if the line is not about a query).
+	 */
+	private int queryLength = -1;
+	/**
+	 * Query : it may be a slice of a mapped file which is decoded only when displayed.
+	 * For an ignored query, only its first characters are kept.
+	 */
+	private CharSequence query;
+	/**
+	 * Kind of the query.
+	 */
+	private StatementKind statementKind;
 	/**
 	 * Status.
 	 */
@@ -53,12 +70,47 @@ public class ReportLine {
 	public void setMessage(final String message) {
 		this.message = message;
 	}
+	public int getQueryId() {
+		return queryId;
+	}
+	public void setQueryId(final int queryId) {
+		this.queryId = queryId;
+	}
+	public long getQueryOffset() {
+		return queryOffset;
+	}
+	public void setQueryOffset(final long queryOffset) {
+		this.queryOffset = queryOffset;
+	}
+	public int getQueryLength() {
+		return queryLength;
+	}
+	public void setQueryLength(final int queryLength) {
+		this.queryLength = queryLength;
+	}
 	public String getQuery() {
-		return query;
+		if(query == null) {
+			return null;
+		}
+		return query.toString();
 	}
-	public void setQuery(final String query) {
+	public void setQuery(final CharSequence query) {
 		this.query = query;
 	}
+	/**
+	 * Indicates if the query of this line is the given query instance.
+	 * @param query Query
+	 * @return boolean
+	 */
+	boolean isSameQuery(final CharSequence query) {
+		return this.query == query;
+	}
+	public StatementKind getStatementKind() {
+		return statementKind;
+	}
+	public void setStatementKind(final StatementKind statementKind) {
+		this.statementKind = statementKind;
+	}
 	public ReportLineStatus getReportLineStatus() {
 		return reportLineStatus;
 	}
@@ -1,6 +1,12 @@
 package com.restlet.sqlimport.report;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.text.SimpleDateFormat;
+import java.util.Locale;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 
 import com.restlet.sqlimport.model.resdef.Entity;
 import com.restlet.sqlimport.model.resdef.Field;
@@ -14,6 +20,11 @@ import com.restlet.sqlimport.model.sql.Table;
  */
 public class ReportManager {
 
+	/**
+	 * Factory of the JSON generators.
+	 */
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
 	private final SimpleDateFormat sdf = new SimpleDateFormat("dd/MM/yyyy hh:mm");
 
 	/**
@@ -30,6 +41,7 @@ public class ReportManager {
 		out.append(getTrace4(report));
 		out.append(getTrace5(report));
 		out.append(getTrace6(report));
+		out.append(getTrace7(report));
 
 		return out.toString();
 	}
@@ -80,6 +92,7 @@ public class ReportManager {
 			out.append("\n - Level : Info");
 		}
 		out.append("\n - Date : ").append(sdf.format(report.getDate()));
+		out.append("\n - Parsed again with full LL prediction : ").append(report.getNbLlFallbacks());
 		out.append("\n - Content : ");
 		for(final ReportLine reportLine : report.getReportLines()) {
 			if( (reportLine.getReportLineStatus() == ReportLineStatus.IGNORED)
@@ -227,6 +240,46 @@ public class ReportManager {
 			out.append("\n - Location : SQL schema import failed : no table definition found in the SQL file content");
 			out.append("\n - Content : No entity created");
 		}
+		if(reportStatus == ReportStatus.ERROR_BUDGET_EXCEEDED) {
+			out.append("\n - Location : SQL schema import stopped : "+report.getMetrics().getNbStatementsFailed()+" queries with a parsing error");
+			out.append("\n - Content : No entity created");
+		}
+		out.append("\n - Date : ").append(sdf.format(report.getDate()));
+		out.append("\n - Type : SQL schema import");
+		out.append("\n");
+
+		return out.toString();
+	}
+
+	/**
+	 * Trace : Metrics of the import
+	 * @param report Report
+	 * @return String
+	 */
+	public String getTrace7(final Report report) {
+
+		final StringBuffer out = new StringBuffer();
+
+		final ReportMetrics metrics = report.getMetrics();
+
+		// metrics
+		out.append("\n--------------------");
+		out.append("\nTrace : ");
+		out.append("\n - Location : Metrics");
+		out.append("\n - Content : ");
+		for(final Phase phase : Phase.values()) {
+			out.append("\n    - ").append(phase.name().toLowerCase(Locale.ROOT))
+				.append(" : ").append(metrics.getWallTime(phase) / 1000000).append(" ms")
+				.append(" (CPU : ").append(metrics.getCpuTime(phase) / 1000000).append(" ms)");
+		}
+		out.append("\n    - statements : ").append(metrics.getNbStatementsSeen()).append(" seen, ")
+			.append(metrics.getNbStatementsIgnored()).append(" ignored, ")
+			.append(metrics.getNbStatementsParsed()).append(" parsed, ")
+			.append(metrics.getNbStatementsFailed()).append(" failed");
+		out.append("\n    - tokens lexed : ").append(metrics.getNbTokensLexed());
+		out.append("\n    - bytes read : ").append(metrics.getNbBytesRead());
+		out.append("\n    - bytes written : ").append(metrics.getNbBytesWritten());
+		out.append("\n    - peak statement size : ").append(metrics.getPeakStatementSize()).append(" characters");
 		out.append("\n - Date : ").append(sdf.format(report.getDate()));
 		out.append("\n - Type : SQL schema import");
 		out.append("\n");
@@ -234,9 +287,64 @@ public class ReportManager {
 		return out.toString();
 	}
 
+	/**
+	 * Export the metrics of the report to JSON : times are in nanoseconds, the date in
+	 * milliseconds since the epoch.
+	 * @param report Report
+	 * @return JSON content
+	 */
+	public String toJson(final Report report) {
+		final ReportMetrics metrics = report.getMetrics();
+
+		final StringWriter out = new StringWriter();
+		try {
+			final JsonGenerator generator = JSON_FACTORY.createGenerator(out);
+			generator.writeStartObject();
+			generator.writeNumberField("date", report.getDate().getTime());
+			if(report.getReportStatus() != null) {
+				generator.writeStringField("status", report.getReportStatus().name());
+			}
+			generator.writeNumberField("entities", report.getNbCreatedEntity());
+			generator.writeNumberField("llFallbacks", report.getNbLlFallbacks());
+			generator.writeBooleanField("cached", report.isCached());
+
+			generator.writeObjectFieldStart("phases");
+			for(final Phase phase : Phase.values()) {
+				generator.writeObjectFieldStart(phase.name().toLowerCase(Locale.ROOT));
+				generator.writeNumberField("wallNanos", metrics.getWallTime(phase));
+				generator.writeNumberField("cpuNanos", metrics.getCpuTime(phase));
+				generator.writeEndObject();
+			}
+			generator.writeEndObject();
+
+			generator.writeObjectFieldStart("statements");
+			generator.writeNumberField("seen", metrics.getNbStatementsSeen());
+			generator.writeNumberField("ignored", metrics.getNbStatementsIgnored());
+			generator.writeNumberField("parsed", metrics.getNbStatementsParsed());
+			generator.writeNumberField("failed", metrics.getNbStatementsFailed());
+			generator.writeNumberField("peakSize", metrics.getPeakStatementSize());
+			generator.writeEndObject();
+
+			generator.writeNumberField("tokensLexed", metrics.getNbTokensLexed());
+			generator.writeNumberField("bytesRead", metrics.getNbBytesRead());
+			generator.writeNumberField("bytesWritten", metrics.getNbBytesWritten());
+			generator.writeEndObject();
+			generator.close();
+		} catch (final IOException e) {
+			throw new RuntimeException(e);
+		}
+		return out.toString();
+	}
+
 	public String toStringSchema(final Report report) {
 		final StringBuffer out = new StringBuffer();
 
+		if(report.isCached()) {
+			// the SQL content is not parsed again
+			out.append("\n* Schema not recomputed : the result of the import was read from the cache");
+			return out.toString();
+		}
+
 		for(final Table table : report.getDatabase().getTables()) {
 			final Entity entity = report.getResdef().getEntityForName(table.getName());
 			out.append("\n* Table : ").append(table.getName()).append(" -> Entity : ").append(entity.getName());
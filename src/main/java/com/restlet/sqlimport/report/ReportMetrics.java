@@ -0,0 +1,224 @@
+package com.restlet.sqlimport.report;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Metrics of the SQL import : time of each phase and counters of the queries, tokens and
+ * bytes. Queries may be parsed in parallel : the times of a phase are the sums of the times
+ * of the threads.
+ */
+public class ReportMetrics {
+
+	/**
+	 * CPU time of the threads (null if not supported by the JVM).
+	 */
+	private static final ThreadMXBean THREAD_MX_BEAN = getThreadMXBean();
+
+	/**
+	 * Measure of the time of a phase, from its creation until it is stopped.
+	 */
+	public final class Timer {
+
+		private final Phase phase;
+
+		private final long startWallTime;
+
+		private final long startCpuTime;
+
+		private Timer(final Phase phase) {
+			this.phase = phase;
+			this.startWallTime = System.nanoTime();
+			this.startCpuTime = getCurrentThreadCpuTime();
+		}
+
+		/**
+		 * Add the time elapsed since the creation of the timer to the time of the phase :
+		 * it must be stopped by the thread which created it.
+		 */
+		public void stop() {
+			addTime(phase, System.nanoTime() - startWallTime, getCurrentThreadCpuTime() - startCpuTime);
+		}
+	}
+
+	/**
+	 * Wall time of each phase in nanoseconds.
+	 */
+	private final long[] wallTimes = new long[Phase.values().length];
+
+	/**
+	 * CPU time of each phase in nanoseconds.
+	 */
+	private final long[] cpuTimes = new long[Phase.values().length];
+
+	/**
+	 * Number of queries read.
+	 */
+	private int nbStatementsSeen;
+
+	/**
+	 * Number of queries read but not parsed.
+	 */
+	private int nbStatementsIgnored;
+
+	/**
+	 * Number of queries parsed without error.
+	 */
+	private int nbStatementsParsed;
+
+	/**
+	 * Number of queries parsed with errors.
+	 */
+	private int nbStatementsFailed;
+
+	/**
+	 * Number of tokens read by the lexers, including the tokens read again by the full LL prediction.
+	 */
+	private long nbTokensLexed;
+
+	/**
+	 * Size of the SQL content in bytes.
+	 */
+	private long nbBytesRead;
+
+	/**
+	 * Size of the JSON content in bytes.
+	 */
+	private long nbBytesWritten;
+
+	/**
+	 * Number of characters of the longest query.
+	 */
+	private int peakStatementSize;
+
+	/**
+	 * Return the thread MX bean if it measures the CPU time of the current thread.
+	 * @return thread MX bean (null if the CPU time is not supported)
+	 */
+	private static ThreadMXBean getThreadMXBean() {
+		final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		if(!threadMXBean.isCurrentThreadCpuTimeSupported() || !threadMXBean.isThreadCpuTimeEnabled()) {
+			return null;
+		}
+		return threadMXBean;
+	}
+
+	/**
+	 * Return the CPU time of the current thread.
+	 * @return CPU time in nanoseconds (0 if not supported)
+	 */
+	private static long getCurrentThreadCpuTime() {
+		if(THREAD_MX_BEAN == null) {
+			return 0;
+		}
+		return THREAD_MX_BEAN.getCurrentThreadCpuTime();
+	}
+
+	/**
+	 * Start to measure the time of a phase.
+	 * @param phase Phase
+	 * @return Timer to stop at the end of the phase
+	 */
+	public Timer start(final Phase phase) {
+		return new Timer(phase);
+	}
+
+	/**
+	 * Add time to a phase.
+	 * @param phase Phase
+	 * @param wallTime Wall time in nanoseconds
+	 * @param cpuTime CPU time in nanoseconds
+	 */
+	public synchronized void addTime(final Phase phase, final long wallTime, final long cpuTime) {
+		wallTimes[phase.ordinal()] += wallTime;
+		cpuTimes[phase.ordinal()] += cpuTime;
+	}
+
+	/**
+	 * Return the wall time of a phase.
+	 * @param phase Phase
+	 * @return Wall time in nanoseconds
+	 */
+	public synchronized long getWallTime(final Phase phase) {
+		return wallTimes[phase.ordinal()];
+	}
+
+	/**
+	 * Return the CPU time of a phase.
+	 * @param phase Phase
+	 * @return CPU time in nanoseconds (0 if not supported by the JVM)
+	 */
+	public synchronized long getCpuTime(final Phase phase) {
+		return cpuTimes[phase.ordinal()];
+	}
+
+	/**
+	 * Count a query read.
+	 * @param size Number of characters of the query
+	 * @param isIgnored true if the query is not parsed
+	 */
+	public synchronized void addStatement(final int size, final boolean isIgnored) {
+		nbStatementsSeen++;
+		if(isIgnored) {
+			nbStatementsIgnored++;
+		}
+		if(size > peakStatementSize) {
+			peakStatementSize = size;
+		}
+	}
+
+	/**
+	 * Count a query parsed.
+	 * @param isFailed true if the query has errors
+	 * @param nbTokens Number of tokens read by the lexer
+	 */
+	public synchronized void addParsedStatement(final boolean isFailed, final long nbTokens) {
+		if(isFailed) {
+			nbStatementsFailed++;
+		} else {
+			nbStatementsParsed++;
+		}
+		nbTokensLexed += nbTokens;
+	}
+
+	public synchronized int getNbStatementsSeen() {
+		return nbStatementsSeen;
+	}
+
+	public synchronized int getNbStatementsIgnored() {
+		return nbStatementsIgnored;
+	}
+
+	public synchronized int getNbStatementsParsed() {
+		return nbStatementsParsed;
+	}
+
+	public synchronized int getNbStatementsFailed() {
+		return nbStatementsFailed;
+	}
+
+	public synchronized long getNbTokensLexed() {
+		return nbTokensLexed;
+	}
+
+	public synchronized long getNbBytesRead() {
+		return nbBytesRead;
+	}
+
+	public synchronized void setNbBytesRead(final long nbBytesRead) {
+		this.nbBytesRead = nbBytesRead;
+	}
+
+	public synchronized long getNbBytesWritten() {
+		return nbBytesWritten;
+	}
+
+	public synchronized void setNbBytesWritten(final long nbBytesWritten) {
+		this.nbBytesWritten = nbBytesWritten;
+	}
+
+	public synchronized int getPeakStatementSize() {
+		return peakStatementSize;
+	}
+
+}
@@ -11,4 +11,7 @@ public enum ReportStatus {
 	/** Empty database */
 	EMPTY_DATABASE,
 
+	/** Too many queries with a parsing error : the import stopped */
+	ERROR_BUDGET_EXCEEDED,
+
 }
@@ -0,0 +1,25 @@
+package com.restlet.sqlimport.report;
+
+/**
+ * Kind of SQL query, which defines how the query is parsed.
+ */
+public enum StatementKind {
+
+	/** CREATE TABLE : parsed by the create table listener */
+	CREATE_TABLE,
+
+	/** ALTER TABLE which adds a primary key or a foreign key : parsed by the alter table listener */
+	ALTER_TABLE,
+
+	/** Other query : not parsed */
+	OTHER;
+
+	/**
+	 * Indicates if the query of this kind is parsed.
+	 * @return boolean
+	 */
+	public boolean isParsed() {
+		return this != OTHER;
+	}
+
+}
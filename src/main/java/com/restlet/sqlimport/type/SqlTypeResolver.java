@@ -0,0 +1,231 @@
+package com.restlet.sqlimport.type;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Resolve the Entity store type of a SQL type with a trie of the known SQL types : the
+ * SQL type is read once, character by character, without being copied.<br/>
+ * A known SQL type matches the types which are equal to it or which begin with it followed
+ * by a space or by "(", ignoring case : the longest known SQL type is used, so "DOUBLE
+ * PRECISION" is preferred to "DOUBLE".
+ */
+public class SqlTypeResolver {
+
+	/**
+	 * Conversion table of the SQL types in the classpath.
+	 */
+	private static final String DEFAULT_TYPES = "sql-types.properties";
+
+	/**
+	 * Resolver of the SQL types in the classpath.
+	 */
+	private static SqlTypeResolver defaultResolver;
+
+	/**
+	 * Node of the trie : the children are few, they are searched one after another.
+	 */
+	private static final class Node {
+
+		/**
+		 * Characters of the children (upper case).
+		 */
+		private char[] characters = new char[0];
+
+		/**
+		 * Children.
+		 */
+		private Node[] children = new Node[0];
+
+		/**
+		 * Entity store type of the SQL type which ends at this node (null if none).
+		 */
+		private String type;
+
+		/**
+		 * Return the child of the character.
+		 * @param character Character (upper case)
+		 * @return Child (null if none)
+		 */
+		private Node getChild(final char character) {
+			for(int i = 0; i < characters.length; i++) {
+				if(characters[i] == character) {
+					return children[i];
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * Return the child of the character, created if needed.
+		 * @param character Character (upper case)
+		 * @return Child
+		 */
+		private Node addChild(final char character) {
+			Node child = getChild(character);
+			if(child == null) {
+				final int nbChildren = characters.length;
+				final char[] newCharacters = new char[nbChildren + 1];
+				final Node[] newChildren = new Node[nbChildren + 1];
+				System.arraycopy(characters, 0, newCharacters, 0, nbChildren);
+				System.arraycopy(children, 0, newChildren, 0, nbChildren);
+				child = new Node();
+				newCharacters[nbChildren] = character;
+				newChildren[nbChildren] = child;
+				characters = newCharacters;
+				children = newChildren;
+			}
+			return child;
+		}
+	}
+
+	/**
+	 * Root of the trie.
+	 */
+	private final Node root = new Node();
+
+	/**
+	 * Entity store types by SQL types, sorted by SQL type.
+	 */
+	private final Map<String, String> types = new TreeMap<String, String>();
+
+	/**
+	 * Constructor.
+	 * @param types Entity store types by SQL types
+	 */
+	public SqlTypeResolver(final Map<?, ?> types) {
+		for(final Map.Entry<?, ?> entry : types.entrySet()) {
+			add(entry.getKey().toString(), entry.getValue().toString().trim());
+			this.types.put(entry.getKey().toString(), entry.getValue().toString().trim());
+		}
+	}
+
+	/**
+	 * Return the resolver of the SQL types of the classpath.
+	 * @return Resolver
+	 */
+	public static synchronized SqlTypeResolver getDefault() {
+		if(defaultResolver == null) {
+			defaultResolver = new SqlTypeResolver(loadDefaultTypes());
+		}
+		return defaultResolver;
+	}
+
+	/**
+	 * Return a resolver of the SQL types of the classpath and of the SQL types of a dialect,
+	 * which replace them.
+	 * @param in Conversion table of the dialect in the properties format, encoded in UTF-8 (the caller is responsible for closing it)
+	 * @return Resolver
+	 */
+	public static SqlTypeResolver load(final InputStream in) {
+		final Properties types = loadDefaultTypes();
+		load(types, in);
+		return new SqlTypeResolver(types);
+	}
+
+	/**
+	 * Load the conversion table of the SQL types in the classpath.
+	 * @return Entity store types by SQL types
+	 */
+	private static Properties loadDefaultTypes() {
+		final InputStream in = SqlTypeResolver.class.getResourceAsStream(DEFAULT_TYPES);
+		if(in == null) {
+			throw new IllegalStateException("SQL types not found : " + DEFAULT_TYPES);
+		}
+		final Properties types = new Properties();
+		try {
+			load(types, in);
+		} finally {
+			try {
+				in.close();
+			} catch (final IOException e) {
+				throw new RuntimeException(e);
+			}
+		}
+		return types;
+	}
+
+	/**
+	 * Load a conversion table.
+	 * @param types Entity store types by SQL types
+	 * @param in Conversion table in the properties format, encoded in UTF-8
+	 */
+	private static void load(final Properties types, final InputStream in) {
+		try {
+			final Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+			types.load(reader);
+		} catch (final IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Add a SQL type.
+	 * @param sqlType SQL type
+	 * @param type Entity store type
+	 */
+	private void add(final String sqlType, final String type) {
+		Node node = root;
+		final String trimmedSqlType = sqlType.trim();
+		for(int i = 0; i < trimmedSqlType.length(); i++) {
+			node = node.addChild(Character.toUpperCase(trimmedSqlType.charAt(i)));
+		}
+		node.type = type;
+	}
+
+	/**
+	 * Return the Entity store type of the SQL type.
+	 * @param sqlType SQL type
+	 * @return Entity store type (null if the SQL type is unknown)
+	 */
+	public String resolve(final CharSequence sqlType) {
+		// trim
+		int start = 0;
+		int end = sqlType.length();
+		while((start < end) && (sqlType.charAt(start) <= ' ')) {
+			start++;
+		}
+		while((end > start) && (sqlType.charAt(end - 1) <= ' ')) {
+			end--;
+		}
+
+		String type = null;
+		Node node = root;
+		for(int i = start; i < end; i++) {
+			final char character = sqlType.charAt(i);
+			if((character == ' ') || (character == '(')) {
+				// end of a known SQL type
+				if(node.type != null) {
+					type = node.type;
+				}
+				if(character == '(') {
+					return type;
+				}
+			}
+			node = node.getChild(Character.toUpperCase(character));
+			if(node == null) {
+				return type;
+			}
+		}
+		if(node.type != null) {
+			type = node.type;
+		}
+		return type;
+	}
+
+	/**
+	 * Get conversion table of the resolver.
+	 * @return Entity store types by SQL types, sorted by SQL type
+	 */
+	public Map<String, String> getTypes() {
+		return Collections.unmodifiableMap(types);
+	}
+
+}
@@ -0,0 +1,64 @@
+package com.restlet.sqlimport.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Input stream which counts the bytes read.
+ */
+public class CountingInputStream extends FilterInputStream {
+
+	/**
+	 * Number of bytes read.
+	 */
+	private long count;
+
+	/**
+	 * Constructor.
+	 * @param in Input stream
+	 */
+	public CountingInputStream(final InputStream in) {
+		super(in);
+	}
+
+	@Override
+	public int read() throws IOException {
+		final int b = super.read();
+		if(b != -1) {
+			count++;
+		}
+		return b;
+	}
+
+	@Override
+	public int read(final byte[] b, final int off, final int len) throws IOException {
+		final int nb = super.read(b, off, len);
+		if(nb > 0) {
+			count += nb;
+		}
+		return nb;
+	}
+
+	@Override
+	public long skip(final long n) throws IOException {
+		final long nb = super.skip(n);
+		count += nb;
+		return nb;
+	}
+
+	@Override
+	public boolean markSupported() {
+		// the count could not be reset
+		return false;
+	}
+
+	/**
+	 * Return the number of bytes read.
+	 * @return Number of bytes
+	 */
+	public long getCount() {
+		return count;
+	}
+
+}
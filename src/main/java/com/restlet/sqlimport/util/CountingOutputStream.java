@@ -0,0 +1,46 @@
+package com.restlet.sqlimport.util;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Output stream which counts the bytes written.
+ */
+public class CountingOutputStream extends FilterOutputStream {
+
+	/**
+	 * Number of bytes written.
+	 */
+	private long count;
+
+	/**
+	 * Constructor.
+	 * @param out Output stream
+	 */
+	public CountingOutputStream(final OutputStream out) {
+		super(out);
+	}
+
+	@Override
+	public void write(final int b) throws IOException {
+		out.write(b);
+		count++;
+	}
+
+	@Override
+	public void write(final byte[] b, final int off, final int len) throws IOException {
+		// the bytes are written at once, not one by one as by FilterOutputStream
+		out.write(b, off, len);
+		count += len;
+	}
+
+	/**
+	 * Return the number of bytes written.
+	 * @return Number of bytes
+	 */
+	public long getCount() {
+		return count;
+	}
+
+}
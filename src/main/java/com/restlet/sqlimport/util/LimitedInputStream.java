@@ -0,0 +1,75 @@
+package com.restlet.sqlimport.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Input stream which fails as soon as more bytes than its size limit are read.
+ */
+public class LimitedInputStream extends FilterInputStream {
+
+	/**
+	 * Size limit in bytes.
+	 */
+	private final long maxSize;
+
+	/**
+	 * Number of bytes read.
+	 */
+	private long count;
+
+	/**
+	 * Constructor.
+	 * @param in Input stream
+	 * @param maxSize Size limit in bytes
+	 */
+	public LimitedInputStream(final InputStream in, final long maxSize) {
+		super(in);
+		this.maxSize = maxSize;
+	}
+
+	@Override
+	public int read() throws IOException {
+		final int b = super.read();
+		if(b != -1) {
+			add(1);
+		}
+		return b;
+	}
+
+	@Override
+	public int read(final byte[] b, final int off, final int len) throws IOException {
+		final int nb = super.read(b, off, len);
+		if(nb > 0) {
+			add(nb);
+		}
+		return nb;
+	}
+
+	@Override
+	public long skip(final long n) throws IOException {
+		final long nb = super.skip(n);
+		add(nb);
+		return nb;
+	}
+
+	@Override
+	public boolean markSupported() {
+		// the count could not be reset
+		return false;
+	}
+
+	/**
+	 * Count bytes read.
+	 * @param nb Number of bytes
+	 * @throws SizeLimitExceededException if the size limit is exceeded
+	 */
+	private void add(final long nb) throws SizeLimitExceededException {
+		count += nb;
+		if(count > maxSize) {
+			throw new SizeLimitExceededException(maxSize);
+		}
+	}
+
+}
@@ -0,0 +1,358 @@
+package com.restlet.sqlimport.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * File encoded in UTF-8 mapped in memory.<br/>
+ * The file is mapped by chunks, so files bigger than 2 GB are supported. The content is
+ * read by the operating system page cache and is not copied in the Java heap : only the
+ * slices which are not ASCII are decoded when they are read, and the decoded characters
+ * are not kept.
+ */
+public class MappedFile {
+
+	/**
+	 * Default size of the mapped chunks : 1 GB.
+	 */
+	private static final int DEFAULT_CHUNK_SHIFT = 30;
+
+	/**
+	 * Mapped chunks.
+	 */
+	private final MappedByteBuffer[] chunks;
+
+	/**
+	 * Size of the chunks as a power of 2.
+	 */
+	private final int chunkShift;
+
+	/**
+	 * Mask to get the position in a chunk.
+	 */
+	private final long chunkMask;
+
+	/**
+	 * Size of the file.
+	 */
+	private final long length;
+
+	/**
+	 * Constructor : map the file.
+	 * @param path File
+	 * @throws IOException Error while mapping the file
+	 */
+	public MappedFile(final Path path) throws IOException {
+		this(path, DEFAULT_CHUNK_SHIFT);
+	}
+
+	/**
+	 * Constructor : map the file.
+	 * @param path File
+	 * @param chunkShift Size of the chunks as a power of 2
+	 * @throws IOException Error while mapping the file
+	 */
+	MappedFile(final Path path, final int chunkShift) throws IOException {
+		this.chunkShift = chunkShift;
+		this.chunkMask = (1L << chunkShift) - 1;
+
+		// the mapping stays valid when the channel is closed
+		final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+		try {
+			length = channel.size();
+			final int nbChunks = (int) ((length + chunkMask) >>> chunkShift);
+			chunks = new MappedByteBuffer[nbChunks];
+			for(int i = 0; i < nbChunks; i++) {
+				final long position = (long) i << chunkShift;
+				chunks[i] = channel.map(MapMode.READ_ONLY, position, Math.min(length - position, 1L << chunkShift));
+			}
+		} finally {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Size of the file in bytes.
+	 * @return Size
+	 */
+	public long length() {
+		return length;
+	}
+
+	/**
+	 * Return the byte at the given position.
+	 * @param index Position in the file
+	 * @return Byte as an unsigned value
+	 */
+	public int byteAt(final long index) {
+		return chunks[(int) (index >>> chunkShift)].get((int) (index & chunkMask)) & 0xFF;
+	}
+
+	/**
+	 * Return the characters of a part of the file, without copying the bytes.
+	 * @param start Position of the first byte
+	 * @param end Position after the last byte
+	 * @return Characters
+	 */
+	public CharSequence subSequence(final long start, final long end) {
+		return new Slice(start, end);
+	}
+
+	/**
+	 * Decode a part of the file.
+	 * @param start Position of the first byte
+	 * @param end Position after the last byte
+	 * @return Decoded characters
+	 */
+	String decode(final long start, final long end) {
+		final byte[] bytes = new byte[(int) (end - start)];
+		long pos = start;
+		int offset = 0;
+		while(pos < end) {
+			final ByteBuffer chunk = chunks[(int) (pos >>> chunkShift)].duplicate();
+			chunk.position((int) (pos & chunkMask));
+			final int nb = (int) Math.min(chunk.remaining(), end - pos);
+			chunk.get(bytes, offset, nb);
+			offset += nb;
+			pos += nb;
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Count the characters of a part of the file, without keeping the decoded characters.
+	 * @param start Position of the first byte
+	 * @param end Position after the last byte
+	 * @return Number of characters
+	 */
+	int countChars(final long start, final long end) {
+		final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		final ByteBuffer in = ByteBuffer.allocate(8192);
+		final CharBuffer out = CharBuffer.allocate(8192);
+		long pos = start;
+		int nbChars = 0;
+		while(true) {
+			while(in.hasRemaining() && (pos < end)) {
+				in.put((byte) byteAt(pos++));
+			}
+			in.flip();
+			final boolean endOfInput = (pos == end);
+			decoder.decode(in, out, endOfInput);
+			nbChars += out.position();
+			out.clear();
+			if(endOfInput && !in.hasRemaining()) {
+				break;
+			}
+			in.compact();
+		}
+		decoder.flush(out);
+		return nbChars + out.position();
+	}
+
+	/**
+	 * Return the characters to read one by one, for example by the parser : a slice which
+	 * is not only ASCII is decoded, the other characters are returned as is.
+	 * @param chars Characters
+	 * @return Characters
+	 */
+	public static CharSequence decodeIfNeeded(final CharSequence chars) {
+		if((chars instanceof Slice) && !((Slice) chars).isAscii()) {
+			return chars.toString();
+		}
+		return chars;
+	}
+
+	/**
+	 * Return the bytes of a slice as characters, without decoding them : the ASCII
+	 * characters are unchanged and each byte of the other characters is a character above
+	 * 0x7F. It is enough to look for ASCII keywords, for example to classify a query.
+	 * @param chars Characters
+	 * @return Bytes as characters, or the characters if they are not a slice
+	 */
+	public static CharSequence asBytes(final CharSequence chars) {
+		if(chars instanceof Slice) {
+			return ((Slice) chars).asBytes();
+		}
+		return chars;
+	}
+
+	/**
+	 * Characters of a part of the mapped file.<br/>
+	 * The characters before the first byte which is not ASCII are read directly from the
+	 * mapped bytes. The others are decoded from UTF-8 each time they are read : the decoded
+	 * characters are not kept, so a slice does not hold its text in the heap. The slices to
+	 * read one by one are decoded once by {@link MappedFile#decodeIfNeeded(CharSequence)}.
+	 */
+	private class Slice implements CharSequence {
+
+		/**
+		 * Position of the first byte.
+		 */
+		private final long start;
+
+		/**
+		 * Position after the last byte.
+		 */
+		private final long end;
+
+		/**
+		 * Position of the first byte which is not ASCII, end if the part contains only
+		 * ASCII characters (-1 if not searched yet).
+		 */
+		private long firstNonAscii = -1;
+
+		/**
+		 * Number of characters (-1 if not counted yet).
+		 */
+		private int length = -1;
+
+		/**
+		 * Constructor.
+		 * @param start Position of the first byte
+		 * @param end Position after the last byte
+		 */
+		Slice(final long start, final long end) {
+			this.start = start;
+			this.end = end;
+		}
+
+		/**
+		 * Return the position of the first byte which is not ASCII.
+		 * @return Position, end if the part contains only ASCII characters
+		 */
+		private long firstNonAscii() {
+			if(firstNonAscii == -1) {
+				long pos = start;
+				while((pos < end) && (byteAt(pos) < 0x80)) {
+					pos++;
+				}
+				firstNonAscii = pos;
+			}
+			return firstNonAscii;
+		}
+
+		/**
+		 * Indicates if the part contains only ASCII characters.
+		 * @return boolean
+		 */
+		boolean isAscii() {
+			return firstNonAscii() == end;
+		}
+
+		/**
+		 * Decode the beginning of the part.
+		 * @param nbChars Number of characters to decode
+		 * @return Decoded characters : at least the given number of characters, unless the part is shorter
+		 */
+		private String decodePrefix(final int nbChars) {
+			// a UTF-16 character takes at most 4 bytes in UTF-8
+			return decode(start, Math.min(end, start + (4L * nbChars)));
+		}
+
+		/**
+		 * Return the bytes of the part as characters.
+		 * @return Bytes as characters
+		 */
+		CharSequence asBytes() {
+			return isAscii() ? this : new Bytes(start, end);
+		}
+
+		@Override
+		public int length() {
+			if(isAscii()) {
+				return (int) (end - start);
+			}
+			if(length == -1) {
+				length = countChars(start, end);
+			}
+			return length;
+		}
+
+		@Override
+		public char charAt(final int index) {
+			if(start + index < firstNonAscii()) {
+				return (char) byteAt(start + index);
+			}
+			return decodePrefix(index + 1).charAt(index);
+		}
+
+		@Override
+		public CharSequence subSequence(final int begin, final int stop) {
+			if(start + stop <= firstNonAscii()) {
+				return new Slice(start + begin, start + stop);
+			}
+			return decodePrefix(stop).substring(begin, stop);
+		}
+
+		/**
+		 * Decode the characters : the result is not kept, so that the part of the file
+		 * which is only displayed does not stay in memory.
+		 */
+		@Override
+		public String toString() {
+			return decode(start, end);
+		}
+	}
+
+	/**
+	 * Bytes of a part of the mapped file, read as characters without decoding them.
+	 */
+	private class Bytes implements CharSequence {
+
+		/**
+		 * Position of the first byte.
+		 */
+		private final long start;
+
+		/**
+		 * Position after the last byte.
+		 */
+		private final long end;
+
+		/**
+		 * Constructor.
+		 * @param start Position of the first byte
+		 * @param end Position after the last byte
+		 */
+		Bytes(final long start, final long end) {
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		public int length() {
+			return (int) (end - start);
+		}
+
+		@Override
+		public char charAt(final int index) {
+			return (char) byteAt(start + index);
+		}
+
+		@Override
+		public CharSequence subSequence(final int begin, final int stop) {
+			return new Bytes(start + begin, start + stop);
+		}
+
+		@Override
+		public String toString() {
+			final StringBuilder out = new StringBuilder(length());
+			for(long pos = start; pos < end; pos++) {
+				out.append((char) byteAt(pos));
+			}
+			return out.toString();
+		}
+	}
+
+}
@@ -0,0 +1,20 @@
+package com.restlet.sqlimport.util;
+
+import java.io.IOException;
+
+/**
+ * The content read is bigger than its size limit.
+ */
+public class SizeLimitExceededException extends IOException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Constructor.
+	 * @param maxSize Size limit in bytes
+	 */
+	public SizeLimitExceededException(final long maxSize) {
+		super("Content bigger than " + maxSize + " bytes");
+	}
+
+}
@@ -64,11 +64,13 @@ public class Util {
 	public OutputStream getOutputStream(final String filename) {
 		try {
 
-			final String path = filename.substring(0, filename.lastIndexOf(File.separatorChar));
-			final File dir = new File(path);
-			dir.mkdirs();
-
 			final File file = new File(filename);
+			// no directory to create for a file of the current directory
+			final File dir = file.getAbsoluteFile().getParentFile();
+			if(dir != null) {
+				dir.mkdirs();
+			}
+
 			return new FileOutputStream(file);
 
 		} catch (final Exception e) {
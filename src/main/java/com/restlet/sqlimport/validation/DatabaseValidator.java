@@ -50,13 +50,11 @@ public class DatabaseValidator {
 		}
 
 		// foreign key with only one column
-		for(final ForeignKey foreignKey : table.getForeignKeys()) {
-			if((foreignKey.getColumnNameOrigins().size() > 1) || (foreignKey.getColumnNameTargets().size() > 1)) {
-				final ReportLine reportLine = new ReportLine();
-				report.add(reportLine);
-				reportLine.setReportLineStatus(ReportLineStatus.FOREIGN_KEY_MORE_THAN_ONE_COLUMN);
-				reportLine.setTable(table.getName());
-			}
+		for(final ForeignKey foreignKey : table.getCompositeForeignKeys()) {
+			final ReportLine reportLine = new ReportLine();
+			report.add(reportLine);
+			reportLine.setReportLineStatus(ReportLineStatus.FOREIGN_KEY_MORE_THAN_ONE_COLUMN);
+			reportLine.setTable(table.getName());
 		}
 	}
 
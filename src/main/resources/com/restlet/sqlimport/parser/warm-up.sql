@@ -0,0 +1,68 @@
+-- Representative DDL replayed to warm up the parser : one query of each kind
+-- and dialect supported, so that the prediction DFA is filled before the first
+-- query of the imported file.
+
+-- Standard
+CREATE TABLE warm_up_1
+(
+    id INTEGER PRIMARY KEY NOT NULL,
+    name VARCHAR(100) DEFAULT 'name',
+    dt DATE NOT NULL,
+    num INTEGER DEFAULT 1,
+    id_warm_up_2 INTEGER REFERENCES warm_up_2(id),
+    id_warm_up_3 INTEGER,
+    FOREIGN KEY(id_warm_up_3) REFERENCES warm_up_3(id) ON DELETE CASCADE
+);
+
+ALTER TABLE warm_up_1 ADD CONSTRAINT pk_warm_up_1 PRIMARY KEY (id);
+
+ALTER TABLE warm_up_1 ADD CONSTRAINT fk_warm_up_1 FOREIGN KEY (id_warm_up_2, name) REFERENCES warm_up_2(id, name) ON UPDATE CASCADE ON DELETE RESTRICT;
+
+-- MySQL
+CREATE TABLE `warm_up_2` (
+  `id` int(11) NOT NULL AUTO_INCREMENT,
+  `name` varchar(255) NOT NULL DEFAULT '',
+  `creation` datetime DEFAULT NULL,
+  `amount` decimal(10,2) DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `name` (`name`),
+  KEY `creation` (`creation`),
+  CONSTRAINT `warm_up_2_ibfk_1` FOREIGN KEY (`amount`) REFERENCES `warm_up_1` (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=latin1;
+
+ALTER TABLE `warm_up_2` ADD PRIMARY KEY (`id`);
+
+ALTER TABLE `warm_up_2` ADD FOREIGN KEY (`id`) REFERENCES `warm_up_1` (`id`);
+
+-- PostgreSQL
+CREATE TABLE warm_up_3 (
+    id integer NOT NULL,
+    name character varying(255),
+    price numeric(10,2),
+    creation timestamp without time zone
+);
+
+ALTER TABLE ONLY warm_up_3
+    ADD CONSTRAINT warm_up_3_pkey PRIMARY KEY (id);
+
+ALTER TABLE ONLY warm_up_3
+    ADD CONSTRAINT fk_warm_up_3 FOREIGN KEY (id) REFERENCES warm_up_1(id);
+
+-- Oracle
+  CREATE TABLE "SYSTEM"."WARM_UP_4" 
+   (	"ID" NUMBER(*,0), 
+	"NAME" VARCHAR2(100 BYTE), 
+	"NUM" NUMBER(*,0) DEFAULT 1
+   ) PCTFREE 10 PCTUSED 40 INITRANS 1 MAXTRANS 255 NOCOMPRESS LOGGING
+  STORAGE(INITIAL 65536 NEXT 1048576 MINEXTENTS 1 MAXEXTENTS 2147483645
+  PCTINCREASE 0 FREELISTS 1 FREELIST GROUPS 1 BUFFER_POOL DEFAULT FLASH_CACHE DEFAULT CELL_FLASH_CACHE DEFAULT)
+  TABLESPACE "SYSTEM" ;
+
+  ALTER TABLE "SYSTEM"."WARM_UP_4" ADD PRIMARY KEY ("ID")
+  USING INDEX PCTFREE 10 INITRANS 2 MAXTRANS 255 
+  STORAGE(INITIAL 65536 NEXT 1048576 MINEXTENTS 1 MAXEXTENTS 2147483645
+  PCTINCREASE 0 FREELISTS 1 FREELIST GROUPS 1 BUFFER_POOL DEFAULT FLASH_CACHE DEFAULT CELL_FLASH_CACHE DEFAULT)
+  TABLESPACE "SYSTEM"  ENABLE;
+
+  ALTER TABLE "SYSTEM"."WARM_UP_4" ADD CONSTRAINT "FK_WARM_UP_4" FOREIGN KEY ("NUM")
+	  REFERENCES "SYSTEM"."WARM_UP_1" ("ID") ENABLE;
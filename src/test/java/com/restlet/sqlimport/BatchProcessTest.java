@@ -0,0 +1,159 @@
+package com.restlet.sqlimport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.restlet.sqlimport.parser.ErrorBudget;
+import com.restlet.sqlimport.report.ReportStatus;
+import com.restlet.sqlimport.type.SqlTypeResolver;
+import com.restlet.sqlimport.util.Util;
+
+/**
+ * Test : batch of SQL files.
+ */
+public class BatchProcessTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private Util util = new Util();
+
+	private Path inputDir;
+
+	@Before
+	public void setUp() throws IOException {
+		inputDir = folder.newFolder("input").toPath();
+		for(final String fileName : new String[] {"standard.sql", "mysql1.sql", "postgres.sql"}) {
+			final File file = util.getFileByClassPath("/" + fileName);
+			Files.copy(file.toPath(), inputDir.resolve(fileName));
+		}
+		Files.write(inputDir.resolve("broken.sql"), "CREATE TABLE t1 (id INTEGER,,);\nCREATE TABLE t2 (id,,);"
+				.getBytes(StandardCharsets.UTF_8));
+		Files.write(inputDir.resolve("readme.txt"), "not a SQL file".getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testListInputs() throws IOException {
+		// When
+		final List<Path> directory = BatchProcess.listInputs(inputDir.toString());
+		final List<Path> pattern = BatchProcess.listInputs(inputDir.resolve("*.sql").toString());
+
+		// Then : sorted by name, only the SQL files of the directory
+		assertEquals(4, directory.size());
+		assertEquals(4, pattern.size());
+		assertEquals("broken.sql", pattern.get(0).getFileName().toString());
+		assertEquals("standard.sql", pattern.get(3).getFileName().toString());
+	}
+
+	@Test
+	public void testProcess() throws IOException {
+		// Given : the broken file exceeds the error budget
+		final MainProcess mainProcess = new MainProcess();
+		mainProcess.setErrorBudget(ErrorBudget.valueOf("1"));
+		final BatchProcess batchProcess = new BatchProcess(mainProcess);
+		batchProcess.setNbThreads(2);
+		batchProcess.setMetrics(true);
+		final Path outputDir = folder.getRoot().toPath().resolve("output");
+
+		// When
+		final BatchProcess.Summary summary = batchProcess.process(BatchProcess.listInputs(inputDir.resolve("*.sql").toString()), outputDir);
+
+		// Then : the error does not stop the batch
+		assertEquals(4, summary.getNbFiles());
+		assertEquals(1, summary.getNbFailures());
+		assertTrue(summary.getNbBytesRead() > 0);
+		assertTrue(summary.toString().contains("broken.sql"));
+
+		final BatchProcess.FileResult broken = summary.getFileResults().get(0);
+		assertTrue(broken.isFailed());
+		assertNull(broken.getOutput());
+		assertEquals(ReportStatus.ERROR_BUDGET_EXCEEDED, broken.getReport().getReportStatus());
+		assertFalse(Files.exists(outputDir.resolve("broken.json")));
+		assertTrue(Files.exists(outputDir.resolve("broken.report.txt")));
+		assertTrue(Files.exists(outputDir.resolve("broken.metrics.json")));
+
+		for(final BatchProcess.FileResult fileResult : summary.getFileResults().subList(1, 4)) {
+			assertFalse(fileResult.isFailed());
+			assertEquals(ReportStatus.SUCCESS, fileResult.getReport().getReportStatus());
+			assertTrue(Files.size(fileResult.getOutput()) > 0);
+		}
+		assertTrue(Files.exists(outputDir.resolve("standard.json")));
+		assertTrue(Files.exists(outputDir.resolve("standard.report.txt")));
+		assertTrue(new String(Files.readAllBytes(outputDir.resolve("standard.metrics.json")), StandardCharsets.UTF_8).contains("\"phases\""));
+	}
+
+	@Test
+	public void testProcess_same_names() throws IOException {
+		// Given : two SQL files with the same name without extension, two with the same file name
+		final Path otherDir = folder.newFolder("other").toPath();
+		Files.copy(inputDir.resolve("standard.sql"), inputDir.resolve("standard.dump"));
+		Files.copy(inputDir.resolve("postgres.sql"), otherDir.resolve("postgres.sql"));
+		final BatchProcess batchProcess = new BatchProcess(new MainProcess());
+		final Path outputDir = folder.getRoot().toPath().resolve("output");
+
+		// When
+		final BatchProcess.Summary summary = batchProcess.process(Arrays.asList(
+				inputDir.resolve("standard.sql"), inputDir.resolve("standard.dump"),
+				inputDir.resolve("postgres.sql"), otherDir.resolve("postgres.sql")), outputDir);
+
+		// Then : the output files keep the extension of the SQL files
+		assertEquals(2, summary.getNbFailures());
+		assertFalse(summary.getFileResults().get(0).isFailed());
+		assertTrue(Files.exists(outputDir.resolve("standard.sql.json")));
+		assertTrue(Files.exists(outputDir.resolve("standard.dump.json")));
+		assertTrue(Files.exists(outputDir.resolve("standard.sql.report.txt")));
+		// Then : the SQL files with the same file name are not processed
+		assertTrue(summary.getFileResults().get(2).isFailed());
+		assertTrue(summary.getFileResults().get(3).isFailed());
+		assertFalse(Files.exists(outputDir.resolve("postgres.json")));
+	}
+
+	@Test
+	public void testProcess_error() throws IOException {
+		// Given : a SQL type which fails with an Error
+		final MainProcess mainProcess = new MainProcess();
+		mainProcess.setTypeResolver(new SqlTypeResolver(new HashMap<String, String>()) {
+			@Override
+			public String resolve(final CharSequence sqlType) {
+				if("BOOM".equals(sqlType.toString().trim())) {
+					throw new StackOverflowError();
+				}
+				return super.resolve(sqlType);
+			}
+		});
+		Files.write(inputDir.resolve("error.sql"), "CREATE TABLE t1 (id BOOM);".getBytes(StandardCharsets.UTF_8));
+		final BatchProcess batchProcess = new BatchProcess(mainProcess);
+		batchProcess.setNbThreads(2);
+		final Path outputDir = folder.getRoot().toPath().resolve("output");
+
+		// When
+		final BatchProcess.Summary summary = batchProcess.process(BatchProcess.listInputs(inputDir.toString()), outputDir);
+
+		// Then : only the file with the error fails
+		assertEquals(5, summary.getNbFiles());
+		final BatchProcess.FileResult error = summary.getFileResults().get(1);
+		assertEquals("error.sql", error.getInput().getFileName().toString());
+		assertTrue(error.getError() instanceof StackOverflowError);
+		assertFalse(Files.exists(outputDir.resolve("error.json")));
+		assertTrue(Files.exists(outputDir.resolve("error.report.txt")));
+		assertTrue(summary.toString().contains("StackOverflowError"));
+		assertFalse(summary.getFileResults().get(4).isFailed());
+	}
+
+}
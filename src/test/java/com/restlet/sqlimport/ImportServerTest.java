@@ -0,0 +1,193 @@
+package com.restlet.sqlimport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.restlet.sqlimport.parser.ErrorBudget;
+import com.restlet.sqlimport.util.Util;
+
+/**
+ * Test : HTTP service of the SQL import.
+ */
+public class ImportServerTest {
+
+	private Util util = new Util();
+	private ObjectMapper objectMapper = new ObjectMapper();
+	private ImportServer importServer;
+
+	@Before
+	public void setUp() throws IOException {
+		final MainProcess mainProcess = new MainProcess();
+		mainProcess.setErrorBudget(ErrorBudget.valueOf("1"));
+		importServer = new ImportServer(mainProcess);
+		importServer.setPort(0);
+		importServer.setNbThreads(2);
+		importServer.setMaxRequestSize(100000);
+		importServer.setWarmUp(false);
+		importServer.start();
+	}
+
+	@After
+	public void tearDown() {
+		importServer.stop(0);
+	}
+
+	@Test
+	public void testImport() throws IOException {
+		// Given
+		final byte[] sqlContent = Files.readAllBytes(util.getFileByClassPath("/standard.sql").toPath());
+
+		// When
+		final HttpURLConnection connection = post(sqlContent, false);
+
+		// Then
+		assertEquals(200, connection.getResponseCode());
+		final JsonNode node = objectMapper.readTree(connection.getInputStream());
+		assertTrue(node.get("entities").size() > 0);
+		assertEquals("SUCCESS", node.get("report").get("status").asText());
+	}
+
+	@Test
+	public void testImport_gzip() throws IOException {
+		// Given
+		final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		final OutputStream out = new GZIPOutputStream(compressed);
+		out.write(Files.readAllBytes(util.getFileByClassPath("/mysql1.sql").toPath()));
+		out.close();
+
+		// When
+		final HttpURLConnection connection = post(compressed.toByteArray(), true);
+
+		// Then
+		assertEquals(200, connection.getResponseCode());
+		final JsonNode node = objectMapper.readTree(connection.getInputStream());
+		assertEquals(node.get("report").get("entities").asInt(), node.get("entities").size());
+	}
+
+	@Test
+	public void testImport_no_table() throws IOException {
+		// When
+		final HttpURLConnection connection = post("INSERT INTO t1 VALUES (1);".getBytes(StandardCharsets.UTF_8), false);
+
+		// Then
+		assertEquals(200, connection.getResponseCode());
+		final JsonNode node = objectMapper.readTree(connection.getInputStream());
+		assertEquals(0, node.get("entities").size());
+		assertEquals("EMPTY_DATABASE", node.get("report").get("status").asText());
+	}
+
+	@Test
+	public void testImport_errors() throws IOException {
+		// Then : error budget exceeded
+		HttpURLConnection connection = post("CREATE TABLE t1 (id,,);\nCREATE TABLE t2 (id,,);".getBytes(StandardCharsets.UTF_8), false);
+		assertEquals(422, connection.getResponseCode());
+		final JsonNode node = objectMapper.readTree(connection.getErrorStream());
+		assertEquals("ERROR_BUDGET_EXCEEDED", node.get("report").get("status").asText());
+
+		// Then : content too large
+		connection = post(new byte[200000], false);
+		assertEquals(413, connection.getResponseCode());
+
+		// Then : content not compressed
+		connection = post("CREATE TABLE t1 (id INTEGER);".getBytes(StandardCharsets.UTF_8), true);
+		assertEquals(400, connection.getResponseCode());
+
+		// Then : invalid Content-Length
+		final Socket socket = new Socket("localhost", importServer.getPort());
+		try {
+			socket.getOutputStream().write("POST /import HTTP/1.1\r\nHost: localhost\r\nContent-Length: 1x\r\n\r\n1x"
+					.getBytes(StandardCharsets.UTF_8));
+			final String statusLine = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8)).readLine();
+			assertTrue(statusLine, statusLine.startsWith("HTTP/1.1 400"));
+		} finally {
+			socket.close();
+		}
+
+		// Then : method not allowed
+		connection = (HttpURLConnection) new URL("http://localhost:" + importServer.getPort() + "/import").openConnection();
+		assertEquals(405, connection.getResponseCode());
+	}
+
+	@Test
+	public void testImport_queue_full() throws Exception {
+		// Given : one thread and one place in the queue, taken by requests whose content is not sent
+		final ImportServer busyServer = new ImportServer(new MainProcess());
+		busyServer.setPort(0);
+		busyServer.setNbThreads(1);
+		busyServer.setQueueSize(1);
+		busyServer.setWarmUp(false);
+		busyServer.start();
+		final List<Socket> sockets = new ArrayList<Socket>();
+		try {
+			for(int i = 0; i < 2; i++) {
+				final Socket socket = new Socket("localhost", busyServer.getPort());
+				socket.getOutputStream().write(("POST /import HTTP/1.1\r\nHost: localhost\r\nContent-Length: 10\r\n\r\n")
+						.getBytes(StandardCharsets.UTF_8));
+				socket.getOutputStream().flush();
+				sockets.add(socket);
+			}
+			Thread.sleep(500);
+
+			// When
+			final HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + busyServer.getPort() + "/import").openConnection();
+			connection.setRequestMethod("POST");
+			connection.setReadTimeout(5000);
+
+			// Then : rejected at once
+			assertEquals(503, connection.getResponseCode());
+			assertEquals("1", connection.getHeaderField("Retry-After"));
+		} finally {
+			for(final Socket socket : sockets) {
+				socket.close();
+			}
+			busyServer.stop(0);
+		}
+	}
+
+	/**
+	 * POST the content to the server.
+	 * @param content Content
+	 * @param gzip true if the content is compressed with gzip
+	 * @return Connection
+	 * @throws IOException Error while sending the content
+	 */
+	private HttpURLConnection post(final byte[] content, final boolean gzip) throws IOException {
+		final HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + importServer.getPort() + "/import").openConnection();
+		connection.setRequestMethod("POST");
+		connection.setDoOutput(true);
+		connection.setFixedLengthStreamingMode(content.length);
+		if(gzip) {
+			connection.setRequestProperty("Content-Encoding", "gzip");
+		}
+		try {
+			final OutputStream out = connection.getOutputStream();
+			out.write(content);
+			out.close();
+		} catch (final IOException e) {
+			// the server may respond before the end of the content
+		}
+		return connection;
+	}
+
+}
@@ -2,18 +2,33 @@ package com.restlet.sqlimport;
 
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import com.restlet.sqlimport.cache.ResultCache;
+import com.restlet.sqlimport.export.ResdefToJson.Format;
+import com.restlet.sqlimport.report.Phase;
 import com.restlet.sqlimport.report.Report;
+import com.restlet.sqlimport.report.ReportLine;
 import com.restlet.sqlimport.report.ReportLineStatus;
+import com.restlet.sqlimport.report.ReportManager;
+import com.restlet.sqlimport.report.ReportMetrics;
 import com.restlet.sqlimport.report.ReportStatus;
 import com.restlet.sqlimport.util.Util;
 
@@ -22,6 +37,9 @@ import com.restlet.sqlimport.util.Util;
  */
 public class MainProcessTest {
 
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
 	private MainProcess mainProcess = new MainProcess();
 	private Util util = new Util();
 
@@ -129,4 +147,206 @@ public class MainProcessTest {
 		assertNotNull(out);
 	}
 
+	@Test
+	public void testProcessStream_postgres() throws FileNotFoundException {
+		// Given
+		final File file = util.getFileByClassPath("/postgres.sql");
+		final InputStream in = new FileInputStream(file);
+
+		// When
+		final String out = mainProcess.processStream(in);
+
+		final Report report = mainProcess.getReport();
+
+		assertEquals(ReportStatus.SUCCESS, report.getReportStatus());
+		assertEquals(0, report.getReportLinesForStatus(ReportLineStatus.PARSING_ERROR).size());
+		assertEquals(9, report.getReportLinesForStatus(ReportLineStatus.PARSED).size());
+
+		assertEquals(new MainProcess().process(util.read(new FileInputStream(file))), out);
+	}
+
+	@Test
+	public void testProcessFile_mysql_mysqldump() throws IOException {
+		// Given
+		final File file = util.getFileByClassPath("/mysql_mysqldump.sql");
+
+		// When
+		final String out = mainProcess.processFile(file.toPath());
+
+		final Report report = mainProcess.getReport();
+
+		assertEquals(ReportStatus.SUCCESS, report.getReportStatus());
+		assertEquals(0, report.getReportLinesForStatus(ReportLineStatus.PARSING_ERROR).size());
+
+		assertEquals(new MainProcess().process(util.read(new FileInputStream(file))), out);
+	}
+
+	@Test
+	public void testProcessMappedFile_mysql_mysqldump() throws IOException {
+		// Given
+		final File file = util.getFileByClassPath("/mysql_mysqldump.sql");
+
+		// When
+		final String out = mainProcess.processMappedFile(file.toPath());
+
+		final Report report = mainProcess.getReport();
+
+		assertEquals(ReportStatus.SUCCESS, report.getReportStatus());
+		assertEquals(0, report.getReportLinesForStatus(ReportLineStatus.PARSING_ERROR).size());
+
+		assertEquals(new MainProcess().process(util.read(new FileInputStream(file))), out);
+	}
+
+	@Test
+	public void testProcessFile_output_stream() throws IOException {
+		// Given
+		final File file = util.getFileByClassPath("/postgres_pg_dump.sql");
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		// When
+		mainProcess.processFile(file.toPath(), out);
+
+		// Then
+		assertEquals(ReportStatus.SUCCESS, mainProcess.getReport().getReportStatus());
+		assertEquals(new MainProcess().processFile(file.toPath()), new String(out.toByteArray(), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testProcessFile_ndjson() throws IOException {
+		// Given
+		final File file = util.getFileByClassPath("/mysql_mysqldump.sql");
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		mainProcess.setFormat(Format.NDJSON);
+
+		// When
+		mainProcess.processFile(file.toPath(), out);
+
+		// Then : one entity per line
+		final String[] lines = new String(out.toByteArray(), StandardCharsets.UTF_8).split("\n");
+		assertEquals(mainProcess.getReport().getNbCreatedEntity(), lines.length);
+		final StringBuilder json = new StringBuilder("[");
+		for(int i = 0; i < lines.length; i++) {
+			json.append((i == 0) ? "" : ",").append(lines[i]);
+		}
+		json.append("]");
+		assertEquals(new MainProcess().processFile(file.toPath()), json.toString());
+	}
+
+	@Test
+	public void testProcess_parallel() throws IOException {
+		final ForkJoinPool executor = new ForkJoinPool(4);
+		try {
+			for(final String fileName : new String[] {"/mysql_mysqldump.sql", "/postgres_pg_dump.sql", "/oracle_sqldeveloper.sql", "/standard.sql"}) {
+				// Given
+				final File file = util.getFileByClassPath(fileName);
+				final MainProcess sequentialProcess = new MainProcess();
+				final String expected = sequentialProcess.processFile(file.toPath());
+				mainProcess = new MainProcess();
+				mainProcess.setExecutor(executor);
+
+				// When
+				final String out = mainProcess.processFile(file.toPath());
+
+				// Then : same tables and same report lines in the same order
+				assertEquals(fileName, expected, out);
+				final List<ReportLine> expectedLines = sequentialProcess.getReport().getReportLines();
+				final List<ReportLine> reportLines = mainProcess.getReport().getReportLines();
+				assertEquals(fileName, expectedLines.size(), reportLines.size());
+				for(int i = 0; i < expectedLines.size(); i++) {
+					assertEquals(fileName, expectedLines.get(i).toString(), reportLines.get(i).toString());
+				}
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testProcessFile_metrics() throws IOException {
+		// Given
+		final File file = util.getFileByClassPath("/postgres_pg_dump.sql");
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		// When
+		mainProcess.processFile(file.toPath(), out);
+
+		// Then
+		final Report report = mainProcess.getReport();
+		final ReportMetrics metrics = report.getMetrics();
+		for(final Phase phase : Phase.values()) {
+			assertTrue(phase.name(), metrics.getWallTime(phase) > 0);
+		}
+		assertEquals(report.getReportLinesForStatus(ReportLineStatus.IGNORED).size(), metrics.getNbStatementsIgnored());
+		assertEquals(report.getReportLinesForStatus(ReportLineStatus.PARSED).size(), metrics.getNbStatementsParsed());
+		assertEquals(0, metrics.getNbStatementsFailed());
+		assertEquals(metrics.getNbStatementsSeen(), metrics.getNbStatementsIgnored() + metrics.getNbStatementsParsed());
+		assertTrue(metrics.getNbTokensLexed() > 0);
+		assertEquals(file.length(), metrics.getNbBytesRead());
+		assertEquals(out.size(), metrics.getNbBytesWritten());
+		assertTrue(metrics.getPeakStatementSize() > 0);
+	}
+
+	@Test
+	public void testProcessFile_cache() throws IOException {
+		// Given
+		final File file = util.getFileByClassPath("/mysql_mysqldump.sql");
+		mainProcess.setResultCache(new ResultCache(folder.getRoot().toPath(), 1024 * 1024));
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		mainProcess.processFile(file.toPath(), out);
+
+		// When : same file, same options
+		final MainProcess cachedProcess = mainProcess.copy();
+		final ByteArrayOutputStream cachedOut = new ByteArrayOutputStream();
+		cachedProcess.processFile(file.toPath(), cachedOut);
+
+		// Then : the result is read from the cache
+		final Report report = cachedProcess.getReport();
+		assertFalse(mainProcess.getReport().isCached());
+		assertTrue(report.isCached());
+		assertEquals(ReportStatus.SUCCESS, report.getReportStatus());
+		assertEquals(mainProcess.getReport().getNbCreatedEntity(), report.getNbCreatedEntity());
+		assertEquals(0, report.getMetrics().getNbStatementsSeen());
+		assertEquals(out.toString("UTF-8"), cachedOut.toString("UTF-8"));
+		assertEquals(out.toString("UTF-8"), cachedProcess.copy().processFile(file.toPath()));
+
+		// When : other options
+		final MainProcess ndjsonProcess = mainProcess.copy();
+		ndjsonProcess.setFormat(Format.NDJSON);
+		ndjsonProcess.processFile(file.toPath(), new ByteArrayOutputStream());
+
+		// Then
+		assertFalse(ndjsonProcess.getReport().isCached());
+	}
+
+	@Test
+	public void testProcessFile_cache_formats() throws IOException {
+		// Given : the NDJSON format, the methods which return the JSON content write a JSON array
+		final File file = util.getFileByClassPath("/mysql_mysqldump.sql");
+		mainProcess.setResultCache(new ResultCache(folder.getRoot().toPath(), 1024 * 1024));
+		mainProcess.setFormat(Format.NDJSON);
+		final ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+		mainProcess.copy().processFile(file.toPath(), ndjson);
+
+		// When
+		final MainProcess jsonProcess = mainProcess.copy();
+		final String json = jsonProcess.processFile(file.toPath());
+		final MainProcess cachedJsonProcess = mainProcess.copy();
+		final String cachedJson = cachedJsonProcess.processFile(file.toPath());
+		final MainProcess cachedNdjsonProcess = mainProcess.copy();
+		final ByteArrayOutputStream cachedNdjson = new ByteArrayOutputStream();
+		cachedNdjsonProcess.processFile(file.toPath(), cachedNdjson);
+
+		// Then : each way of calling gets its own format from the cache
+		assertFalse(jsonProcess.getReport().isCached());
+		assertTrue(json.startsWith("["));
+		assertTrue(cachedJsonProcess.getReport().isCached());
+		assertEquals(json, cachedJson);
+		assertTrue(cachedNdjsonProcess.getReport().isCached());
+		assertEquals(ndjson.toString("UTF-8"), cachedNdjson.toString("UTF-8"));
+		assertFalse(cachedNdjson.toString("UTF-8").startsWith("["));
+
+		// Then : the schema is not recomputed
+		assertTrue(new ReportManager().toStringSchema(cachedJsonProcess.getReport()).contains("not recomputed"));
+	}
+
 }
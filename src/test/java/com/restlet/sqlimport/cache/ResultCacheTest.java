@@ -0,0 +1,97 @@
+package com.restlet.sqlimport.cache;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test : result cache.
+ */
+public class ResultCacheTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testGetKey() throws IOException {
+		// Given
+		final ResultCache resultCache = new ResultCache(folder.getRoot().toPath(), 1000);
+		final Path file = folder.newFile("dump.sql").toPath();
+		Files.write(file, "CREATE TABLE t1 (id INTEGER);".getBytes(StandardCharsets.UTF_8));
+
+		// Then : same key for the same content and the same options
+		assertEquals(resultCache.getKey("a", "CREATE TABLE t1 (id INTEGER);"), resultCache.getKey("a", file));
+		assertFalse(resultCache.getKey("a", file).equals(resultCache.getKey("b", file)));
+		assertEquals(64, resultCache.getKey("a", file).length());
+	}
+
+	@Test
+	public void testPutGet() {
+		// Given
+		final ResultCache resultCache = new ResultCache(folder.getRoot().toPath(), 1000);
+		final byte[] content = "[{\"name\":\"t1\"}]".getBytes(StandardCharsets.UTF_8);
+
+		// When
+		resultCache.put("k1", content, "{\"status\":\"SUCCESS\"}");
+		final ResultCache.Entry entry = resultCache.get("k1");
+
+		// Then
+		assertNotNull(entry);
+		assertArrayEquals(content, entry.getContent());
+		assertEquals("{\"status\":\"SUCCESS\"}", entry.getReport());
+		assertNull(resultCache.get("k2"));
+	}
+
+	@Test
+	public void testGet_corrupted() throws IOException {
+		// Given
+		final ResultCache resultCache = new ResultCache(folder.getRoot().toPath(), 1000);
+		resultCache.put("k1", "[]".getBytes(StandardCharsets.UTF_8), "{}");
+		final Path entry = folder.getRoot().toPath().resolve("k1.entry");
+		final byte[] bytes = Files.readAllBytes(entry);
+		bytes[0] = '{';
+		Files.write(entry, bytes);
+
+		// When
+		final ResultCache.Entry corrupted = resultCache.get("k1");
+
+		// Then : the corrupted entry is deleted
+		assertNull(corrupted);
+		assertFalse(Files.exists(entry));
+	}
+
+	@Test
+	public void testEvict() throws IOException {
+		// Given : entries of 100 bytes in a cache of 250 bytes
+		final ResultCache resultCache = new ResultCache(folder.getRoot().toPath(), 250);
+		final byte[] content = new byte[100 - 2 - 24];
+		final Path dir = folder.getRoot().toPath();
+		resultCache.put("k1", content, "{}");
+		Files.setLastModifiedTime(dir.resolve("k1.entry"), FileTime.fromMillis(1000000));
+		resultCache.put("k2", content, "{}");
+		Files.setLastModifiedTime(dir.resolve("k2.entry"), FileTime.fromMillis(2000000));
+
+		// When : k1 is used, then k3 is added
+		assertNotNull(resultCache.get("k1"));
+		resultCache.put("k3", content, "{}");
+
+		// Then : k2 is the least recently used
+		assertTrue(Files.exists(dir.resolve("k1.entry")));
+		assertFalse(Files.exists(dir.resolve("k2.entry")));
+		assertTrue(Files.exists(dir.resolve("k3.entry")));
+	}
+
+}
@@ -0,0 +1,78 @@
+package com.restlet.sqlimport.log;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+
+public class LoggerTest {
+
+	private final Level level = Logger.getLevel();
+	private final LogSink sink = Logger.getSink();
+
+	private final List<String> messages = Collections.synchronizedList(new ArrayList<String>());
+
+	private final LogSink listSink = new LogSink() {
+		@Override
+		public void write(final Level level, final String loggerName, final String message) {
+			messages.add(level + " " + loggerName + " " + message);
+		}
+		@Override
+		public void close() {
+		}
+	};
+
+	private Logger logger = Logger.getLogger(LoggerTest.class);
+
+	@After
+	public void tearDown() {
+		Logger.setLevel(level);
+		Logger.setSink(sink);
+	}
+
+	@Test
+	public void testLevel() {
+		// Given
+		Logger.setSink(listSink);
+		Logger.setLevel(Level.WARN);
+
+		// When
+		logger.debug("query {}", "q1");
+		logger.warn("line {}:{} {}", 1, 2, "error");
+		logger.error("no argument {}");
+
+		// Then
+		assertFalse(logger.isDebugEnabled());
+		assertTrue(logger.isEnabled(Level.ERROR));
+		assertEquals(2, messages.size());
+		assertEquals("WARN LoggerTest line 1:2 error", messages.get(0));
+		assertEquals("ERROR LoggerTest no argument {}", messages.get(1));
+	}
+
+	@Test
+	public void testAsyncLogSink() {
+		// Given
+		final AsyncLogSink asyncLogSink = new AsyncLogSink(listSink, 16);
+		Logger.setSink(asyncLogSink);
+		Logger.setLevel(Level.TRACE);
+
+		// When
+		for(int i = 0; i < 10; i++) {
+			logger.trace("message {}", i);
+		}
+		asyncLogSink.close();
+
+		// Then : all the messages are written when the sink is closed
+		assertEquals(0, asyncLogSink.getNbDroppedMessages());
+		assertEquals(10, messages.size());
+		assertEquals("TRACE LoggerTest message 0", messages.get(0));
+	}
+
+}
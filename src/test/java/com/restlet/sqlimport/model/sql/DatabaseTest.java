@@ -0,0 +1,73 @@
+package com.restlet.sqlimport.model.sql;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+
+public class DatabaseTest {
+
+	private Database database = new Database();
+
+	private Table newTable(final String schemaName, final String name) {
+		final Table table = new Table();
+		table.setSchemaName(schemaName);
+		table.setName(name);
+		return table;
+	}
+
+	@Test
+	public void testGetTableForName() {
+		// Given
+		final Table users = newTable("public", "users");
+		final Table table1 = newTable("SYSTEM", "TABLE1");
+		final Table table2 = newTable(null, "table2");
+		database.addTable(users);
+		database.addTable(table1);
+		database.addTable(table2);
+
+		// When / Then
+		assertTrue(users == database.getTableForName("users"));
+		assertTrue(users == database.getTableForName("USERS"));
+		assertTrue(users == database.getTableForName("public.users"));
+		assertTrue(users == database.getTableForName("`users`"));
+		assertTrue(table1 == database.getTableForName("\"SYSTEM\".\"TABLE1\""));
+		assertTrue(table1 == database.getTableForName("system.table1"));
+		assertNull(database.getTableForName("other.table1"));
+		// a table without schema matches any schema
+		assertTrue(table2 == database.getTableForName("SYSTEM.TABLE2"));
+		assertNull(database.getTableForName("table3"));
+		assertNull(database.getTableForName(null));
+	}
+
+	@Test
+	public void testGetTableForName_tables_list() {
+		// Given : tables added or renamed directly
+		final Table table1 = newTable(null, "table1");
+		database.getTables().add(table1);
+		assertTrue(table1 == database.getTableForName("table1"));
+		final Table table2 = newTable(null, "table2");
+		database.getTables().add(table2);
+		table1.setName("table3");
+
+		// When / Then
+		assertTrue(table2 == database.getTableForName("table2"));
+		assertNull(database.getTableForName("table1"));
+		assertEquals(2, database.getTables().size());
+	}
+
+	@Test
+	public void testGetTableForName_exact() {
+		// Given
+		database.setNameCase(Database.NameCase.EXACT);
+		final Table table1 = newTable(null, "Table1");
+		database.addTable(table1);
+
+		// When / Then
+		assertTrue(table1 == database.getTableForName("Table1"));
+		assertNull(database.getTableForName("table1"));
+	}
+
+}
@@ -0,0 +1,89 @@
+package com.restlet.sqlimport.model.sql;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+
+public class TableTest {
+
+	private Table table = new Table();
+
+	private Column newColumn(final String name) {
+		final Column column = new Column();
+		column.setName(name);
+		return column;
+	}
+
+	private ForeignKey newForeignKey(final String... columnNameOrigins) {
+		final ForeignKey foreignKey = new ForeignKey();
+		for(final String columnNameOrigin : columnNameOrigins) {
+			foreignKey.getColumnNameOrigins().add(columnNameOrigin);
+			foreignKey.getColumnNameTargets().add("id");
+		}
+		return foreignKey;
+	}
+
+	@Test
+	public void testGetForeignKeyForColumnNameOrigin() {
+		// Given
+		final ForeignKey fk1 = newForeignKey("c1");
+		final ForeignKey fk2 = newForeignKey("c1");
+		final ForeignKey fk3 = newForeignKey("c2", "c3");
+		table.addForeignKey(fk1);
+		table.addForeignKey(fk2);
+		table.addForeignKey(fk3);
+
+		// When / Then : the first foreign key with only one column
+		assertTrue(fk1 == table.getForeignKeyForColumnNameOrigin(newColumn("c1")));
+		assertNull(table.getForeignKeyForColumnNameOrigin(newColumn("c2")));
+		assertNull(table.getForeignKeyForColumnNameOrigin(newColumn("c4")));
+		assertEquals(1, table.getCompositeForeignKeys().size());
+		assertTrue(fk3 == table.getCompositeForeignKeys().get(0));
+		assertEquals(3, table.getForeignKeys().size());
+	}
+
+	@Test
+	public void testGetForeignKeyForColumnNameOrigin_foreign_keys_list() {
+		// Given : foreign key added directly, its columns defined after
+		final ForeignKey fk1 = new ForeignKey();
+		table.getForeignKeys().add(fk1);
+		fk1.getColumnNameOrigins().add("c1");
+
+		// When / Then
+		assertTrue(fk1 == table.getForeignKeyForColumnNameOrigin(newColumn("c1")));
+		table.getForeignKeys().clear();
+		assertNull(table.getForeignKeyForColumnNameOrigin(newColumn("c1")));
+
+		// When / Then : foreign key replaced, the size of the list does not change
+		final ForeignKey fk2 = newForeignKey("c2");
+		final ForeignKey fk3 = newForeignKey("c3", "c4");
+		table.getForeignKeys().add(fk2);
+		assertTrue(fk2 == table.getForeignKeyForColumnNameOrigin(newColumn("c2")));
+		table.getForeignKeys().set(0, fk3);
+		assertNull(table.getForeignKeyForColumnNameOrigin(newColumn("c2")));
+		assertTrue(fk3 == table.getCompositeForeignKeys().get(0));
+	}
+
+	@Test
+	public void testSetForeignKeys() {
+		// Given
+		final ForeignKey fk1 = newForeignKey("c1");
+		final ForeignKey fk2 = newForeignKey("c2");
+		table.addForeignKey(fk1);
+		assertTrue(fk1 == table.getForeignKeyForColumnNameOrigin(newColumn("c1")));
+
+		// When
+		table.setForeignKeys(Arrays.asList(fk2));
+
+		// Then : the foreign keys are indexed again
+		assertNull(table.getForeignKeyForColumnNameOrigin(newColumn("c1")));
+		assertTrue(fk2 == table.getForeignKeyForColumnNameOrigin(newColumn("c2")));
+		assertEquals(1, table.getForeignKeys().size());
+	}
+
+}
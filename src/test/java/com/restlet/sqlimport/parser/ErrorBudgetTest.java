@@ -0,0 +1,65 @@
+package com.restlet.sqlimport.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Test : error budget.
+ */
+public class ErrorBudgetTest {
+
+	@Test
+	public void testValueOf_number() {
+		// When
+		final ErrorBudget errorBudget = ErrorBudget.valueOf("10");
+
+		// Then
+		assertEquals(10, errorBudget.getMaxErrors());
+		assertEquals(1, errorBudget.getMaxErrorRatio(), 0);
+		assertEquals("10", errorBudget.toString());
+	}
+
+	@Test
+	public void testValueOf_percentage() {
+		// When
+		final ErrorBudget errorBudget = ErrorBudget.valueOf("25%");
+
+		// Then
+		assertEquals(Integer.MAX_VALUE, errorBudget.getMaxErrors());
+		assertEquals(0.25, errorBudget.getMaxErrorRatio(), 0);
+		assertEquals("25.0%", errorBudget.toString());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testValueOf_invalid_percentage() {
+		ErrorBudget.valueOf("150%");
+	}
+
+	@Test
+	public void testIsExceeded_number() {
+		// Given
+		final ErrorBudget errorBudget = new ErrorBudget(2, 1);
+
+		// Then
+		assertFalse(errorBudget.isExceeded(3, 2, false));
+		assertTrue(errorBudget.isExceeded(3, 3, false));
+		assertFalse(errorBudget.isExceeded(100, 2, true));
+	}
+
+	@Test
+	public void testIsExceeded_ratio() {
+		// Given
+		final ErrorBudget errorBudget = new ErrorBudget(Integer.MAX_VALUE, 0.1);
+
+		// Then : the ratio is checked after the first queries, or at the end
+		assertFalse(errorBudget.isExceeded(ErrorBudget.MIN_QUERYS - 1, 5, false));
+		assertTrue(errorBudget.isExceeded(ErrorBudget.MIN_QUERYS - 1, 5, true));
+		assertTrue(errorBudget.isExceeded(ErrorBudget.MIN_QUERYS, 5, false));
+		assertFalse(errorBudget.isExceeded(ErrorBudget.MIN_QUERYS, 2, false));
+		assertFalse(errorBudget.isExceeded(0, 0, true));
+	}
+
+}
@@ -0,0 +1,104 @@
+package com.restlet.sqlimport.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenSource;
+import org.junit.Test;
+
+import com.restlet.sqlimport.util.Util;
+
+/**
+ * Test : the hand-written lexer returns the same tokens as the ANTLR lexer.
+ */
+public class FastSqlLexerTest {
+
+	private Util util = new Util();
+
+	@Test
+	public void testNextToken_bundled_dumps() throws IOException {
+		// Given
+		final String[] files = {"/import1.sql", "/mysql1.sql", "/mysql_mysqldump.sql", "/mysql_mysqlworkbench.sql",
+				"/oracle1.sql", "/oracle2.sql", "/oracle_sqldeveloper.sql", "/postgres.backup", "/postgres.sql",
+				"/postgres_pg_dump.sql", "/standard.sql", "/com/restlet/sqlimport/parser/warm-up.sql"};
+
+		for(final String file : files) {
+			final File sqlFile = util.getFileByClassPath(file);
+			final String content = new String(Files.readAllBytes(sqlFile.toPath()), StandardCharsets.UTF_8);
+
+			// When / Then
+			final int nbTokens = assertSameTokens(file, content);
+			assertTrue(file, nbTokens > 100);
+		}
+	}
+
+	@Test
+	public void testNextToken_edge_cases() {
+		// Given : keywords in any case, unterminated literals, comments and operators
+		final String[] contents = {
+				"create TABLE Current_Timestamp current_timestampx _x1 x'0A' X'0a' x'unterminated",
+				"'it''s' 'unterminated \"a\"\"b\" \"unterminated `a``b` `unterminated [a b] [unterminated",
+				"a::b :: ::: 1 1. 1.5 .5 . 1e5 1E+5 1e- 1.5e-3x .5e 12abc ? ?12 :a @\"b\" $c : @ $",
+				"-- comment\r\n-/ /* comment\n */ /*/ */ | || < <= << <> > >= >> = == != ! ~ & % * + ;",
+				"/* unterminated comment\n",
+				"a /* b\nc\n",
+				"x\n\n",
+				"\u000B\t\fé€",
+				""
+		};
+
+		for(final String content : contents) {
+			// When / Then
+			assertSameTokens(content, content);
+		}
+	}
+
+	@Test
+	public void testParse() {
+		// Given
+		final String query = "CREATE TABLE t1 (id INTEGER PRIMARY KEY, name VARCHAR(20) NOT NULL DEFAULT 'a')";
+
+		// When
+		final SqlParser parser = new SqlParser(new CommonTokenStream(new FastSqlLexer(new CharSequenceCharStream(query))));
+		final String tree = parser.parse().toStringTree(parser);
+
+		// Then
+		final SqlParser antlrParser = new SqlParser(new CommonTokenStream(new SqlLexer(new CharSequenceCharStream(query))));
+		assertEquals(antlrParser.parse().toStringTree(antlrParser), tree);
+	}
+
+	/**
+	 * Check that both lexers return the same tokens.
+	 * @param name Name of the content in the messages
+	 * @param content SQL content
+	 * @return Number of tokens
+	 */
+	private int assertSameTokens(final String name, final String content) {
+		final TokenSource expectedLexer = new SqlLexer(new CharSequenceCharStream(content));
+		final TokenSource lexer = new FastSqlLexer(new CharSequenceCharStream(content));
+		int nbTokens = 0;
+		Token expected;
+		do {
+			expected = expectedLexer.nextToken();
+			final Token token = lexer.nextToken();
+			final String message = name + " : token " + nbTokens + " " + expected;
+			assertEquals(message, expected.getType(), token.getType());
+			assertEquals(message, expected.getChannel(), token.getChannel());
+			assertEquals(message, expected.getStartIndex(), token.getStartIndex());
+			assertEquals(message, expected.getStopIndex(), token.getStopIndex());
+			assertEquals(message, expected.getLine(), token.getLine());
+			assertEquals(message, expected.getCharPositionInLine(), token.getCharPositionInLine());
+			assertEquals(message, expected.getText(), token.getText());
+			nbTokens++;
+		} while(expected.getType() != Token.EOF);
+		return nbTokens;
+	}
+
+}
@@ -1,6 +1,7 @@
 package com.restlet.sqlimport.parser;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.FileInputStream;
@@ -11,6 +12,7 @@ import java.util.List;
 import org.junit.Test;
 
 import com.restlet.sqlimport.report.Report;
+import com.restlet.sqlimport.report.ReportLine;
 import com.restlet.sqlimport.report.ReportLineStatus;
 import com.restlet.sqlimport.util.Util;
 
@@ -96,5 +98,28 @@ public class GetSqlQueryTest {
 		assertEquals(3, lines.size());
 	}
 
+	@Test
+	public void testRead_ignored_query_not_kept() {
+		// Given : an INSERT with a large data section
+		final StringBuilder insert = new StringBuilder("INSERT INTO t1 VALUES ");
+		for(int i = 0; i < 1000; i++) {
+			insert.append("(").append(i).append(",'data of the row ").append(i).append("'),");
+		}
+		insert.append("(1000,'end');");
+		final String sqlContent = "CREATE TABLE t1 (id INTEGER);\n" + insert;
+
+		// When
+		final List<String> lines = getSqlQuery.getSqlQuerys(sqlContent);
+
+		// Then : the ignored query keeps its position and its length, not its text
+		assertEquals(1, lines.size());
+		final ReportLine ignored = report.getReportLineForQueryId(1);
+		assertEquals(ReportLineStatus.IGNORED, ignored.getReportLineStatus());
+		assertEquals(insert.length() - 1, ignored.getQueryLength());
+		assertEquals(sqlContent.indexOf("INSERT"), ignored.getQueryOffset());
+		assertTrue(ignored.getQuery().length() <= GetSqlQuery.PREVIEW_LENGTH + 3);
+		assertTrue(ignored.getQuery().startsWith("INSERT INTO t1 VALUES (0,"));
+		assertEquals(lines.get(0), report.getReportLineForQueryId(0).getQuery());
+	}
 
 }
@@ -0,0 +1,61 @@
+package com.restlet.sqlimport.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.restlet.sqlimport.parser.GrammarProfile.Decision;
+import com.restlet.sqlimport.report.Report;
+import com.restlet.sqlimport.report.ReportLineStatus;
+import com.restlet.sqlimport.util.Util;
+
+/**
+ * Test : profile of the decisions of the grammar.
+ */
+public class GrammarProfileTest {
+
+	private Util util = new Util();
+
+	@Test
+	public void testProfile() throws FileNotFoundException {
+		// Given
+		final File file = util.getFileByClassPath("/standard.sql");
+		final String sqlContent = util.read(new FileInputStream(file));
+		final Report report = new Report();
+		final SqlImport sqlImport = new SqlImport(report);
+		final GrammarProfile grammarProfile = new GrammarProfile();
+		sqlImport.setGrammarProfile(grammarProfile);
+
+		// When
+		sqlImport.getDatabase(sqlContent);
+
+		// Then : one profile per parsing, the slowest decision first
+		assertEquals(report.getReportLinesForStatus(ReportLineStatus.PARSED).size() + report.getNbLlFallbacks(), grammarProfile.getNbParsings());
+		final List<Decision> decisions = grammarProfile.getRankedDecisions();
+		assertTrue(decisions.size() > 0);
+		final Set<String> ruleNames = new HashSet<String>();
+		for(int i = 0; i < decisions.size(); i++) {
+			assertTrue(decisions.get(i).getInvocations() > 0);
+			if(i > 0) {
+				assertTrue(decisions.get(i - 1).getTimeInPrediction() >= decisions.get(i).getTimeInPrediction());
+			}
+			ruleNames.add(decisions.get(i).getRuleName());
+		}
+		assertTrue(ruleNames.contains("create_table_stmt"));
+		assertTrue(ruleNames.contains("column_def"));
+		assertTrue(grammarProfile.toString().contains("column_def"));
+
+		// the parsers of the next queries are not profiled
+		assertNull(SqlParserPool.getSllParser(new CharSequenceCharStream("CREATE TABLE t1 (id INTEGER)")).getParseInfo());
+	}
+
+}
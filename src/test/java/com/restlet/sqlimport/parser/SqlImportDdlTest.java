@@ -0,0 +1,13 @@
+package com.restlet.sqlimport.parser;
+
+/**
+ * Test : SQL import with the DDL grammar, on the queries of {@link SqlImportTest}.
+ */
+public class SqlImportDdlTest extends SqlImportTest {
+
+	@Override
+	protected SqlGrammar getGrammar() {
+		return SqlGrammar.DDL;
+	}
+
+}
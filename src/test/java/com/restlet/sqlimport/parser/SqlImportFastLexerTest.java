@@ -0,0 +1,13 @@
+package com.restlet.sqlimport.parser;
+
+/**
+ * Test : SQL import with the hand-written lexer, on the queries of {@link SqlImportTest}.
+ */
+public class SqlImportFastLexerTest extends SqlImportTest {
+
+	@Override
+	protected boolean isFastLexer() {
+		return true;
+	}
+
+}
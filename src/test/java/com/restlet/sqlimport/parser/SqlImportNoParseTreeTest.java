@@ -0,0 +1,73 @@
+package com.restlet.sqlimport.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.restlet.sqlimport.model.sql.Database;
+import com.restlet.sqlimport.report.Report;
+import com.restlet.sqlimport.report.ReportLine;
+import com.restlet.sqlimport.report.ReportLineStatus;
+import com.restlet.sqlimport.report.StatementKind;
+
+/**
+ * Test : SQL import without parse tree, on the queries of {@link SqlImportTest}.
+ */
+public class SqlImportNoParseTreeTest extends SqlImportTest {
+
+	@Override
+	protected boolean isBuildParseTree() {
+		return false;
+	}
+
+	@Test
+	public void testRead_parse_listener_error() {
+		// Given : the parse listener can not read the text of the first query
+		final String text = "CREATE TABLE t1 (id INTEGER)";
+		final CharSequence unreadableText = new CharSequence() {
+			@Override
+			public int length() {
+				return text.length();
+			}
+			@Override
+			public char charAt(final int index) {
+				return text.charAt(index);
+			}
+			@Override
+			public CharSequence subSequence(final int start, final int end) {
+				throw new IllegalStateException("Text not readable");
+			}
+			@Override
+			public String toString() {
+				return text;
+			}
+		};
+		final Report report = new Report();
+		final SqlQuery[] querys = {new SqlQuery(0, 0, unreadableText), new SqlQuery(1, 0, "CREATE TABLE t2 (id INTEGER)")};
+		for(final SqlQuery query : querys) {
+			final ReportLine reportLine = new ReportLine();
+			reportLine.setQueryId(query.getId());
+			reportLine.setStatementKind(StatementKind.CREATE_TABLE);
+			reportLine.setReportLineStatus(ReportLineStatus.TO_PARSE);
+			report.add(reportLine);
+		}
+		final SqlImport sqlImport = new SqlImport(report);
+		sqlImport.setBuildParseTree(false);
+
+		// When
+		final Database database = sqlImport.read(Arrays.asList(querys).iterator());
+
+		// Then : the query is reported as an error, the import goes on
+		assertEquals(ReportLineStatus.PARSING_ERROR, report.getReportLineForQueryId(0).getReportLineStatus());
+		assertEquals("Text not readable", report.getReportLineForQueryId(0).getMessage());
+		assertEquals(ReportLineStatus.PARSED, report.getReportLineForQueryId(1).getReportLineStatus());
+		assertNull(database.getTableForName("t1"));
+		assertNotNull(database.getTableForName("t2"));
+		assertEquals(1, report.getMetrics().getNbStatementsFailed());
+	}
+
+}
@@ -5,14 +5,22 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
 import org.antlr.v4.runtime.ANTLRInputStream;
 import org.antlr.v4.runtime.CommonTokenStream;
+import org.junit.Before;
 import org.junit.Test;
 
 import com.restlet.sqlimport.model.sql.Column;
@@ -20,8 +28,10 @@ import com.restlet.sqlimport.model.sql.Database;
 import com.restlet.sqlimport.model.sql.ForeignKey;
 import com.restlet.sqlimport.model.sql.Table;
 import com.restlet.sqlimport.report.Report;
+import com.restlet.sqlimport.report.ReportLine;
 import com.restlet.sqlimport.report.ReportLineStatus;
 import com.restlet.sqlimport.report.ReportManager;
+import com.restlet.sqlimport.report.ReportStatus;
 import com.restlet.sqlimport.util.Util;
 
 /**
@@ -34,6 +44,37 @@ public class SqlImportTest {
 	private SqlImport sqlImport = new SqlImport(report);
 	private Util util = new Util();
 
+	@Before
+	public void setUp() {
+		sqlImport.setGrammar(getGrammar());
+		sqlImport.setFastLexer(isFastLexer());
+		sqlImport.setBuildParseTree(isBuildParseTree());
+	}
+
+	/**
+	 * Grammar of the parser used by the tests.
+	 * @return grammar
+	 */
+	protected SqlGrammar getGrammar() {
+		return SqlGrammar.FULL;
+	}
+
+	/**
+	 * Lexer used by the tests.
+	 * @return true for the hand-written lexer
+	 */
+	protected boolean isFastLexer() {
+		return false;
+	}
+
+	/**
+	 * Parse tree of the CREATE TABLE queries in the tests.
+	 * @return false to parse without parse tree
+	 */
+	protected boolean isBuildParseTree() {
+		return true;
+	}
+
 	@Test
 	public void testGetDatabase_nofile() {
 
@@ -43,6 +84,174 @@ public class SqlImportTest {
 		assertNull(database);
 	}
 
+	@Test
+	public void testGetDatabase_ll_fallback() {
+		// Given
+		final String sqlContent = "CREATE TABLE t1 (id INTEGER,, name VARCHAR(10));\n"
+				+ "CREATE TABLE t2 (id INTEGER);";
+
+		// When
+		final Database database = sqlImport.getDatabase(sqlContent);
+
+		// Then : only the query with a syntax error is parsed again
+		assertEquals(1, report.getNbLlFallbacks());
+		assertEquals(1, report.getReportLinesForStatus(ReportLineStatus.PARSING_ERROR).size());
+		assertEquals(1, report.getReportLinesForStatus(ReportLineStatus.PARSED).size());
+		assertEquals("t2", database.getTables().get(database.getTables().size() - 1).getName());
+	}
+
+	@Test
+	public void testGetDatabase_error_budget_exceeded() {
+		// Given
+		final String sqlContent = "CREATE TABLE t1 (id INTEGER,, name VARCHAR(10));\n"
+				+ "CREATE TABLE t2 (id INTEGER,);\n"
+				+ "CREATE TABLE t3 (id INTEGER);";
+		sqlImport.setErrorBudget(ErrorBudget.valueOf("1"));
+
+		// When
+		try {
+			sqlImport.getDatabase(sqlContent);
+			fail("the error budget is exceeded");
+		} catch(final ErrorBudgetExceededException e) {
+			// Then : the import stops at the second error
+			assertEquals(ReportStatus.ERROR_BUDGET_EXCEEDED, report.getReportStatus());
+			assertEquals(2, report.getReportLinesForStatus(ReportLineStatus.PARSING_ERROR).size());
+			assertEquals(0, report.getReportLinesForStatus(ReportLineStatus.PARSED).size());
+		}
+	}
+
+	@Test
+	public void testGetDatabase_error_budget_ratio() {
+		// Given : one query with an error out of two
+		final String sqlContent = "CREATE TABLE t1 (id INTEGER,, name VARCHAR(10));\n"
+				+ "CREATE TABLE t2 (id INTEGER);";
+
+		sqlImport.setErrorBudget(ErrorBudget.valueOf("40%"));
+
+		// When
+		try {
+			sqlImport.getDatabase(sqlContent);
+			fail("the error budget is exceeded");
+		} catch(final ErrorBudgetExceededException e) {
+			// Then : the ratio is checked at the end of the import, once all the queries are parsed
+			assertEquals(ReportStatus.ERROR_BUDGET_EXCEEDED, report.getReportStatus());
+			assertEquals(1, report.getReportLinesForStatus(ReportLineStatus.PARSED).size());
+		}
+	}
+
+	@Test
+	public void testGetDatabase_error_budget_ratio_parallel() {
+		// Given : the errors at the beginning exceed the ratio once 20 queries are parsed,
+		// the errors at the end do not exceed it
+		final StringBuilder errorsFirst = new StringBuilder();
+		final StringBuilder errorsLast = new StringBuilder();
+		for(int i = 0; i < 40; i++) {
+			errorsFirst.append("CREATE TABLE t").append(i).append((i < 10) ? " (id INTEGER,,);\n" : " (id INTEGER);\n");
+			errorsLast.append("CREATE TABLE t").append(i).append((i >= 30) ? " (id INTEGER,,);\n" : " (id INTEGER);\n");
+		}
+		final ForkJoinPool executor = new ForkJoinPool(4);
+		try {
+			for(int i = 0; i < 5; i++) {
+				// When / Then : same result as when the queries are parsed one after another
+				assertTrue(isErrorBudgetExceeded(errorsFirst.toString(), null));
+				assertTrue(isErrorBudgetExceeded(errorsFirst.toString(), executor));
+				assertFalse(isErrorBudgetExceeded(errorsLast.toString(), null));
+				assertFalse(isErrorBudgetExceeded(errorsLast.toString(), executor));
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testRead_parallel_error() throws InterruptedException {
+		// Given : the first query has no report line, which fails its parsing
+		final Report parallelReport = new Report();
+		final List<SqlQuery> querys = new ArrayList<SqlQuery>();
+		for(int i = 0; i < 1000; i++) {
+			final SqlQuery query = new SqlQuery(i, 0, "CREATE TABLE t" + i + " (id INTEGER, name VARCHAR(10))");
+			if(i > 0) {
+				final ReportLine reportLine = new ReportLine();
+				reportLine.setQueryId(i);
+				reportLine.setReportLineStatus(ReportLineStatus.TO_PARSE);
+				parallelReport.add(reportLine);
+			}
+			querys.add(query);
+		}
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		final SqlImport parallelImport = new SqlImport(parallelReport);
+		parallelImport.setGrammar(getGrammar());
+		parallelImport.setExecutor(executor);
+
+		// When
+		try {
+			parallelImport.read(querys.iterator());
+			fail("the parsing of the first query fails");
+		} catch(final RuntimeException e) {
+			// Then : the queries not parsed yet are cancelled
+			executor.shutdown();
+			assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+			assertEquals(ReportLineStatus.TO_PARSE, parallelReport.getReportLineForQueryId(999).getReportLineStatus());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Import the SQL content with an error budget of 30%.
+	 * @param sqlContent SQL content
+	 * @param executor Executor which parses the CREATE TABLE queries (null to parse them one after another)
+	 * @return true if the error budget is exceeded
+	 */
+	private boolean isErrorBudgetExceeded(final String sqlContent, final ForkJoinPool executor) {
+		final SqlImport budgetImport = new SqlImport(new Report());
+		budgetImport.setGrammar(getGrammar());
+		budgetImport.setFastLexer(isFastLexer());
+		budgetImport.setBuildParseTree(isBuildParseTree());
+		budgetImport.setErrorBudget(ErrorBudget.valueOf("30%"));
+		budgetImport.setExecutor(executor);
+		try {
+			budgetImport.getDatabase(sqlContent);
+			return false;
+		} catch(final ErrorBudgetExceededException e) {
+			return true;
+		}
+	}
+
+	@Test
+	public void testGetDatabase_default_expression() {
+		// Given
+		final String sqlContent = "CREATE TABLE t1 (id INTEGER, "
+				+ "a INTEGER DEFAULT - /* minus */ 5 CHECK (a < 0 AND (a - 1) * 2 > -100) NOT NULL);";
+
+		// When
+		final Database database = sqlImport.getDatabase(sqlContent);
+
+		// Then : the text of the default value is without spaces nor comments
+		final Column column = database.getTables().get(0).getColumnByNames().get("a");
+		assertEquals("-5", column.getDefaultValue());
+		assertTrue(column.getIsNotNull());
+		assertEquals(1, report.getReportLinesForStatus(ReportLineStatus.PARSED).size());
+	}
+
+	@Test
+	public void testGetDatabase_same_querys() {
+		// Given
+		final String sqlContent = "CREATE TABLE t1 (id INTEGER);\n"
+				+ "INSERT INTO t1 VALUES (1);\n"
+				+ "CREATE TABLE t1 (id INTEGER);";
+
+		// When
+		sqlImport.getDatabase(sqlContent);
+
+		// Then : each query has its own report line
+		assertEquals(2, report.getReportLinesForStatus(ReportLineStatus.PARSED).size());
+		assertEquals(0, report.getReportLinesForStatus(ReportLineStatus.TO_PARSE).size());
+		assertEquals(ReportLineStatus.IGNORED, report.getReportLineForQueryId(1).getReportLineStatus());
+		assertEquals(0, report.getReportLineForQueryId(0).getQueryOffset());
+		assertEquals(57, report.getReportLineForQueryId(2).getQueryOffset());
+	}
+
 	@Test
 	public void testGetDatabase_standard() throws FileNotFoundException {
 		// Given
@@ -57,6 +266,7 @@ public class SqlImportTest {
 
 		assertEquals(0, report.getReportLinesForStatus(ReportLineStatus.PARSING_ERROR).size());
 		assertEquals(4, report.getReportLinesForStatus(ReportLineStatus.PARSED).size());
+		assertEquals(0, report.getNbLlFallbacks());
 
 		// the report contains database schema
 		assertTrue(database == report.getDatabase());
@@ -0,0 +1,45 @@
+package com.restlet.sqlimport.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+
+public class SqlParserWarmUpTest {
+
+	@Test
+	public void testWarmUp() throws IOException {
+		// Given
+		final SqlQueryReader sqlQueryReader = new SqlQueryReader(new InputStreamReader(
+				SqlParserWarmUp.class.getResourceAsStream("warm-up.sql"), StandardCharsets.UTF_8));
+		int nbQuerys = 0;
+		CharSequence query;
+		while((query = sqlQueryReader.readQuery()) != null) {
+			assertTrue(query.toString(), new StatementClassifier().classify(query).isParsed());
+			nbQuerys++;
+		}
+
+		// When
+		final int nbParsedQuerys = SqlParserWarmUp.warmUp(true);
+
+		// Then : all the queries are parsed with the SLL prediction
+		assertEquals(nbQuerys, nbParsedQuerys);
+		assertEquals(0, SqlParserWarmUp.warmUp(false));
+	}
+
+	@Test
+	public void testStart() throws InterruptedException {
+		// When
+		final Thread thread = SqlParserWarmUp.start(true);
+		thread.join();
+
+		// Then
+		assertTrue(thread.isDaemon());
+	}
+
+}
@@ -0,0 +1,187 @@
+package com.restlet.sqlimport.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.restlet.sqlimport.report.Report;
+import com.restlet.sqlimport.report.ReportLineStatus;
+import com.restlet.sqlimport.util.MappedFile;
+import com.restlet.sqlimport.util.Util;
+
+
+public class SqlQueryReaderTest {
+
+	private Util util = new Util();
+
+	@Test
+	public void testReadQuery() throws IOException {
+		// Given
+		final String content = "-- comment ; \n"
+				+ "CREATE TABLE t1 (id INTEGER);\n"
+				+ "/* comment ; */ CREATE TABLE t2 (\"a;b\" INTEGER /* ; */);"
+				+ "  ;; ALTER TABLE t1 -- ;\n ADD PRIMARY KEY (id);\n"
+				+ "CREATE TABLE t3 (id INTEGER)";
+		final SqlQueryReader sqlQueryReader = new SqlQueryReader(new StringReader(content));
+
+		// When / Then
+		assertEquals("CREATE TABLE t1 (id INTEGER)", sqlQueryReader.readQuery().toString());
+		assertEquals("CREATE TABLE t2 (\"a;b\" INTEGER /* ; */)", sqlQueryReader.readQuery().toString());
+		assertEquals("ALTER TABLE t1 -- ;\n ADD PRIMARY KEY (id)", sqlQueryReader.readQuery().toString());
+		// the last query is not ended by ";"
+		assertNull(sqlQueryReader.readQuery());
+		assertNull(sqlQueryReader.readQuery());
+	}
+
+	@Test
+	public void testReadQuery_quoted_values() throws IOException {
+		// Given
+		final String content = "CREATE TABLE t1 (a VARCHAR(3) DEFAULT 'a;b', `c;d` INTEGER);\n"
+				+ "CREATE TABLE t2 (a VARCHAR(3) DEFAULT 'it''s;', b VARCHAR(3) DEFAULT 'C:\\');\n"
+				+ "/* comment /* not nested ; */ CREATE TABLE t3 (id INTEGER);\n"
+				+ "CREATE FUNCTION f() RETURNS INTEGER AS $$ SELECT 1; $$ LANGUAGE sql;\n"
+				+ "CREATE FUNCTION g() RETURNS INTEGER AS $body$ SELECT $$;$$; $body$ LANGUAGE sql;\n"
+				+ "CREATE TABLE a$b (id INTEGER DEFAULT $1);";
+		final SqlQueryReader sqlQueryReader = new SqlQueryReader(new StringReader(content), 4);
+
+		// When / Then : standard SQL
+		assertEquals("CREATE TABLE t1 (a VARCHAR(3) DEFAULT 'a;b', `c;d` INTEGER)", sqlQueryReader.readQuery().toString());
+		assertEquals("CREATE TABLE t2 (a VARCHAR(3) DEFAULT 'it''s;', b VARCHAR(3) DEFAULT 'C:\\')", sqlQueryReader.readQuery().toString());
+		assertEquals("CREATE TABLE t3 (id INTEGER)", sqlQueryReader.readQuery().toString());
+		assertEquals("CREATE FUNCTION f() RETURNS INTEGER AS $$ SELECT 1; $$ LANGUAGE sql", sqlQueryReader.readQuery().toString());
+		assertEquals("CREATE FUNCTION g() RETURNS INTEGER AS $body$ SELECT $$;$$; $body$ LANGUAGE sql", sqlQueryReader.readQuery().toString());
+		// "$" in an identifier or a parameter does not open a dollar quote
+		assertEquals("CREATE TABLE a$b (id INTEGER DEFAULT $1)", sqlQueryReader.readQuery().toString());
+		assertNull(sqlQueryReader.readQuery());
+	}
+
+	@Test
+	public void testReadQuery_dialects() throws IOException {
+		// Given
+		final String mysql = "-- MySQL dump 10.13\n"
+				+ "INSERT INTO t1 VALUES ('it\\'s;', \"a\\\";b\");\n"
+				+ "CREATE TABLE t2 (id INTEGER);";
+		final String postgresql = "--\n-- PostgreSQL database dump\n--\n"
+				+ "/* comment /* nested ; */ still comment ; */ CREATE TABLE t3 (id INTEGER);";
+
+		// When
+		final SqlQueryReader mysqlReader = new SqlQueryReader(new StringReader(mysql), 4);
+		final SqlQueryReader postgresqlReader = new SqlQueryReader(new StringReader(postgresql), 4);
+		final SqlQueryReader standardReader = new SqlQueryReader(new StringReader(mysql));
+		standardReader.setDialect(SqlDialect.STANDARD);
+
+		// Then : the dialect is detected from the header of the dump
+		assertEquals("INSERT INTO t1 VALUES ('it\\'s;', \"a\\\";b\")", mysqlReader.readQuery().toString());
+		assertEquals(SqlDialect.MYSQL, mysqlReader.getDialect());
+		assertEquals("CREATE TABLE t2 (id INTEGER)", mysqlReader.readQuery().toString());
+		assertEquals("CREATE TABLE t3 (id INTEGER)", postgresqlReader.readQuery().toString());
+		assertEquals(SqlDialect.POSTGRESQL, postgresqlReader.getDialect());
+		// Then : in standard SQL, the backslash does not escape the quote
+		assertEquals("INSERT INTO t1 VALUES ('it\\'s", standardReader.readQuery().toString());
+	}
+
+	@Test
+	public void testReadQuery_unterminated() throws IOException {
+		// Given : in standard SQL, 'C:\' is a complete quoted value
+		final String content = "INSERT INTO t VALUES ('C:\\');\nCREATE TABLE x (id int);\nINSERT INTO t VALUES ('end;";
+
+		// When
+		final SqlQueryReader sqlQueryReader = new SqlQueryReader(new StringReader(content));
+
+		// Then : the query which is not ended is kept
+		assertEquals("INSERT INTO t VALUES ('C:\\')", sqlQueryReader.readQuery().toString());
+		assertEquals("CREATE TABLE x (id int)", sqlQueryReader.readQuery().toString());
+		assertNull(sqlQueryReader.readQuery());
+		assertEquals("INSERT INTO t VALUES ('end;", sqlQueryReader.getUnterminatedQuery().toString());
+		assertEquals(content.lastIndexOf("INSERT"), sqlQueryReader.getQueryOffset());
+
+		// Then : it is reported as a parsing error
+		final Report report = new Report();
+		final List<String> querys = new GetSqlQuery(report).getSqlQuerys(content);
+		assertEquals(1, querys.size());
+		assertEquals(ReportLineStatus.PARSING_ERROR, report.getReportLineForQueryId(2).getReportLineStatus());
+		assertEquals(1, report.getMetrics().getNbStatementsFailed());
+	}
+
+	@Test
+	public void testReadQuery_small_buffer() throws IOException {
+		// Given
+		final File file = util.getFileByClassPath("/postgres_pg_dump.sql");
+		final InputStream in = new FileInputStream(file);
+		final String sqlContent = util.read(in);
+		final SqlQueryReader sqlQueryReader = new SqlQueryReader(new StringReader(sqlContent), 4);
+
+		// When
+		final List<String> querys = new ArrayList<String>();
+		CharSequence query;
+		while((query = sqlQueryReader.readQuery()) != null) {
+			querys.add(query.toString());
+		}
+
+		// Then
+		final List<String> expected = new ArrayList<String>();
+		final SqlQueryReader expectedReader = new SqlQueryReader(new StringReader(sqlContent));
+		while((query = expectedReader.readQuery()) != null) {
+			expected.add(query.toString());
+		}
+		assertEquals(expected, querys);
+		assertEquals("CREATE EXTENSION IF NOT EXISTS plpgsql WITH SCHEMA pg_catalog", querys.get(6));
+	}
+
+	@Test
+	public void testGetSqlQueryIterator() throws IOException {
+		// Given
+		final File file = util.getFileByClassPath("/oracle1.sql");
+		final InputStream in = new FileInputStream(file);
+		final String sqlContent = util.read(in);
+		final Report report = new Report();
+		final GetSqlQuery getSqlQuery = new GetSqlQuery(report);
+
+		// When
+		final Iterator<CharSequence> iterator = getSqlQuery.getSqlQueryIterator(new StringReader(sqlContent));
+		final List<String> querys = new ArrayList<String>();
+		while(iterator.hasNext()) {
+			querys.add(iterator.next().toString());
+		}
+
+		// Then
+		assertEquals(new GetSqlQuery(new Report()).getSqlQuerys(sqlContent), querys);
+		assertEquals(10, querys.size());
+	}
+
+	@Test
+	public void testReadQuery_mapped_file() throws IOException {
+		// Given
+		final File file = util.getFileByClassPath("/mysql_mysqldump.sql");
+		final SqlQueryReader sqlQueryReader = new SqlQueryReader(new MappedFile(file.toPath()));
+
+		// When
+		final List<String> querys = new ArrayList<String>();
+		CharSequence query;
+		while((query = sqlQueryReader.readQuery()) != null) {
+			querys.add(query.toString());
+		}
+
+		// Then : same queries as read from the character stream
+		final List<String> expected = new ArrayList<String>();
+		final SqlQueryReader expectedReader = new SqlQueryReader(Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8));
+		while((query = expectedReader.readQuery()) != null) {
+			expected.add(query.toString());
+		}
+		assertEquals(expected, querys);
+		assertEquals(20, querys.size());
+	}
+
+}
@@ -0,0 +1,40 @@
+package com.restlet.sqlimport.parser;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.restlet.sqlimport.report.StatementKind;
+
+
+public class StatementClassifierTest {
+
+	private StatementClassifier statementClassifier = new StatementClassifier();
+
+	@Test
+	public void testClassify_create_table() {
+		assertEquals(StatementKind.CREATE_TABLE, statementClassifier.classify("CREATE TABLE t1 (id INTEGER)"));
+		assertEquals(StatementKind.CREATE_TABLE, statementClassifier.classify("create table t1 (id INTEGER)"));
+		assertEquals(StatementKind.CREATE_TABLE, statementClassifier.classify("Create\n  Table `t1` (id INTEGER)"));
+		assertEquals(StatementKind.OTHER, statementClassifier.classify("CREATE TABLESPACE ts"));
+		assertEquals(StatementKind.OTHER, statementClassifier.classify("CREATE INDEX i1 ON t1 (id)"));
+		assertEquals(StatementKind.OTHER, statementClassifier.classify("CREATE"));
+		assertEquals(StatementKind.OTHER, statementClassifier.classify("INSERT INTO t1 VALUES (1)"));
+		assertEquals(StatementKind.OTHER, statementClassifier.classify(null));
+	}
+
+	@Test
+	public void testClassify_alter_table() {
+		assertEquals(StatementKind.ALTER_TABLE, statementClassifier.classify("ALTER TABLE t1 ADD PRIMARY KEY (id)"));
+		assertEquals(StatementKind.ALTER_TABLE, statementClassifier.classify("alter table t1 add foreign key (id) references t2 (id)"));
+		assertEquals(StatementKind.ALTER_TABLE, statementClassifier.classify("ALTER TABLE ONLY t1 ADD CONSTRAINT pk PRIMARY KEY (id)"));
+		assertEquals(StatementKind.ALTER_TABLE, statementClassifier.classify("ALTER TABLE t1 ADD CONSTRAINT fk FOREIGN KEY (id) REFERENCES t2 (id)"));
+		// overlapping keywords
+		assertEquals(StatementKind.ALTER_TABLE, statementClassifier.classify("ALTER TABLE t1 ADD ADD PRIMARY KEY (id)"));
+		assertEquals(StatementKind.OTHER, statementClassifier.classify("ALTER TABLE t1 ADD CONSTRAINT u UNIQUE (id)"));
+		assertEquals(StatementKind.OTHER, statementClassifier.classify("ALTER TABLE t1 ADD COLUMN c INTEGER"));
+		assertEquals(StatementKind.OTHER, statementClassifier.classify("ALTER TABLE t1 OWNER TO postgres"));
+		assertEquals(StatementKind.OTHER, statementClassifier.classify("ALTER SEQUENCE s1 OWNED BY t1.id"));
+	}
+
+}
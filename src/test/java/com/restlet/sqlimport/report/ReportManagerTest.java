@@ -0,0 +1,50 @@
+package com.restlet.sqlimport.report;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restlet.sqlimport.MainProcess;
+
+/**
+ * Test : report manager.
+ */
+public class ReportManagerTest {
+
+	private ReportManager reportManager = new ReportManager();
+
+	@Test
+	public void testToJson() throws IOException {
+		// Given
+		final MainProcess mainProcess = new MainProcess();
+		mainProcess.process("CREATE TABLE t1 (id INTEGER PRIMARY KEY);\nINSERT INTO t1 VALUES (1);\nCREATE TABLE t2 (id INTEGER, id_t1 INTEGER REFERENCES t1(id));");
+		final Report report = mainProcess.getReport();
+
+		// When
+		final String json = reportManager.toJson(report);
+
+		// Then
+		final JsonNode node = new ObjectMapper().readTree(json);
+		assertEquals("SUCCESS", node.get("status").asText());
+		assertEquals(2, node.get("entities").asInt());
+		for(final Phase phase : Phase.values()) {
+			final JsonNode phaseNode = node.get("phases").get(phase.name().toLowerCase());
+			assertEquals(report.getMetrics().getWallTime(phase), phaseNode.get("wallNanos").asLong());
+			assertEquals(report.getMetrics().getCpuTime(phase), phaseNode.get("cpuNanos").asLong());
+		}
+		final JsonNode statements = node.get("statements");
+		assertEquals(3, statements.get("seen").asInt());
+		assertEquals(1, statements.get("ignored").asInt());
+		assertEquals(2, statements.get("parsed").asInt());
+		assertEquals(0, statements.get("failed").asInt());
+		assertTrue(node.get("tokensLexed").asLong() > 0);
+		assertEquals(report.getMetrics().getNbBytesRead(), node.get("bytesRead").asLong());
+		assertEquals(report.getMetrics().getNbBytesWritten(), node.get("bytesWritten").asLong());
+	}
+
+}
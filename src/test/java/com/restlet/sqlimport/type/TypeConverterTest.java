@@ -3,6 +3,9 @@ package com.restlet.sqlimport.type;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
 import org.junit.Test;
 
 import com.restlet.sqlimport.report.Report;
@@ -101,4 +104,41 @@ public class TypeConverterTest {
 		assertEquals(1, report.getReportLines().size());
 	}
 
+	@Test
+	public void testConvertTypeFromSQLToEntityStore_arguments() {
+		final Report report = new Report();
+		final TypeConverter typeConverter = new TypeConverter(report);
+
+		assertEquals("String", typeConverter.convertTypeFromSQLToEntityStore("varchar(255)"));
+		assertEquals("String", typeConverter.convertTypeFromSQLToEntityStore("varchar(255)"));
+		assertEquals("Float", typeConverter.convertTypeFromSQLToEntityStore("NUMBER(10,2)"));
+		assertEquals("Float", typeConverter.convertTypeFromSQLToEntityStore("double  precision"));
+		assertEquals("Date", typeConverter.convertTypeFromSQLToEntityStore("TIMESTAMP(6) WITH TIME ZONE"));
+		assertEquals(0, report.getReportLines().size());
+
+		// unknown : reported for each column
+		assertEquals("String", typeConverter.convertTypeFromSQLToEntityStore("VARCHAR3"));
+		assertEquals("String", typeConverter.convertTypeFromSQLToEntityStore("varchar3"));
+		assertEquals("String", typeConverter.convertTypeFromSQLToEntityStore("varchar3"));
+		assertEquals(3, report.getReportLines().size());
+		assertEquals("VARCHAR3", report.getReportLines().get(2).getMessage());
+	}
+
+	@Test
+	public void testConvertTypeFromSQLToEntityStore_dialect() {
+		final Report report = new Report();
+		final String types = "VARCHAR3=String\nTINYINT=Boolean\nDOUBLE\\ PRECISION=Integer\nGEOMETRY=Unknown";
+		final TypeConverter typeConverter = new TypeConverter(report,
+				SqlTypeResolver.load(new ByteArrayInputStream(types.getBytes(StandardCharsets.UTF_8))));
+
+		assertEquals("String", typeConverter.convertTypeFromSQLToEntityStore("varchar3"));
+		assertEquals("Boolean", typeConverter.convertTypeFromSQLToEntityStore("tinyint"));
+		assertEquals("Integer", typeConverter.convertTypeFromSQLToEntityStore("double precision"));
+		assertEquals("Float", typeConverter.convertTypeFromSQLToEntityStore("double"));
+		// a type named "Unknown" is not an unknown SQL type
+		assertEquals("Unknown", typeConverter.convertTypeFromSQLToEntityStore("geometry"));
+		assertEquals("Unknown", typeConverter.convertTypeFromSQLToEntityStore("geometry"));
+		assertEquals(0, report.getReportLines().size());
+	}
+
 }
@@ -0,0 +1,78 @@
+package com.restlet.sqlimport.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Test;
+
+
+public class MappedFileTest {
+
+	@Test
+	public void testSubSequence() throws IOException {
+		// Given
+		final String content = "CREATE TABLE t1 (id INTEGER);\nCREATE TABLE \"é€\" (id INTEGER);";
+		final File file = File.createTempFile("mapped", ".sql");
+		file.deleteOnExit();
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+
+		// When : chunks of 8 bytes
+		final MappedFile mappedFile = new MappedFile(file.toPath(), 3);
+
+		// Then
+		final byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+		assertEquals(bytes.length, mappedFile.length());
+		assertEquals(content, mappedFile.subSequence(0, bytes.length).toString());
+
+		final CharSequence ascii = mappedFile.subSequence(0, 28);
+		assertEquals(28, ascii.length());
+		assertEquals('C', ascii.charAt(0));
+		assertEquals("TABLE", ascii.subSequence(7, 12).toString());
+		assertEquals("CREATE TABLE t1 (id INTEGER)", ascii.toString());
+
+		final CharSequence utf8 = mappedFile.subSequence(30, bytes.length - 1);
+		assertEquals("CREATE TABLE \"é€\" (id INTEGER)", utf8.toString());
+		assertEquals(30, utf8.length());
+		assertEquals('€', utf8.charAt(15));
+	}
+
+	@Test
+	public void testSubSequence_not_ascii() throws IOException {
+		// Given : a character on 4 bytes, which is 2 UTF-16 characters
+		final String content = "INSERT INTO t1 VALUES ('é€\uD83D\uDE00', 'end');";
+		final File file = File.createTempFile("mapped", ".sql");
+		file.deleteOnExit();
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		final MappedFile mappedFile = new MappedFile(file.toPath(), 3);
+
+		// When
+		final CharSequence utf8 = mappedFile.subSequence(0, mappedFile.length());
+
+		// Then : the characters are decoded each time they are read
+		assertEquals(content.length(), utf8.length());
+		for(int i = 0; i < content.length(); i++) {
+			assertEquals(content.charAt(i), utf8.charAt(i));
+		}
+		assertEquals("INSERT", utf8.subSequence(0, 6).toString());
+		assertEquals("é€\uD83D\uDE00", utf8.subSequence(24, 28).toString());
+		assertEquals(content, MappedFile.decodeIfNeeded(utf8));
+
+		// Then : the bytes are read as characters
+		final CharSequence bytes = MappedFile.asBytes(utf8);
+		assertEquals(mappedFile.length(), bytes.length());
+		assertEquals("INSERT INTO", bytes.subSequence(0, 11).toString());
+		assertTrue(bytes.charAt(24) > 0x7F);
+
+		// Then : the ASCII slices are not copied
+		final CharSequence ascii = mappedFile.subSequence(0, 22);
+		assertSame(ascii, MappedFile.decodeIfNeeded(ascii));
+		assertSame(ascii, MappedFile.asBytes(ascii));
+	}
+
+}
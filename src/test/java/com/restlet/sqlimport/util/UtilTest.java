@@ -1,6 +1,9 @@
 package com.restlet.sqlimport.util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
 
 import org.junit.Test;
 
@@ -27,4 +30,20 @@ public class UtilTest {
 		assertEquals("`table", util.unformatSqlName("`table"));
 	}
 
+	@Test
+	public void testGetOutputStream_current_directory() {
+		// Given : a file name without directory
+		final File file = new File("util-test-" + System.nanoTime() + ".tmp");
+
+		try {
+			// When
+			util.write("content", util.getOutputStream(file.getName()));
+
+			// Then
+			assertTrue(file.exists());
+		} finally {
+			file.delete();
+		}
+	}
+
 }